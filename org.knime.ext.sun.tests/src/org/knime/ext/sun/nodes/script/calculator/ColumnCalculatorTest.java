@@ -0,0 +1,145 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ */
+package org.knime.ext.sun.nodes.script.calculator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.ext.sun.nodes.script.settings.JavaScriptingCustomizer;
+import org.knime.ext.sun.nodes.script.settings.JavaScriptingSettings;
+
+/**
+ * Tests for {@link ColumnCalculator}, only the used columns and table constants are passed to the expression.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ColumnCalculatorTest {
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+        new DataColumnSpecCreator("a", IntCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("b", StringCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("c", DoubleCell.TYPE).createSpec());
+
+    private static final int ROW_COUNT = 5;
+
+    @SuppressWarnings("static-method")
+    @Test
+    void testTableConstantsAndUsedColumn() throws Exception {
+        final List<DataCell> results = calculate(false);
+        assertEquals(new StringCell("Row0:0/5:x"), results.get(0));
+        // the unused columns are missing, the result is still computed
+        assertEquals(new StringCell("Row1:1/5:y"), results.get(1));
+        // the used column is missing
+        assertTrue(results.get(2).isMissing(), "Missing input gives a missing result");
+        assertEquals(new StringCell("Row3:3/5:x"), results.get(3));
+        assertEquals(new StringCell("Row4:4/5:y"), results.get(4));
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    void testInsertMissingAsNull() throws Exception {
+        final List<DataCell> results = calculate(true);
+        assertEquals(new StringCell("Row0:0/5:x"), results.get(0));
+        assertEquals(new StringCell("Row1:1/5:y"), results.get(1));
+        assertEquals(new StringCell("Row2:2/5:null"), results.get(2));
+        assertEquals(new StringCell("Row3:3/5:x"), results.get(3));
+        assertEquals(new StringCell("Row4:4/5:y"), results.get(4));
+    }
+
+    /**
+     * Evaluates an expression using the table constants and the column "b" on {@link #ROW_COUNT} rows, the third row
+     * has a missing value in "b", the second in the other columns.
+     */
+    private static List<DataCell> calculate(final boolean insertMissingAsNull) throws Exception {
+        final JavaScriptingSettings settings = new JavaScriptingCustomizer().createSettings();
+        settings.setReturnType(String.class.getName());
+        settings.setColName("result");
+        settings.setInsertMissingAsNull(insertMissingAsNull);
+        settings.setExpression("return $$ROWID$$ + \":\" + $$ROWINDEX$$ + \"/\" + $$ROWCOUNT$$ + \":\" + $b$;");
+        settings.setInputAndCompile(SPEC);
+        try {
+            final ColumnCalculator calculator = new ColumnCalculator(settings, new FlowVariableProvider() {
+                @Override
+                public Object readVariable(final String name, final Class<?> type) {
+                    throw new IllegalStateException("No flow variables used: " + name);
+                }
+
+                @Override
+                public int getRowCount() {
+                    return ROW_COUNT;
+                }
+            }, (message, rowIndex) -> {
+                throw new IllegalStateException("Unexpected warning in row " + rowIndex + ": " + message);
+            });
+            final List<DataCell> results = new ArrayList<>();
+            for (int i = 0; i < ROW_COUNT; i++) {
+                final DataCell b = i == 2 ? DataType.getMissingCell() : new StringCell(i % 2 == 0 ? "x" : "y");
+                final DataRow row = i == 1
+                    ? new DefaultRow(RowKey.createRowKey((long)i), DataType.getMissingCell(), b,
+                        DataType.getMissingCell())
+                    : new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i), b, new DoubleCell(i));
+                results.add(calculator.calculate(row, i));
+            }
+            return results;
+        } finally {
+            settings.discard();
+        }
+    }
+}
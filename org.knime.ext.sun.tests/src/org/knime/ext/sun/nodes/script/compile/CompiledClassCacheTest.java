@@ -0,0 +1,131 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   16.10.2026 (KNIME AG): created
+ */
+package org.knime.ext.sun.nodes.script.compile;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CompiledClassCache}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class CompiledClassCacheTest {
+
+    @SuppressWarnings("static-method")
+    @Test
+    void testCreateKey() {
+        assertEquals(CompiledClassCache.createKey("a", "bc"), CompiledClassCache.createKey("a", "bc"));
+        assertNotEquals(CompiledClassCache.createKey("a", "bc"), CompiledClassCache.createKey("ab", "c"));
+        assertNotEquals(CompiledClassCache.createKey("a", null), CompiledClassCache.createKey("a"));
+        assertEquals(64, CompiledClassCache.createKey("a").length());
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    void testPersistedEntry() {
+        final String key = CompiledClassCache.createKey(UUID.randomUUID().toString());
+        assertTrue(CompiledClassCache.get(key).isEmpty(), "Unknown key");
+
+        final byte[] bytes = new byte[]{(byte)0xCA, (byte)0xFE, (byte)0xBA, (byte)0xBE};
+        CompiledClassCache.put(key, Map.of("Expression0", bytes));
+
+        // not in memory anymore, read from disk
+        CompiledClassCache.clear();
+        final Optional<Map<String, byte[]>> classes = CompiledClassCache.get(key);
+        assertTrue(classes.isPresent(), "Entry read from disk");
+        assertEquals(1, classes.get().size());
+        assertArrayEquals(bytes, classes.get().get("Expression0"));
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    void testModifiedEntry() throws IOException {
+        final String key = CompiledClassCache.createKey(UUID.randomUUID().toString());
+        CompiledClassCache.put(key, Map.of("Expression0", new byte[]{(byte)0xCA, (byte)0xFE, (byte)0xBA, (byte)0xBE}));
+        final File file = CompiledClassCache.getFile(key);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            // flip a byte of the class
+            raf.seek(raf.length() - 33);
+            final int b = raf.read();
+            raf.seek(raf.length() - 33);
+            raf.write(b ^ 0xFF);
+        }
+
+        CompiledClassCache.clear();
+        assertTrue(CompiledClassCache.get(key).isEmpty(), "Modified entry is a cache miss");
+        assertFalse(file.exists(), "Modified entry is deleted");
+    }
+
+    @SuppressWarnings("static-method")
+    @Test
+    void testTruncatedEntry() throws IOException {
+        final String key = CompiledClassCache.createKey(UUID.randomUUID().toString());
+        CompiledClassCache.put(key, Map.of("Expression0", new byte[]{(byte)0xCA, (byte)0xFE, (byte)0xBA, (byte)0xBE}));
+        final File file = CompiledClassCache.getFile(key);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 1);
+        }
+
+        CompiledClassCache.clear();
+        assertTrue(CompiledClassCache.get(key).isEmpty(), "Truncated entry is a cache miss");
+        assertFalse(file.exists(), "Truncated entry is deleted");
+    }
+}
@@ -50,6 +50,7 @@
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
@@ -59,7 +60,11 @@
 
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.Test;
+import org.knime.core.data.DataColumnSpecCreator;
 import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.def.StringCell;
+import org.knime.ext.sun.nodes.script.expression.Expression.FieldType;
+import org.knime.ext.sun.nodes.script.expression.Expression.InputField;
 import org.knime.ext.sun.nodes.script.settings.JavaScriptingCustomizer;
 import org.knime.ext.sun.nodes.script.settings.JavaScriptingSettings;
 
@@ -121,4 +126,26 @@ void testDeletionOfTempFolder() throws Exception {
 
         assertTrue(!tempClassPathFolder1.get().exists(), "Old temp folder deleted now");
     }
+
+    @SuppressWarnings("static-method")
+    @Test
+    void testSetBySlot() throws Exception {
+        final JavaScriptingCustomizer customizer = new JavaScriptingCustomizer();
+        final JavaScriptingSettings settings = customizer.createSettings();
+        settings.setReturnType(String.class.getName());
+        settings.setExpression("return $a$ + \"x\";");
+        settings.setInputAndCompile(
+            new DataTableSpec(new DataColumnSpecCreator("a", StringCell.TYPE).createSpec()));
+        try (final Expression compiledExpression = settings.getCompiledExpression()) {
+            final ExpressionInstance instance = compiledExpression.getInstance();
+            final int slot = instance.getSlot(new InputField("a", FieldType.Column));
+            assertTrue(slot >= 0, "Column field has a slot");
+            assertEquals(-1, instance.getSlot(new InputField("b", FieldType.Column)), "Unused field has no slot");
+            instance.set(slot, "foo");
+            assertEquals("foox", instance.evaluate());
+            instance.set(slot, "bar");
+            assertEquals("barx", instance.evaluate());
+            assertThrows(IllegalPropertyException.class, () -> instance.set(slot, Integer.valueOf(1)));
+        }
+    }
 }
@@ -46,7 +46,8 @@
 package org.knime.ext.sun.nodes.script.calculator;
 
 import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.knime.core.data.DataCell;
@@ -90,7 +91,35 @@ public class ColumnCalculator implements CellFactory {
 
     private final WarningConsumer m_warningConsumer;
 
-    private Map<InputField, Object> m_flowVarAssignmentMap;
+    /** Slots of the flow variables used in the expression, parallel to {@link #m_flowVarValues}. */
+    private int[] m_flowVarSlots;
+
+    private Object[] m_flowVarValues;
+
+    /** Slots of the table constants, -1 if not used in the expression. */
+    private int m_rowIndexSlot;
+    private int m_rowIdSlot;
+    private int m_rowCountSlot;
+
+    /** Indices of the columns used in the expression, in ascending order. */
+    private int[] m_columnIndices;
+
+    /** Slots of the used columns, parallel to {@link #m_columnIndices}. */
+    private int[] m_columnSlots;
+
+    /** The snippet types of the used columns, parallel to {@link #m_columnIndices}. */
+    private JavaSnippetType<?, ?, ?>[] m_columnTypes;
+
+    /** Whether the used columns are collections, parallel to {@link #m_columnIndices}. */
+    private boolean[] m_columnIsArray;
+
+    /** The converted values of the used columns of the current row, parallel to {@link #m_columnIndices}. */
+    private Object[] m_columnValues;
+
+    /** The snippet type of the return type, <code>null</code> if not supported. */
+    private JavaSnippetType<?, ?, ?> m_returnType;
+
+    private boolean m_isArrayReturn;
 
     /**
      * The row index may be used for calculation. Need to be set immediately
@@ -180,66 +209,41 @@ public void setProgress(final int curRowNr, final int rowCount,
      * @return the resulting cell
      */
     public DataCell calculate(final DataRow row, final int rowIndex) {
-        if (m_flowVarAssignmentMap == null) {
-            m_flowVarAssignmentMap = new HashMap<>();
-            for (Map.Entry<InputField, ExpressionField> e : m_expression.getFieldMap().entrySet()) {
-                InputField f = e.getKey();
-                if (f.getFieldType().equals(FieldType.Variable)) {
-                    Class<?> c = e.getValue().getFieldClass();
-                    m_flowVarAssignmentMap.put(f, m_flowVarProvider.readVariable(f.getColOrVarName(), c));
-                }
-            }
+        if (m_flowVarSlots == null) {
+            initSlots();
         }
-        DataTableSpec spec = m_settings.getInputSpec();
-        Class<?> returnType = m_settings.getReturnType();
-        boolean isArrayReturn = m_settings.isArrayReturn();
-        Map<InputField, Object> nameValueMap = new HashMap<>();
-        nameValueMap.put(new InputField(Expression.ROWINDEX, FieldType.TableConstant), rowIndex);
-        nameValueMap.put(new InputField(Expression.ROWID, FieldType.TableConstant), row.getKey().getString());
-        nameValueMap.put(new InputField(Expression.ROWCOUNT, FieldType.TableConstant), m_flowVarProvider.getRowCount());
-        nameValueMap.putAll(m_flowVarAssignmentMap);
-        for (int i = 0; i < row.getNumCells(); i++) {
-            DataColumnSpec columnSpec = spec.getColumnSpec(i);
-            InputField inputField = new InputField(columnSpec.getName(), FieldType.Column);
-            if (!m_expression.needsInputField(inputField)) {
-                continue;
-            }
-            DataCell cell = row.getCell(i);
-            DataType cellType = columnSpec.getType();
-            boolean isArray = cellType.isCollectionType();
-            if (isArray) {
-                cellType = cellType.getCollectionElementType();
-            }
-            Object cellVal = null;
+        Object[] columnValues = m_columnValues;
+        for (int i = 0; i < m_columnIndices.length; i++) {
+            DataCell cell = row.getCell(m_columnIndices[i]);
             if (cell.isMissing()) {
                 if (m_settings.isInsertMissingAsNull()) {
                     // leave value as null
-                } else {
-                    if (!m_hasReportedMissing) {
-                        m_hasReportedMissing = true;
-                        String message = "Row \"" + row.getKey() + "\" " + "contains missing value in column \""
-                            + columnSpec.getName() + "\" - returning missing";
-                        LOGGER.warn(message + " (omitting further warnings)");
-                    }
-                    return DataType.getMissingCell();
+                    columnValues[i] = null;
+                    continue;
                 }
-            } else {
-                for (JavaSnippetType<?, ?, ?> t : JavaSnippetType.TYPES) {
-                    if (t.checkCompatibility(cellType)) {
-                        if (isArray) {
-                            cellVal = t.asJavaArray((CollectionDataValue)cell);
-                        } else {
-                            cellVal = t.asJavaObject(cell);
-                        }
-                        break;
-                    }
+                if (!m_hasReportedMissing) {
+                    m_hasReportedMissing = true;
+                    String message = "Row \"" + row.getKey() + "\" " + "contains missing value in column \""
+                        + m_settings.getInputSpec().getColumnSpec(m_columnIndices[i]).getName()
+                        + "\" - returning missing";
+                    LOGGER.warn(message + " (omitting further warnings)");
                 }
+                return DataType.getMissingCell();
             }
-            nameValueMap.put(inputField, cellVal);
+            JavaSnippetType<?, ?, ?> t = m_columnTypes[i];
+            columnValues[i] = m_columnIsArray[i] ? t.asJavaArray((CollectionDataValue)cell) : t.asJavaObject(cell);
         }
         Object o = null;
         try {
-            m_expression.set(nameValueMap);
+            setSlot(m_rowIndexSlot, rowIndex);
+            setSlot(m_rowIdSlot, row.getKey().getString());
+            setSlot(m_rowCountSlot, m_flowVarProvider.getRowCount());
+            for (int i = 0; i < m_flowVarSlots.length; i++) {
+                m_expression.set(m_flowVarSlots[i], m_flowVarValues[i]);
+            }
+            for (int i = 0; i < m_columnSlots.length; i++) {
+                m_expression.set(m_columnSlots[i], columnValues[i]);
+            }
             o = m_expression.evaluate();
             // class correctness is asserted by compiler
         } catch (Abort ee) {
@@ -260,23 +264,72 @@ public DataCell calculate(final DataRow row, final int rowIndex) {
                 "Evaluation of expression failed for row \"%s\": %s", row.getKey(), ipe.getMessage()),
                 rowIndex);
         }
-        DataCell result = null;
-        for (JavaSnippetType<?, ?, ?> t : JavaSnippetType.TYPES) {
-            if (returnType.equals(t.getJavaClass(false))) {
-                if (o == null) {
-                    result = DataType.getMissingCell();
-                } else if (isArrayReturn) {
-                    result = t.asKNIMEListCell((Object[])o);
-                } else {
-                    result = t.asKNIMECell(o);
-                }
-                break;
+        final JavaSnippetType<?, ?, ?> t = m_returnType;
+        if (t == null) {
+            throw new InternalError("No mapping for objects of class " + o.getClass().getName());
+        }
+        if (o == null) {
+            return DataType.getMissingCell();
+        } else if (m_isArrayReturn) {
+            return t.asKNIMEListCell((Object[])o);
+        } else {
+            return t.asKNIMECell(o);
+        }
+    }
+
+    /**
+     * Resolves the slots of all fields used by the expression, reads the flow variables and determines the columns
+     * that need to be converted, so that rows only need to touch the columns that are actually used. Also resolves
+     * the conversion of the result.
+     */
+    private void initSlots() {
+        final Map<InputField, ExpressionField> fieldMap = m_expression.getFieldMap();
+        m_rowIndexSlot = m_expression.getSlot(new InputField(Expression.ROWINDEX, FieldType.TableConstant));
+        m_rowIdSlot = m_expression.getSlot(new InputField(Expression.ROWID, FieldType.TableConstant));
+        m_rowCountSlot = m_expression.getSlot(new InputField(Expression.ROWCOUNT, FieldType.TableConstant));
+
+        final List<Integer> flowVarSlots = new ArrayList<>();
+        final List<Object> flowVarValues = new ArrayList<>();
+        for (Map.Entry<InputField, ExpressionField> e : fieldMap.entrySet()) {
+            InputField f = e.getKey();
+            if (f.getFieldType().equals(FieldType.Variable)) {
+                Class<?> c = e.getValue().getFieldClass();
+                flowVarSlots.add(m_expression.getSlot(f));
+                flowVarValues.add(m_flowVarProvider.readVariable(f.getColOrVarName(), c));
             }
         }
-        if (result == null) {
-            throw new InternalError("No mapping for objects of class " + o.getClass().getName());
+        m_flowVarValues = flowVarValues.toArray();
+
+        final DataTableSpec spec = m_settings.getInputSpec();
+        final List<Integer> columnIndices = new ArrayList<>();
+        final List<Integer> columnSlots = new ArrayList<>();
+        for (int i = 0; i < spec.getNumColumns(); i++) {
+            int slot = m_expression.getSlot(new InputField(spec.getColumnSpec(i).getName(), FieldType.Column));
+            if (slot >= 0) {
+                columnIndices.add(i);
+                columnSlots.add(slot);
+            }
+        }
+        m_columnIndices = columnIndices.stream().mapToInt(Integer::intValue).toArray();
+        m_columnSlots = columnSlots.stream().mapToInt(Integer::intValue).toArray();
+        m_columnTypes = new JavaSnippetType<?, ?, ?>[m_columnIndices.length];
+        m_columnIsArray = new boolean[m_columnIndices.length];
+        m_columnValues = new Object[m_columnIndices.length];
+        m_returnType = JavaSnippetType.findTypeForJavaClass(m_settings.getReturnType());
+        m_isArrayReturn = m_settings.isArrayReturn();
+        for (int i = 0; i < m_columnIndices.length; i++) {
+            DataType cellType = spec.getColumnSpec(m_columnIndices[i]).getType();
+            m_columnTypes[i] = JavaSnippetType.findType(cellType);
+            m_columnIsArray[i] = cellType.isCollectionType();
+        }
+        // assigned last, marks the initialization as done
+        m_flowVarSlots = flowVarSlots.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private void setSlot(final int slot, final Object value) throws IllegalPropertyException {
+        if (slot >= 0) {
+            m_expression.set(slot, value);
         }
-        return result;
     }
 
     /**
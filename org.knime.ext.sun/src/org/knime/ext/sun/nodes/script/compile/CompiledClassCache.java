@@ -0,0 +1,342 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   16.10.2026 (KNIME AG): created
+ */
+package org.knime.ext.sun.nodes.script.compile;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.eclipse.jdt.internal.compiler.tool.EclipseCompiler;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * Process-wide, size-bounded cache of compiled classes. An entry maps the binary class names of one compilation to
+ * their byte code and is identified by a hash of everything that influences the compilation result, usually the
+ * generated source code and the class path. Identical snippets in a workflow hence only need to be compiled once.
+ *
+ * <p>
+ * Entries are also written to a content-addressed directory in the KNIME home directory, so that snippets don't need
+ * to be compiled again when a workflow is loaded in a later session. Files in that directory are named after the key
+ * and end with a checksum of their content. A file that can't be read or doesn't match its checksum is deleted and
+ * the compilation is done again. Keys of persisted entries should contain {@link #describeCompiler()}, so that byte
+ * code of an older compiler is not used after an update.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 5.12
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class CompiledClassCache {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(CompiledClassCache.class);
+
+    /** Maximum number of compilation results kept in memory. */
+    private static final int MAX_ENTRIES = 256;
+
+    /** Maximum number of compilation results kept on disk, the least recently used are deleted first. */
+    private static final int MAX_DISK_ENTRIES = 4096;
+
+    /** Name of the cache directory in the KNIME home directory. */
+    private static final String CACHE_DIR_NAME = "compiled-classes";
+
+    /** File extension of the cache entries on disk. */
+    private static final String ENTRY_EXTENSION = ".classes";
+
+    /** Marks the start of a cache file, followed by the {@link #FORMAT_VERSION}. */
+    private static final int MAGIC = 0x4B434343;
+
+    private static final int FORMAT_VERSION = 2;
+
+    private static File cacheDir;
+
+    private static final Map<String, Map<String, byte[]>> CACHE =
+        Collections.synchronizedMap(new LinkedHashMap<String, Map<String, byte[]>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Map<String, byte[]>> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        });
+
+    private CompiledClassCache() {
+        // utility class
+    }
+
+    /**
+     * Create the key for a compilation.
+     *
+     * @param parts everything the compilation result depends on, e.g. source code, class path entries and compiler
+     *            options; <code>null</code> elements are allowed
+     * @return a hex encoded SHA-256 hash of the given parts
+     */
+    public static String createKey(final String... parts) {
+        final MessageDigest digest = sha256();
+        for (final String part : parts) {
+            if (part != null) {
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+            }
+            // separator, so that ("ab", "c") and ("a", "bc") differ
+            digest.update((byte)0);
+        }
+        final StringBuilder hex = new StringBuilder();
+        for (final byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Get the classes of a previous compilation.
+     *
+     * @param key the key created by {@link #createKey(String...)}
+     * @return the binary class names mapped to their byte code, must not be modified
+     */
+    public static Optional<Map<String, byte[]>> get(final String key) {
+        final Map<String, byte[]> classes = CACHE.get(key);
+        if (classes != null) {
+            return Optional.of(classes);
+        }
+        final Optional<Map<String, byte[]>> persisted = read(key);
+        persisted.ifPresent(c -> CACHE.put(key, c));
+        return persisted;
+    }
+
+    /**
+     * Add the result of a compilation.
+     *
+     * @param key the key created by {@link #createKey(String...)}
+     * @param classes the binary class names mapped to their byte code
+     */
+    public static void put(final String key, final Map<String, byte[]> classes) {
+        final Map<String, byte[]> copy = Collections.unmodifiableMap(new LinkedHashMap<>(classes));
+        CACHE.put(key, copy);
+        write(key, copy);
+    }
+
+    /**
+     * Describe a class path entry for {@link #createKey(String...)}. The description changes if the file is replaced
+     * or modified.
+     *
+     * @param file the class path entry
+     * @return the absolute path, size and modification time of the file
+     */
+    public static String describe(final File file) {
+        return file.getAbsolutePath() + ":" + file.length() + ":" + file.lastModified();
+    }
+
+    /**
+     * Describe the bundle a class is loaded from for {@link #createKey(String...)}. The description changes if the
+     * bundle is updated.
+     *
+     * @param cl a class of the bundle
+     * @return the symbolic name, version and modification time of the bundle, the class name outside of OSGi
+     */
+    public static String describeBundle(final Class<?> cl) {
+        final Bundle bundle = FrameworkUtil.getBundle(cl);
+        return bundle == null ? cl.getName()
+            : bundle.getSymbolicName() + ":" + bundle.getVersion() + ":" + bundle.getLastModified();
+    }
+
+    /**
+     * Describe the compiler and the code generating the compiled classes for {@link #createKey(String...)}.
+     *
+     * @return the description of the compiler (ECJ) bundle and of this bundle
+     */
+    public static String describeCompiler() {
+        return describeBundle(EclipseCompiler.class) + ";" + describeBundle(CompiledClassCache.class);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static synchronized File getCacheDir() throws IOException {
+        if (cacheDir == null) {
+            cacheDir = new File(KNIMEConstants.getKNIMEHomeDir(), CACHE_DIR_NAME);
+        }
+        if (!cacheDir.isDirectory() && !cacheDir.mkdirs() && !cacheDir.isDirectory()) {
+            throw new IOException("Could not create directory for compiled classes: " + cacheDir.getAbsolutePath());
+        }
+        return cacheDir;
+    }
+
+    /** The file of a persisted entry, used in tests. */
+    static File getFile(final String key) throws IOException {
+        return new File(getCacheDir(), key + ENTRY_EXTENSION);
+    }
+
+    private static Optional<Map<String, byte[]>> read(final String key) {
+        final File file;
+        try {
+            file = getFile(key);
+        } catch (IOException e) {
+            LOGGER.debug(e.getMessage(), e);
+            return Optional.empty();
+        }
+        if (!file.isFile()) {
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unknown file format");
+            }
+            final int count = in.readInt();
+            final Map<String, byte[]> classes = new LinkedHashMap<>();
+            final MessageDigest digest = sha256();
+            for (int i = 0; i < count; i++) {
+                final String name = in.readUTF();
+                final byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                classes.put(name, bytes);
+                update(digest, name, bytes);
+            }
+            // the byte code is defined as classes, a truncated or modified file must not be used
+            final byte[] checksum = new byte[digest.getDigestLength()];
+            in.readFully(checksum);
+            if (!MessageDigest.isEqual(checksum, digest.digest()) || in.read() != -1) {
+                throw new IOException("Checksum mismatch");
+            }
+            // used for the eviction of the least recently used entries
+            file.setLastModified(System.currentTimeMillis());
+            return Optional.of(Collections.unmodifiableMap(classes));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Deleting unreadable compiled classes \"" + file.getAbsolutePath() + "\": " + e.getMessage(),
+                e);
+            if (!file.delete()) {
+                LOGGER.debug("Could not delete \"" + file.getAbsolutePath() + "\"");
+            }
+            return Optional.empty();
+        }
+    }
+
+    private static void write(final String key, final Map<String, byte[]> classes) {
+        try {
+            final File dir = getCacheDir();
+            // write to a temporary file first, concurrent readers must never see partially written entries
+            final File tempFile = File.createTempFile(key, ".tmp", dir);
+            try (OutputStream out = Files.newOutputStream(tempFile.toPath());
+                    DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(out))) {
+                dataOut.writeInt(MAGIC);
+                dataOut.writeInt(FORMAT_VERSION);
+                dataOut.writeInt(classes.size());
+                final MessageDigest digest = sha256();
+                for (final Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                    dataOut.writeUTF(entry.getKey());
+                    dataOut.writeInt(entry.getValue().length);
+                    dataOut.write(entry.getValue());
+                    update(digest, entry.getKey(), entry.getValue());
+                }
+                dataOut.write(digest.digest());
+            }
+            try {
+                Files.move(tempFile.toPath(), new File(dir, key + ENTRY_EXTENSION).toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile.toPath());
+            }
+            evictLeastRecentlyUsed(dir);
+        } catch (IOException e) {
+            LOGGER.debug("Could not persist compiled classes: " + e.getMessage(), e);
+        }
+    }
+
+    /** Adds a class to the checksum of a cache file. */
+    private static void update(final MessageDigest digest, final String name, final byte[] bytes) {
+        final byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(2 * Integer.BYTES).putInt(nameBytes.length).putInt(bytes.length).array());
+        digest.update(nameBytes);
+        digest.update(bytes);
+    }
+
+    private static void evictLeastRecentlyUsed(final File dir) {
+        final File[] entries = dir.listFiles((d, name) -> name.endsWith(ENTRY_EXTENSION));
+        if (entries == null || entries.length <= MAX_DISK_ENTRIES) {
+            return;
+        }
+        final long[] lastModified = new long[entries.length];
+        final Integer[] order = new Integer[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            lastModified[i] = entries[i].lastModified();
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(lastModified[a], lastModified[b]));
+        for (int i = 0; i < entries.length - MAX_DISK_ENTRIES; i++) {
+            if (!entries[order[i]].delete()) {
+                LOGGER.debug("Could not delete compiled classes \"" + entries[order[i]].getAbsolutePath() + "\"");
+            }
+        }
+    }
+
+    /** Remove all entries from memory, used in tests. Entries on disk are kept. */
+    static void clear() {
+        CACHE.clear();
+    }
+}
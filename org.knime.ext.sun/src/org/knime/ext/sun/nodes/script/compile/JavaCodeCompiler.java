@@ -61,6 +61,7 @@
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Locale;
+import java.util.Map;
 
 import javax.tools.Diagnostic;
 import javax.tools.DiagnosticCollector;
@@ -141,12 +142,34 @@ public JavaCodeCompiler(final JavaVersion javaVersion, final File outputFileLoca
         m_outputFileLocation = CheckUtils.checkArgumentNotNull(outputFileLocation);
     }
 
+    /** Constructor for in-memory compilers, see {@link #createInMemoryCompiler(JavaVersion)}. */
+    private JavaCodeCompiler(final JavaVersion javaVersion, final Void inMemory) {
+        m_javaVersion = CheckUtils.checkArgumentNotNull(javaVersion);
+        m_outputFileLocation = null;
+    }
+
+    /**
+     * Creates a compiler that keeps the generated classes in memory. Nothing is written to disk, the compiled classes
+     * are available via {@link #getCompiledClasses()} and loaded by the class loader returned by
+     * {@link #createClassLoader(ClassLoader)}. Sources can be provided as {@link StringSourceFileObject}.
+     *
+     * @param javaVersion The non-null java version to use for compilation.
+     * @return a new compiler
+     * @since 5.12
+     */
+    public static JavaCodeCompiler createInMemoryCompiler(final JavaVersion javaVersion) {
+        return new JavaCodeCompiler(javaVersion, (Void)null);
+    }
+
     private File[] m_classpaths;
     private String[] m_additionalCompileArgs;
     private JavaFileObject[] m_sources;
 
     private File m_sourceCodeDebugDir;
 
+    /** The result of the last compilation if this compiler works in memory, <code>null</code> otherwise. */
+    private Map<String, byte[]> m_compiledClasses;
+
     /** @param classpaths the classpaths to set */
     public void setClasspaths(final File... classpaths) {
         m_classpaths = classpaths;
@@ -264,10 +287,22 @@ public void compile() throws CompilationFailedException {
         boolean compileCallSuccess;
         try (StandardJavaFileManager stdFileMgr = compiler.getStandardFileManager(
             digsCollector, null, StandardCharsets.UTF_8)) {
-            stdFileMgr.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singleton(m_outputFileLocation));
-            CompilationTask compileTask = compiler.getTask(logString, stdFileMgr,
-                digsCollector, compileArgs, null, Arrays.asList(m_sources));
-            compileCallSuccess = compileTask.call();
+            if (m_outputFileLocation != null) {
+                stdFileMgr.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singleton(m_outputFileLocation));
+                CompilationTask compileTask = compiler.getTask(logString, stdFileMgr,
+                    digsCollector, compileArgs, null, Arrays.asList(m_sources));
+                compileCallSuccess = compileTask.call();
+            } else {
+                m_compiledClasses = null;
+                try (InMemoryFileManager memFileMgr = new InMemoryFileManager(stdFileMgr)) {
+                    CompilationTask compileTask = compiler.getTask(logString, memFileMgr,
+                        digsCollector, compileArgs, null, Arrays.asList(m_sources));
+                    compileCallSuccess = compileTask.call();
+                    if (compileCallSuccess) {
+                        m_compiledClasses = memFileMgr.getClasses();
+                    }
+                }
+            }
         } catch (IOException ioe) {
             LOGGER.error(ioe);
             compileCallSuccess = false;
@@ -356,6 +391,24 @@ private String getJavaVersion() {
         return javaVersion;
     }
 
+    /**
+     * Get the classes of the last compilation of a compiler created with {@link #createInMemoryCompiler(JavaVersion)}.
+     *
+     * @return the binary class names mapped to their byte code
+     * @throws IllegalStateException if this compiler writes to disk or nothing was compiled successfully
+     * @since 5.12
+     */
+    public Map<String, byte[]> getCompiledClasses() {
+        if (m_outputFileLocation != null) {
+            throw new IllegalStateException(
+                "Compiled classes are written to \"" + m_outputFileLocation.getAbsolutePath() + "\"");
+        }
+        if (m_compiledClasses == null) {
+            throw new IllegalStateException("No sources compiled");
+        }
+        return Collections.unmodifiableMap(m_compiledClasses);
+    }
+
     /**
      * Creates a class loader for the compiled classes.
      * @param parent the parent class loader that is used as fallback when a class is not found.
@@ -364,21 +417,36 @@ private String getJavaVersion() {
      */
     public URLClassLoader createClassLoader(final ClassLoader parent)
         throws CompilationFailedException {
+        if (m_outputFileLocation == null) {
+            return new ByteCodeClassLoader(getCompiledClasses(), toURLs(m_classpaths), parent);
+        }
 
         File[] classpathFiles = ArrayUtils.add(m_classpaths, m_outputFileLocation);
+        return URLClassLoader.newInstance(toURLs(classpathFiles), parent);
+    }
 
+    /**
+     * Converts class path entries to URLs.
+     *
+     * @param classpathFiles the class path entries, may be <code>null</code>
+     * @return the URLs of the entries
+     * @throws CompilationFailedException if an entry can't be converted
+     * @since 5.12
+     */
+    public static URL[] toURLs(final File... classpathFiles) throws CompilationFailedException {
+        if (classpathFiles == null) {
+            return new URL[0];
+        }
         final URL[] urls = new URL[classpathFiles.length];
-
         for (int i = 0; i < classpathFiles.length; i++) {
             try {
                 urls[i] = classpathFiles[i].toURI().toURL();
             } catch (MalformedURLException e) {
                 throw new CompilationFailedException(
-                    "Unable to retrieve URL from class path entry \"" + m_classpaths[i].getAbsolutePath() + "\"", e);
+                    "Unable to retrieve URL from class path entry \"" + classpathFiles[i].getAbsolutePath() + "\"", e);
             }
         }
-
-        return URLClassLoader.newInstance(urls, parent);
+        return urls;
     }
 
 }
@@ -53,28 +53,26 @@
 import java.io.StreamTokenizer;
 import java.io.StringReader;
 import java.net.URLClassLoader;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
-
-import javax.tools.JavaFileObject.Kind;
 
 import org.apache.commons.io.FileUtils;
-import org.eclipse.jdt.internal.compiler.tool.EclipseFileObject;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
 import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.util.FileUtil;
+import org.knime.ext.sun.nodes.script.compile.ByteCodeClassLoader;
 import org.knime.ext.sun.nodes.script.compile.CompilationFailedException;
+import org.knime.ext.sun.nodes.script.compile.CompiledClassCache;
 import org.knime.ext.sun.nodes.script.compile.JavaCodeCompiler;
 import org.knime.ext.sun.nodes.script.compile.JavaCodeCompiler.JavaVersion;
+import org.knime.ext.sun.nodes.script.compile.StringSourceFileObject;
 import org.knime.ext.sun.nodes.script.settings.JavaScriptingSettings;
 import org.knime.ext.sun.nodes.script.settings.JavaSnippetType;
 
@@ -119,9 +117,6 @@ public enum FieldType {
     /** Identifier for row count. */
     public static final String ROWCOUNT = "ROWCOUNT";
 
-    /** An unique id to ensure uniqueness of class names (per vm). */
-    private static final AtomicInteger COUNTER = new AtomicInteger();
-
     /** These imports are put in the import section of the source file. */
     private static final String[] DEFAULT_IMPORTS =
         new String[]{"java.text.*", "java.util.*", "java.io.*",
@@ -130,6 +125,9 @@ public enum FieldType {
     /** Contains the class files of {@link #REQUIRED_COMPILATION_UNITS}. */
     private static File tempClassPath;
 
+    /** Hash of the byte code of the {@link #REQUIRED_COMPILATION_UNITS}, part of the compiled class cache key. */
+    private static String requiredCompilationUnitsKey;
+
     /** The list of classes that are required for compilation/execution (the
      * abstract super class). */
     private static final Class<?>[] REQUIRED_COMPILATION_UNITS = new Class[] {
@@ -142,9 +140,6 @@ public enum FieldType {
      */
     private final Map<InputField, ExpressionField> m_fieldMap;
 
-    /** The folder containing the generated .class files --- the class loader is pointed at it. */
-    private final File m_instanceTempFolder;
-
     /** The compiled class for the instance of the expression. */
     private final Class<? extends AbstractSnippetExpression> m_abstractExpression;
 
@@ -166,31 +161,8 @@ public enum FieldType {
     private Expression(final String body, final Map<InputField, ExpressionField> fieldMap,
         final JavaScriptingSettings settings) throws CompilationFailedException {
         m_fieldMap = fieldMap;
-        Class<?> rType = settings.getReturnType();
-        int version = settings.getExpressionVersion();
-        boolean isArrayReturn = settings.isArrayReturn();
-        String header = settings.getHeader();
-        String source;
-        String name = "Expression" + COUNTER.getAndIncrement();
-        String[] imports = null != settings.getImports()
-                ? settings.getImports()
-                : getDefaultImports();
-        // Generate the well known source of the Expression
-        switch (version) {
-        case VERSION_1X:
-            source = generateSourceVersion1(name, body, rType, imports);
-            break;
-        case VERSION_2X:
-            source = generateSourceVersion2(
-                    name, body, header, rType, imports, isArrayReturn);
-            break;
-        default:
-            throw new CompilationFailedException(
-                    "Unknown snippet version number: " + version);
-        }
         try {
             ensureStaticTempClassPathExists();
-            m_instanceTempFolder = FileUtil.createTempDir(name.toLowerCase());
         } catch (IOException e1) {
             throw new CompilationFailedException("Unable to copy required class path files", e1);
         }
@@ -205,20 +177,24 @@ private Expression(final String body, final Map<InputField, ExpressionField> fie
         System.arraycopy(additionalJarFiles, 0,
                 classPathFiles, 1, additionalJarFiles.length);
 
-        File instanceTempFile = new File(m_instanceTempFolder, name.concat(".java"));
-        try {
-            Files.write(instanceTempFile.toPath(), Collections.singleton(source));
-        } catch (IOException e) {
-            throw new CompilationFailedException(
-                "Unable to write expression source to temp file \"" + instanceTempFile.getAbsolutePath() + "\"", e);
-        }
-        JavaCodeCompiler compiler = new JavaCodeCompiler(JavaVersion.JAVA_11, m_instanceTempFolder);
-        EclipseFileObject snippetFile =
-            new EclipseFileObject(name, instanceTempFile.toURI(), Kind.SOURCE, StandardCharsets.UTF_8);
-        compiler.setSources(snippetFile);
-        compiler.setClasspaths(classPathFiles);
-        compiler.compile();
-        m_abstractExpressionClassLoader = compiler.createClassLoader(compiler.getClass().getClassLoader());
+        // the class name is derived from the source so that compiled classes can be reused, see CompiledClassCache
+        final String cacheKey = createCompiledClassCacheKey(generateSource("Expression", body, settings),
+            additionalJarFiles);
+        final String name = "Expression" + cacheKey.substring(0, 16);
+        // compiled in memory, class files are neither written to nor loaded from disk
+        final ClassLoader parent = JavaCodeCompiler.class.getClassLoader();
+        final Optional<Map<String, byte[]>> cachedClasses = CompiledClassCache.get(cacheKey);
+        if (cachedClasses.isPresent()) {
+            m_abstractExpressionClassLoader =
+                new ByteCodeClassLoader(cachedClasses.get(), JavaCodeCompiler.toURLs(classPathFiles), parent);
+        } else {
+            JavaCodeCompiler compiler = JavaCodeCompiler.createInMemoryCompiler(JavaVersion.JAVA_11);
+            compiler.setClasspaths(classPathFiles);
+            compiler.setSources(new StringSourceFileObject(name, generateSource(name, body, settings)));
+            compiler.compile();
+            CompiledClassCache.put(cacheKey, compiler.getCompiledClasses());
+            m_abstractExpressionClassLoader = compiler.createClassLoader(parent);
+        }
         try {
             m_abstractExpression =
                     (Class<? extends AbstractSnippetExpression>)m_abstractExpressionClassLoader.loadClass(name);
@@ -227,6 +203,46 @@ private Expression(final String body, final Map<InputField, ExpressionField> fie
         }
     }
 
+    /*
+     * Creates the source for the given class name according to the expression version of the settings.
+     */
+    private String generateSource(final String name, final String body, final JavaScriptingSettings settings)
+        throws CompilationFailedException {
+        Class<?> rType = settings.getReturnType();
+        int version = settings.getExpressionVersion();
+        String[] imports = null != settings.getImports()
+                ? settings.getImports()
+                : getDefaultImports();
+        // Generate the well known source of the Expression
+        switch (version) {
+        case VERSION_1X:
+            return generateSourceVersion1(name, body, rType, imports);
+        case VERSION_2X:
+            return generateSourceVersion2(
+                    name, body, settings.getHeader(), rType, imports, settings.isArrayReturn());
+        default:
+            throw new CompilationFailedException(
+                    "Unknown snippet version number: " + version);
+        }
+    }
+
+    /*
+     * Creates the key of the compiled expression in the CompiledClassCache from the source and the class path. The
+     * static temp class path is recreated in every session and therefore represented by the content of the required
+     * compilation units. The compiler and this bundle are part of the key, so updates invalidate persisted entries.
+     */
+    private static String createCompiledClassCacheKey(final String source, final File[] additionalJarFiles) {
+        final String[] parts = new String[additionalJarFiles.length + 4];
+        parts[0] = source;
+        parts[1] = JavaVersion.JAVA_11.name();
+        parts[2] = requiredCompilationUnitsKey;
+        parts[3] = CompiledClassCache.describeCompiler();
+        for (int i = 0; i < additionalJarFiles.length; i++) {
+            parts[i + 4] = CompiledClassCache.describe(additionalJarFiles[i]);
+        }
+        return CompiledClassCache.createKey(parts);
+    }
+
 
     /**
      * Get collection of default imports.
@@ -420,6 +436,15 @@ private static synchronized void ensureStaticTempClassPathExists()
             }
             tempClassPath = tempClassPathDir;
         }
+        if (requiredCompilationUnitsKey == null) {
+            final String[] classFiles = new String[REQUIRED_COMPILATION_UNITS.length];
+            for (int i = 0; i < classFiles.length; i++) {
+                final File classFile = resolveToClassFileLocation(REQUIRED_COMPILATION_UNITS[i], tempClassPath);
+                final byte[] bytes = Files.readAllBytes(classFile.toPath());
+                classFiles[i] = Base64.getEncoder().encodeToString(bytes);
+            }
+            requiredCompilationUnitsKey = CompiledClassCache.createKey(classFiles);
+        }
     }
 
     /**
@@ -670,7 +695,6 @@ public boolean usesRowIndex() {
     @Override
     public void close() throws IOException {
         m_abstractExpressionClassLoader.close();
-        FileUtil.deleteRecursively(m_instanceTempFolder);
     }
 
     /**
@@ -46,6 +46,7 @@
 package org.knime.ext.sun.nodes.script.expression;
 
 import java.lang.reflect.Field;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.knime.ext.sun.nodes.script.expression.Expression.ExpressionField;
@@ -62,6 +63,18 @@ public final class ExpressionInstance {
 
     private final AbstractSnippetExpression m_abstractExpression;
 
+    /** The slot of each input field, see {@link #getSlot(InputField)}. */
+    private final Map<InputField, Integer> m_slots;
+
+    /** The input fields by slot. */
+    private final InputField[] m_inputFields;
+
+    /** The expression fields by slot. */
+    private final ExpressionField[] m_expressionFields;
+
+    /** The java fields by slot, resolved once; <code>null</code> if the compiled class doesn't declare the field. */
+    private final Field[] m_fields;
+
     /**
      * Creates new expression instance wrapping a compiled object with that has
      * fields according to the properties argument.
@@ -73,6 +86,25 @@ public final class ExpressionInstance {
         final Map<InputField, ExpressionField> fieldMap) {
         m_abstractExpression = abstracExpression;
         m_fieldMap = fieldMap;
+        final int size = fieldMap.size();
+        m_slots = new HashMap<>();
+        m_inputFields = new InputField[size];
+        m_expressionFields = new ExpressionField[size];
+        m_fields = new Field[size];
+        final Class<?> type = abstracExpression.getClass();
+        int slot = 0;
+        for (Map.Entry<InputField, ExpressionField> entry : fieldMap.entrySet()) {
+            m_slots.put(entry.getKey(), slot);
+            m_inputFields[slot] = entry.getKey();
+            m_expressionFields[slot] = entry.getValue();
+            try {
+                m_fields[slot] = type.getDeclaredField(entry.getValue().getFieldNameInJava());
+            } catch (NoSuchFieldException e) {
+                // reported when the field is set
+                m_fields[slot] = null;
+            }
+            slot++;
+        }
     }
 
     /**
@@ -109,6 +141,19 @@ public Map<InputField, ExpressionField> getFieldMap() {
         return m_fieldMap;
     }
 
+    /**
+     * Get the slot of an input field, which can be used to set the field's value via {@link #set(int, Object)}.
+     * Slots should be determined once, e.g. when the expression is set up, and then be reused for every evaluation.
+     *
+     * @param inField the input field
+     * @return the slot of the field, or -1 if the field is not used by the expression
+     * @since 5.12
+     */
+    public int getSlot(final InputField inField) {
+        final Integer slot = m_slots.get(inField);
+        return slot == null ? -1 : slot.intValue();
+    }
+
     /**
      * Sets field values.
      *
@@ -120,10 +165,8 @@ public final void set(final Map<InputField, Object> property2ValueMap)
             throws IllegalPropertyException {
         // Prepare the values by looking at what properties where
         // specified in the constructor
-        for (Map.Entry<InputField, ExpressionField> entry
-                : m_fieldMap.entrySet()) {
-            InputField field = entry.getKey();
-            ExpressionField expressionField = entry.getValue();
+        for (int slot = 0; slot < m_inputFields.length; slot++) {
+            InputField field = m_inputFields[slot];
             Object value = property2ValueMap.get(field);
             if (value == null) {
                 // could be that there is no entry or the value is null
@@ -135,37 +178,41 @@ public final void set(final Map<InputField, Object> property2ValueMap)
                     // null represents missing value
                 }
             }
-            if (value != null
-                    && !expressionField.getFieldClass().isInstance(value)) {
-                throw new IllegalPropertyException(
-                        "Type for field \"" + field + "\" not matched: got "
-                        + value.getClass().getName() + " but expected "
-                        + expressionField.getFieldClass().getName());
-            }
-            setField(expressionField.getFieldNameInJava(), value);
+            set(slot, value);
         }
     }
 
-    /*
-     * Sets a field on m_compiled using reflection.
+    /**
+     * Sets the value of a single field.
+     *
+     * @param slot the slot of the field as returned by {@link #getSlot(InputField)}
+     * @param value the value, <code>null</code> represents a missing value
+     * @throws IllegalPropertyException if the field is unknown or the value is incompatible
+     * @throws IndexOutOfBoundsException if the slot is not valid
+     * @since 5.12
      */
-    private void setField(final String property, final Object value)
-            throws IllegalPropertyException {
-        String fieldType = "<UNKNOWN>";
+    public final void set(final int slot, final Object value) throws IllegalPropertyException {
+        final ExpressionField expressionField = m_expressionFields[slot];
+        if (value != null && !expressionField.getFieldClass().isInstance(value)) {
+            throw new IllegalPropertyException(
+                    "Type for field \"" + m_inputFields[slot] + "\" not matched: got "
+                    + value.getClass().getName() + " but expected "
+                    + expressionField.getFieldClass().getName());
+        }
+        final Field f = m_fields[slot];
+        final String property = expressionField.getFieldNameInJava();
+        if (f == null) {
+            throw new IllegalPropertyException("Unknown Field: " + property);
+        }
         try {
-            Class<?> type = m_abstractExpression.getClass();
-            Field f = type.getDeclaredField(property);
-            fieldType = f.getType().getName();
             f.set(m_abstractExpression, value);
-        } catch (NoSuchFieldException e) {
-            throw new IllegalPropertyException("Unknown Field: " + property, e);
         } catch (IllegalAccessException e) {
             throw new IllegalPropertyException("Field couldn't be accessed: "
                     + property, e);
         } catch (IllegalArgumentException e) {
-            throw new IllegalPropertyException("Field type " + fieldType
+            throw new IllegalPropertyException("Field type " + f.getType().getName()
                     + " doesn't match value type "
-                    + value != null ? value.getClass().getName() : "<null>"
+                    + (value != null ? value.getClass().getName() : "<null>")
                     + ".", e);
         }
     }
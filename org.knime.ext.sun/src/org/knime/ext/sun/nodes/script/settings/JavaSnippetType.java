@@ -238,6 +238,24 @@ public DataType getKNIMEDataType(final boolean isListCell) {
         return JavaSnippetStringType.INSTANCE;
     }
 
+    /** Find the snippet type whose java class is the argument. Used to resolve
+     * the conversion of the expression result once instead of per row.
+     * @param javaClass The (non-array) java class, e.g. the return type of an
+     *        expression
+     * @return The snippet type or <code>null</code> if the class is not
+     *         supported.
+     * @since 5.12
+     */
+    public static JavaSnippetType<?, ?, ?> findTypeForJavaClass(
+            final Class<?> javaClass) {
+        for (JavaSnippetType<?, ?, ?> t : TYPES) {
+            if (t.m_javaClass.equals(javaClass)) {
+                return t;
+            }
+        }
+        return null;
+    }
+
     /** Boolean type. */
     public static final class JavaSnippetBooleanType
     extends JavaSnippetType<Boolean, BooleanValue, BooleanCell> {
@@ -263,6 +281,25 @@ protected Boolean toJavaClass(final BooleanValue value) {
         protected BooleanCell toKNIMECell(final Boolean value) {
             return value ? BooleanCell.TRUE : BooleanCell.FALSE;
         }
+
+        /** {@inheritDoc} */
+        @Override
+        public Boolean asJavaObject(final DataCell cell) {
+            // fast path, avoids the reflective type check of the super class
+            if (cell instanceof BooleanValue && !cell.isMissing()) {
+                return ((BooleanValue)cell).getBooleanValue();
+            }
+            return super.asJavaObject(cell);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public DataCell asKNIMECell(final Object o) {
+            if (o instanceof Boolean) {
+                return toKNIMECell((Boolean)o);
+            }
+            return super.asKNIMECell(o);
+        }
     }
 
     /** Integer type. */
@@ -290,6 +327,25 @@ protected Integer toJavaClass(final IntValue value) {
         protected IntCell toKNIMECell(final Integer value) {
             return new IntCell(value);
         }
+
+        /** {@inheritDoc} */
+        @Override
+        public Integer asJavaObject(final DataCell cell) {
+            // fast path, avoids the reflective type check of the super class
+            if (cell instanceof IntValue && !cell.isMissing()) {
+                return ((IntValue)cell).getIntValue();
+            }
+            return super.asJavaObject(cell);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public DataCell asKNIMECell(final Object o) {
+            if (o instanceof Integer) {
+                return toKNIMECell((Integer)o);
+            }
+            return super.asKNIMECell(o);
+        }
     }
 
     /** Long type. */
@@ -316,6 +372,25 @@ protected Long toJavaClass(final LongValue value) {
         protected LongCell toKNIMECell(final Long value) {
             return new LongCell(value);
         }
+
+        /** {@inheritDoc} */
+        @Override
+        public Long asJavaObject(final DataCell cell) {
+            // fast path, avoids the reflective type check of the super class
+            if (cell instanceof LongValue && !cell.isMissing()) {
+                return ((LongValue)cell).getLongValue();
+            }
+            return super.asJavaObject(cell);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public DataCell asKNIMECell(final Object o) {
+            if (o instanceof Long) {
+                return toKNIMECell((Long)o);
+            }
+            return super.asKNIMECell(o);
+        }
     }
 
     /** Double type. */
@@ -342,6 +417,25 @@ protected Double toJavaClass(final DoubleValue value) {
         protected DoubleCell toKNIMECell(final Double value) {
             return new DoubleCell(value);
         }
+
+        /** {@inheritDoc} */
+        @Override
+        public Double asJavaObject(final DataCell cell) {
+            // fast path, avoids the reflective type check of the super class
+            if (cell instanceof DoubleValue && !cell.isMissing()) {
+                return ((DoubleValue)cell).getDoubleValue();
+            }
+            return super.asJavaObject(cell);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public DataCell asKNIMECell(final Object o) {
+            if (o instanceof Double) {
+                return toKNIMECell((Double)o);
+            }
+            return super.asKNIMECell(o);
+        }
     }
 
     /** String type. */
@@ -372,6 +466,25 @@ protected String toJavaClass(final DataValue value) {
         protected StringCell toKNIMECell(final String value) {
             return new StringCell(value);
         }
+
+        /** {@inheritDoc} */
+        @Override
+        public String asJavaObject(final DataCell cell) {
+            // fast path, every cell is compatible to DataValue
+            if (cell.isMissing()) {
+                return null;
+            }
+            return toJavaClass(cell);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public DataCell asKNIMECell(final Object o) {
+            if (o instanceof String) {
+                return new StringCell((String)o);
+            }
+            return super.asKNIMECell(o);
+        }
     }
 
 }
@@ -49,10 +49,13 @@
 package org.knime.base.node.jsnippet;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.lang.reflect.Field;
+import java.util.HashMap;
 
 import javax.swing.text.Document;
 
@@ -61,13 +64,32 @@
 import org.junit.Test;
 import org.knime.base.node.jsnippet.expression.Abort;
 import org.knime.base.node.jsnippet.expression.AbstractJSnippet;
+import org.knime.base.node.jsnippet.expression.FieldBinder;
 import org.knime.base.node.jsnippet.type.ConverterUtil;
+import org.knime.base.node.jsnippet.util.FlowVariableRepository;
 import org.knime.base.node.jsnippet.util.JavaSnippetFields;
 import org.knime.base.node.jsnippet.util.JavaSnippetSettings;
 import org.knime.base.node.jsnippet.util.field.InCol;
 import org.knime.base.node.jsnippet.util.field.OutCol;
+import org.knime.base.node.jsnippet.util.field.OutVar;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
 import org.knime.core.data.def.IntCell;
 import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.workflow.FlowVariable;
+import org.knime.core.node.workflow.SingleNodeContainer;
 
 /**
  * Test for {@link JavaSnippet}.
@@ -137,6 +159,45 @@ public void testEncoding() throws Exception {
         assertEquals(string, "���");
     }
 
+    /**
+     * Test the generated field binder.
+     * @throws Exception
+     */
+    @Test
+    public void testFieldBinder() throws Exception {
+        final JavaSnippetSettings settings = new JavaSnippetSettings("m_outCol = \"\" + (m_inCol + 1);");
+
+        final InCol inCol = new InCol();
+        inCol.setJavaName("m_inCol");
+        inCol.setKnimeName("inCol");
+        inCol.setConverterFactory(IntCell.TYPE,
+            ConverterUtil.getConverterFactory(IntCell.TYPE, Integer.class).get());
+        settings.getJavaSnippetFields().getInColFields().add(inCol);
+
+        final OutCol outCol = new OutCol();
+        outCol.setJavaName("m_outCol");
+        outCol.setKnimeName("outCol");
+        outCol.setConverterFactory(ConverterUtil.getConverterFactory(String.class, StringCell.TYPE).get());
+        settings.getJavaSnippetFields().getOutColFields().add(outCol);
+        snippet.setSettings(settings);
+
+        final AbstractJSnippet s = snippet.createSnippetInstance();
+        final FieldBinder binder = snippet.createFieldBinder(s);
+        assertNotNull(binder);
+
+        binder.setInColumns(s, new Object[]{41});
+        binder.resetOutColumns(s);
+        s.snippet();
+
+        final Object[] out = new Object[1];
+        binder.getOutColumns(s, out);
+        assertEquals("42", out[0]);
+
+        binder.resetOutColumns(s);
+        binder.getOutColumns(s, out);
+        assertEquals(null, out[0]);
+    }
+
     /**
      * Test compiling with additional eclipse/osgi bundles.
      * @throws Exception
@@ -215,4 +276,159 @@ public void testCodeGeneration() throws Exception {
             "    }\n" +
             "}\n", doc.getText(0, doc.getLength()));
     }
+
+    /**
+     * Test reading the cells of the current row by column name and index, over several rows.
+     * @throws Exception
+     */
+    @Test
+    public void testCellAccess() throws Exception {
+        final JavaSnippetSettings settings = new JavaSnippetSettings(
+            "String str = isMissing(\"Str\") ? \"?\" : getCell(\"Str\", tString);\n"
+            + "m_outCol = str + \"|\" + (isMissing(0) ? \"?\" : getCell(0, tString))\n"
+            + "    + \"|\" + getCell(\"Int\", tInt) + \"|\" + getCell(1, tInt)\n"
+            + "    + \"|\" + isType(1, tInt) + \"|\" + (isMissing(\"Str\") ? \"?\" : \"\" + isType(\"Str\", tInt));\n"
+            + "try { getCell(-1, tString); m_outCol += \"|no\"; } catch (ColumnException e) { m_outCol += \"|ce\"; }\n"
+            + "try { isMissing(getColumnCount()); m_outCol += \"|no\"; }\n"
+            + "catch (ColumnException e) { m_outCol += \"|ce\"; }\n"
+            + "try { isType(getColumnCount(), tInt); m_outCol += \"|no\"; }\n"
+            + "catch (ColumnException e) { m_outCol += \"|ce\"; }");
+        final OutCol outCol = new OutCol();
+        outCol.setJavaName("m_outCol");
+        outCol.setKnimeName("outCol");
+        outCol.setConverterFactory(ConverterUtil.getConverterFactory(String.class, StringCell.TYPE).get());
+        settings.getJavaSnippetFields().getOutColFields().add(outCol);
+        snippet.setSettings(settings);
+
+        final JavaSnippetCellFactory factory =
+            createCellFactory(new DataTableSpec(new DataColumnSpecCreator("Str", StringCell.TYPE).createSpec(),
+                new DataColumnSpecCreator("Int", IntCell.TYPE).createSpec()));
+        // the cells are read through proxies created once, they have to see the current row
+        for (int i = 0; i < 5; i++) {
+            final DataCell str = i == 2 ? DataType.getMissingCell() : new StringCell("s" + i);
+            final DataRow row = new DefaultRow(RowKey.createRowKey((long)i), str, new IntCell(10 * i));
+            final String expectedStr = i == 2 ? "?" : "s" + i;
+            assertEquals(new StringCell(expectedStr + "|" + expectedStr + "|" + 10 * i + "|" + 10 * i + "|true|"
+                + (i == 2 ? "?" : "false") + "|ce|ce|ce"), factory.getCells(row)[0]);
+        }
+        factory.afterProcessing();
+    }
+
+    /**
+     * Test reading a column as different java types within a row and a column whose cell type changes between rows,
+     * the converter remembered by the cell for the last access must not be reused for another type.
+     * @throws Exception
+     */
+    @Test
+    public void testChangingConversions() throws Exception {
+        final JavaSnippetSettings settings = new JavaSnippetSettings(
+            "m_outCol = \"\" + getCell(\"Num\", tDouble);\n"
+            + "if (ROWINDEX % 2 == 0) {\n"
+            + "    m_outCol += \"|\" + getCell(\"Num\", tInt) + \"|\" + getCell(\"Num\", tLong);\n"
+            + "}\n"
+            + "m_outCol += \"|\" + getCell(\"Num\", tDouble);");
+        final OutCol outCol = new OutCol();
+        outCol.setJavaName("m_outCol");
+        outCol.setKnimeName("outCol");
+        outCol.setConverterFactory(ConverterUtil.getConverterFactory(String.class, StringCell.TYPE).get());
+        settings.getJavaSnippetFields().getOutColFields().add(outCol);
+        snippet.setSettings(settings);
+
+        final JavaSnippetCellFactory factory =
+            createCellFactory(new DataTableSpec(new DataColumnSpecCreator("Num", DoubleCell.TYPE).createSpec()));
+        // int and double cells alternate, the int cells are also read as Integer and Long
+        for (int i = 0; i < 6; i++) {
+            final String expected;
+            final DataCell cell;
+            if (i % 2 == 0) {
+                cell = new IntCell(i);
+                expected = (double)i + "|" + i + "|" + i + "|" + (double)i;
+            } else {
+                cell = new DoubleCell(i + 0.5);
+                expected = (i + 0.5) + "|" + (i + 0.5);
+            }
+            assertEquals(new StringCell(expected),
+                factory.getCells(new DefaultRow(RowKey.createRowKey((long)i), cell))[0]);
+        }
+        factory.afterProcessing();
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private JavaSnippetCellFactory createCellFactory(final DataTableSpec spec) {
+        final ExecutionContext exec = new ExecutionContext(new DefaultNodeProgressMonitor(),
+            new Node((NodeFactory<NodeModel>)(NodeFactory)new JavaSnippetNodeFactory()),
+            SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, NotInWorkflowDataRepository.newInstance());
+        return new JavaSnippetCellFactory(snippet, spec, new FlowVariableRepository(new HashMap<>()), -1, exec);
+    }
+
+    /**
+     * Test which snippets are processed concurrently: only those keeping no state between rows.
+     * @throws Exception
+     */
+    @Test
+    public void testParallelExecutionPossible() throws Exception {
+        assertTrue(isParallelExecutionPossible(createParallelSettings("m_outCol = \"\" + m_inCol;")));
+
+        final JavaSnippetSettings disabled = createParallelSettings("m_outCol = \"\" + m_inCol;");
+        disabled.setParallelExecution(false);
+        assertFalse(isParallelExecutionPossible(disabled));
+
+        // custom fields may keep state between rows
+        final JavaSnippetSettings customField = createParallelSettings("m_count++; m_outCol = \"\" + m_count;");
+        customField.setScriptFields("// Your custom variables:\nint m_count;\n");
+        assertFalse(isParallelExecutionPossible(customField));
+
+        // output flow variables are taken from the last row
+        final JavaSnippetSettings outVariable = createParallelSettings("m_outVar = m_inCol;");
+        final OutVar outVar = new OutVar();
+        outVar.setJavaName("m_outVar");
+        outVar.setKnimeName("outVar");
+        outVar.setFlowVarType(FlowVariable.Type.INTEGER);
+        outVar.setJavaType(Integer.class);
+        outVariable.getJavaSnippetFields().getOutVarFields().add(outVar);
+        assertFalse(isParallelExecutionPossible(outVariable));
+
+        assertFalse(isParallelExecutionPossible(createParallelSettings("m_outCol = \"\" + ROWINDEX;")));
+
+        // the row index used in a method of the custom section
+        final JavaSnippetSettings rowIndexMethod = createParallelSettings("m_outCol = \"\" + index();");
+        rowIndexMethod.setScriptFields("// Your custom variables:\nint index() { return ROWINDEX; }\n");
+        assertFalse(isParallelExecutionPossible(rowIndexMethod));
+
+        // the row index is found by a (deliberately conservative) text match, mentioning it in a comment is enough
+        assertFalse(isParallelExecutionPossible(createParallelSettings("// ROWINDEX\nm_outCol = \"\" + m_inCol;")));
+    }
+
+    private boolean isParallelExecutionPossible(final JavaSnippetSettings settings) throws Exception {
+        snippet.setSettings(settings);
+        // the snippet class has to be created before the check
+        assertNotNull(snippet.createSnippetInstance());
+        return snippet.isParallelExecutionPossible();
+    }
+
+    /**
+     * Create settings with parallel execution enabled, an integer input column "inCol" and a string output column
+     * "outCol".
+     *
+     * @param body the snippet body
+     * @return the settings
+     */
+    static JavaSnippetSettings createParallelSettings(final String body) {
+        final JavaSnippetSettings settings = new JavaSnippetSettings(body);
+        settings.setParallelExecution(true);
+
+        final InCol inCol = new InCol();
+        inCol.setJavaName("m_inCol");
+        inCol.setKnimeName("inCol");
+        inCol.setConverterFactory(IntCell.TYPE,
+            ConverterUtil.getConverterFactory(IntCell.TYPE, Integer.class).get());
+        settings.getJavaSnippetFields().getInColFields().add(inCol);
+
+        final OutCol outCol = new OutCol();
+        outCol.setJavaName("m_outCol");
+        outCol.setKnimeName("outCol");
+        outCol.setConverterFactory(ConverterUtil.getConverterFactory(String.class, StringCell.TYPE).get());
+        settings.getJavaSnippetFields().getOutColFields().add(outCol);
+        return settings;
+    }
 }
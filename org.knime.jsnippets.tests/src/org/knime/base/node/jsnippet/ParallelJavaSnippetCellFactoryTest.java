@@ -0,0 +1,235 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ */
+package org.knime.base.node.jsnippet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.node.jsnippet.util.FlowVariableRepository;
+import org.knime.base.node.jsnippet.util.JavaSnippetSettings;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.workflow.SingleNodeContainer;
+
+/**
+ * Test for {@link ParallelJavaSnippetCellFactory}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class ParallelJavaSnippetCellFactoryTest {
+
+    /** Number of rows, much more than processed in one batch by the concurrent workers. */
+    private static final int ROW_COUNT = 20000;
+
+    private JavaSnippet m_snippet;
+
+    private ExecutionContext m_exec;
+
+    /** Create a JavaSnippet instance and an execution context. */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Before
+    public void before() {
+        m_snippet = new JavaSnippet();
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(),
+            new Node((NodeFactory<NodeModel>)(NodeFactory)new JavaSnippetNodeFactory()),
+            SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, NotInWorkflowDataRepository.newInstance());
+    }
+
+    /** Close the JavaSnippet instance. */
+    @After
+    public void after() {
+        m_snippet.invalidate();
+    }
+
+    /**
+     * Test that the concurrently computed table has the same rows in the same order as the sequentially computed one.
+     * @throws Exception
+     */
+    @Test
+    public void testSameAsSequential() throws Exception {
+        final BufferedDataTable table = createTable();
+        final JavaSnippetSettings settings =
+            JavaSnippetTest.createParallelSettings("m_outCol = ROWID + \":\" + (m_inCol * 3);");
+        m_snippet.setSettings(settings);
+        final BufferedDataTable parallel =
+            m_snippet.execute(table, new FlowVariableRepository(new HashMap<>()), m_exec);
+        assertTrue(m_snippet.isParallelExecutionPossible());
+
+        settings.setParallelExecution(false);
+        m_snippet.setSettings(settings);
+        assertFalse(m_snippet.isParallelExecutionPossible());
+        final BufferedDataTable sequential =
+            m_snippet.execute(table, new FlowVariableRepository(new HashMap<>()), m_exec);
+
+        assertEquals(ROW_COUNT, parallel.size());
+        assertEquals(ROW_COUNT, sequential.size());
+        try (CloseableRowIterator p = parallel.iterator(); CloseableRowIterator s = sequential.iterator()) {
+            for (int i = 0; i < ROW_COUNT; i++) {
+                final DataRow parallelRow = p.next();
+                final DataRow sequentialRow = s.next();
+                final RowKey key = RowKey.createRowKey((long)i);
+                assertEquals(key, parallelRow.getKey());
+                assertEquals(key, sequentialRow.getKey());
+                final DataCell expected = new StringCell(key.getString() + ":" + (i * 3));
+                assertEquals(expected, parallelRow.getCell(1));
+                assertEquals(expected, sequentialRow.getCell(1));
+            }
+            assertFalse(p.hasNext());
+            assertFalse(s.hasNext());
+        }
+    }
+
+    /**
+     * Test that the supplier is only asked for a factory when all factories of the pool are in use, and that the
+     * factories are reused afterwards.
+     * @throws Exception
+     */
+    @Test
+    public void testPooling() throws Exception {
+        final int threads = 4;
+        final DataTableSpec spec = createTable().getDataTableSpec();
+        m_snippet.setSettings(JavaSnippetTest.createParallelSettings("m_outCol = \"\" + m_inCol;"));
+        final FlowVariableRepository flowVariables = new FlowVariableRepository(new HashMap<>());
+        // all calls block until every thread got a factory, so the pool has to grow to one factory per thread
+        final CountDownLatch allBusy = new CountDownLatch(threads);
+        final AtomicInteger created = new AtomicInteger();
+        final ParallelJavaSnippetCellFactory factory = new ParallelJavaSnippetCellFactory(
+            new BlockingCellFactory(spec, flowVariables, allBusy), () -> {
+                created.incrementAndGet();
+                return new BlockingCellFactory(spec, flowVariables, allBusy);
+            });
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<DataCell[]>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                final DataRow row = new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i));
+                results.add(executor.submit(() -> factory.getCells(row)));
+            }
+            for (int i = 0; i < threads; i++) {
+                assertEquals(new StringCell(Integer.toString(i)), results.get(i).get(1, TimeUnit.MINUTES)[0]);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(threads - 1, created.get());
+
+        // the pool now holds a factory per thread, sequential calls do not need new ones
+        for (int i = 0; i < 2 * threads; i++) {
+            factory.getCells(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i)));
+        }
+        assertEquals(threads - 1, created.get());
+
+        // the pool is released after processing
+        factory.afterProcessing();
+        factory.getCells(new DefaultRow(RowKey.createRowKey(0L), new IntCell(0)));
+        assertEquals(threads, created.get());
+    }
+
+    private BufferedDataTable createTable() {
+        final DataTableSpec spec = new DataTableSpec(new DataColumnSpecCreator("inCol", IntCell.TYPE).createSpec());
+        final BufferedDataContainer container = m_exec.createDataContainer(spec);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i)));
+        }
+        container.close();
+        return container.getTable();
+    }
+
+    /** Cell factory which waits in the first call of {@link #getCells(DataRow)} until the latch is released. */
+    private final class BlockingCellFactory extends JavaSnippetCellFactory {
+        private final CountDownLatch m_allBusy;
+
+        BlockingCellFactory(final DataTableSpec spec, final FlowVariableRepository flowVariables,
+            final CountDownLatch allBusy) {
+            super(m_snippet, spec, flowVariables, -1, m_exec);
+            m_allBusy = allBusy;
+        }
+
+        @Override
+        public DataCell[] getCells(final DataRow row) {
+            if (m_allBusy.getCount() > 0) {
+                m_allBusy.countDown();
+                try {
+                    m_allBusy.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+            }
+            return super.getCells(row);
+        }
+    }
+}
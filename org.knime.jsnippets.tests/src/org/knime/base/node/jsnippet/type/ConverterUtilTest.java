@@ -0,0 +1,122 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ */
+package org.knime.base.node.jsnippet.type;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.knime.core.data.DataType;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Test for {@link ConverterUtil}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class ConverterUtilTest {
+
+    /**
+     * Test that the cached lookup gives the same result as the uncached one.
+     */
+    @Test
+    public void testCachedConverterFactory() {
+        for (final DataType type : new DataType[]{StringCell.TYPE, IntCell.TYPE, DoubleCell.TYPE}) {
+            for (final Class<?> javaType : new Class<?>[]{String.class, Integer.class, Double.class}) {
+                // twice, the second lookup is answered by the cache
+                for (int i = 0; i < 2; i++) {
+                    assertEquals(type + " -> " + javaType, ConverterUtil.getConverterFactory(type, javaType)
+                        .map(f -> f.getIdentifier()), ConverterUtil.getCachedConverterFactory(type, javaType)
+                        .map(f -> f.getIdentifier()));
+                    assertTrue(ConverterUtil.isCachedConverterFactory(type, javaType));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test that the least recently used entry is evicted when the cache is full.
+     */
+    @Test
+    public void testEviction() {
+        // type pairs nobody else looks up: (type, array class of some dimension)
+        final List<DataType> types = new ArrayList<>();
+        final List<Class<?>> javaTypes = new ArrayList<>();
+        for (final DataType type : new DataType[]{StringCell.TYPE, IntCell.TYPE, DoubleCell.TYPE}) {
+            for (int dimensions = 1; dimensions <= 200; dimensions++) {
+                types.add(type);
+                javaTypes.add(Array.newInstance(Object.class, new int[dimensions]).getClass());
+            }
+        }
+        final int size = ConverterUtil.CONVERTER_FACTORY_CACHE_SIZE;
+        // fill the cache with fresh entries only
+        for (int i = 0; i < size; i++) {
+            ConverterUtil.getCachedConverterFactory(types.get(i), javaTypes.get(i));
+        }
+        for (int i = 0; i < size; i++) {
+            assertTrue(Integer.toString(i), ConverterUtil.isCachedConverterFactory(types.get(i), javaTypes.get(i)));
+        }
+
+        // the first entry is used again, so the second is the least recently used one
+        ConverterUtil.getCachedConverterFactory(types.get(0), javaTypes.get(0));
+        ConverterUtil.getCachedConverterFactory(types.get(size), javaTypes.get(size));
+        assertTrue(ConverterUtil.isCachedConverterFactory(types.get(size), javaTypes.get(size)));
+        assertTrue(ConverterUtil.isCachedConverterFactory(types.get(0), javaTypes.get(0)));
+        assertFalse(ConverterUtil.isCachedConverterFactory(types.get(1), javaTypes.get(1)));
+        assertTrue(ConverterUtil.isCachedConverterFactory(types.get(2), javaTypes.get(2)));
+
+        ConverterUtil.getCachedConverterFactory(types.get(size + 1), javaTypes.get(size + 1));
+        assertFalse(ConverterUtil.isCachedConverterFactory(types.get(2), javaTypes.get(2)));
+        assertTrue(ConverterUtil.isCachedConverterFactory(types.get(3), javaTypes.get(3)));
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   16.10.2026 (KNIME AG): created
+ */
+package org.knime.base.node.rules.engine;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DataValueComparator;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Tests {@link InSet}, it has to find the same values as comparing them one by one.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class InSetTest {
+    private static final DataCell[] VALUES = {new IntCell(-3), new IntCell(0), new IntCell(42), new LongCell(42),
+        new LongCell(Long.MAX_VALUE), new DoubleCell(42.0), new DoubleCell(-0.0), new DoubleCell(0.5),
+        new DoubleCell(Double.NaN), new StringCell("a"), new StringCell("42"), new StringCell(""),
+        DataType.getMissingCell()};
+
+    private static final List<List<DataCell>> LISTS = Arrays.asList(
+        Arrays.<DataCell> asList(new IntCell(1), new IntCell(42), new IntCell(-3)),
+        Arrays.<DataCell> asList(new LongCell(Long.MAX_VALUE), new IntCell(0)),
+        Arrays.<DataCell> asList(new DoubleCell(0.0), new DoubleCell(0.5), new DoubleCell(Double.NaN)),
+        Arrays.<DataCell> asList(new StringCell("b"), new StringCell("a"), new StringCell("")),
+        Arrays.<DataCell> asList(new StringCell("42"), new IntCell(0), new DoubleCell(0.5)),
+        Arrays.<DataCell> asList());
+
+    private static final DataType[] TYPES = {IntCell.TYPE, LongCell.TYPE, DoubleCell.TYPE, StringCell.TYPE};
+
+    private static boolean linear(final DataCell cell, final List<DataCell> list) {
+        for (final DataCell value : list) {
+            final DataValueComparator cmp =
+                DataType.getCommonSuperType(cell.getType(), value.getType()).getComparator();
+            if (cmp.compare(cell, value) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tests all values with all lists and expected types.
+     */
+    @Test
+    public void testContains() {
+        for (final DataType type : TYPES) {
+            for (final List<DataCell> list : LISTS) {
+                final InSet set = new InSet(type, list);
+                for (final DataCell value : VALUES) {
+                    assertEquals(type + " " + value + " in " + list, linear(value, list), set.contains(value));
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests a long list of strings.
+     */
+    @Test
+    public void testManyStrings() {
+        final DataCell[] codes = new DataCell[5000];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = new StringCell("C" + i * 2);
+        }
+        final InSet set = new InSet(StringCell.TYPE, Arrays.asList(codes));
+        for (int i = 0; i < 2 * codes.length; i++) {
+            assertEquals(Integer.toString(i), i % 2 == 0, set.contains(new StringCell("C" + i)));
+        }
+    }
+}
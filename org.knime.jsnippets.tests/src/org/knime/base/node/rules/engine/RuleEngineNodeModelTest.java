@@ -0,0 +1,165 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ */
+package org.knime.base.node.rules.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.workflow.SingleNodeContainer;
+
+/**
+ * Tests {@link RuleEngineNodeModel}, processing the rows concurrently has to give the same table as processing them
+ * one after the other.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class RuleEngineNodeModelTest {
+    /** The rules, none of them refers to the row index, so the rows are processed concurrently. */
+    private static final String[] RULES = {"$Int$ > 3 => \"big\"", "$Str$ LIKE \"a*\" AND $Int$ > 0 => \"a\"",
+        "1 > 2 OR $Int$ = 0 => \"zero\"", "MISSING $Str$ => \"missing\""};
+
+    /** Never matches, but makes the rows to be processed one after the other. */
+    private static final String SEQUENTIAL_RULE = "$$ROWINDEX$$ < 0 => \"never\"";
+
+    /** Number of rows, enough to be processed in several concurrent chunks. */
+    private static final int ROW_COUNT = 20000;
+
+    /**
+     * Compares the concurrently and sequentially computed tables, with and without compiling the rules.
+     *
+     * @throws Exception Problem executing the node.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Test
+    public void testConcurrentSameAsSequential() throws Exception {
+        final ExecutionContext exec = new ExecutionContext(new DefaultNodeProgressMonitor(),
+            new Node((NodeFactory<NodeModel>)(NodeFactory)new RuleEngineNodeFactory()),
+            SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, NotInWorkflowDataRepository.newInstance());
+        final BufferedDataTable table = createTable(exec);
+        final String[] sequentialRules = new String[RULES.length + 1];
+        System.arraycopy(RULES, 0, sequentialRules, 0, RULES.length);
+        sequentialRules[RULES.length] = SEQUENTIAL_RULE;
+        for (final boolean compile : new boolean[]{false, true}) {
+            assertSameTable(execute(exec, table, sequentialRules, compile), execute(exec, table, RULES, compile));
+        }
+    }
+
+    /**
+     * Creates a table with an int and a string column, both with missing values.
+     *
+     * @param exec The {@link ExecutionContext}.
+     * @return The table.
+     */
+    public static BufferedDataTable createTable(final ExecutionContext exec) {
+        final DataTableSpec spec = new DataTableSpec(new DataColumnSpecCreator("Int", IntCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("Str", StringCell.TYPE).createSpec());
+        final String[] strings = {"abc", "bcd", "a"};
+        final BufferedDataContainer container = exec.createDataContainer(spec);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            final DataCell in = i % 11 == 0 ? DataType.getMissingCell() : new IntCell(i % 7 - 2);
+            final DataCell str = i % 13 == 0 ? DataType.getMissingCell() : new StringCell(strings[i % 3]);
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), in, str));
+        }
+        container.close();
+        return container.getTable();
+    }
+
+    /**
+     * Asserts that the tables have the same columns (the domains might differ) and the same rows in the same order.
+     *
+     * @param expected The expected table.
+     * @param actual The actual table.
+     */
+    public static void assertSameTable(final BufferedDataTable expected, final BufferedDataTable actual) {
+        assertTrue(expected.getDataTableSpec().equalStructure(actual.getDataTableSpec()));
+        assertEquals(expected.size(), actual.size());
+        try (CloseableRowIterator e = expected.iterator(); CloseableRowIterator a = actual.iterator()) {
+            while (e.hasNext()) {
+                final DataRow expectedRow = e.next();
+                final DataRow actualRow = a.next();
+                assertEquals(expectedRow.getKey(), actualRow.getKey());
+                for (int i = 0; i < expectedRow.getNumCells(); i++) {
+                    assertEquals(expectedRow.getKey().toString(), expectedRow.getCell(i), actualRow.getCell(i));
+                }
+            }
+            assertFalse(a.hasNext());
+        }
+    }
+
+    private static BufferedDataTable execute(final ExecutionContext exec, final BufferedDataTable table,
+        final String[] rules, final boolean compile) throws Exception {
+        final RuleEngineNodeModel model = new RuleEngineNodeModel();
+        final NodeSettings settings = new NodeSettings("settings");
+        model.saveSettingsTo(settings);
+        settings.addStringArray(RuleEngineSettings.RULES, rules);
+        settings.addString(RuleEngineSettings.NEW_COLUMN_NAME, "Prediction");
+        settings.addBoolean(RuleEngineSettings.APPEND_COLUMN, true);
+        settings.addBoolean("compileRules", compile);
+        model.loadValidatedSettingsFrom(settings);
+        return model.execute(new BufferedDataTable[]{table}, exec)[0];
+    }
+}
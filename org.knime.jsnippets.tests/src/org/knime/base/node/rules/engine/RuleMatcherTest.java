@@ -0,0 +1,463 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   16.10.2026 (KNIME AG): created
+ */
+package org.knime.base.node.rules.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.node.rules.engine.Condition.GenericCondition;
+import org.knime.base.node.rules.engine.Condition.MatchOutcome.MatchState;
+import org.knime.base.node.rules.engine.Expression.ASTType;
+import org.knime.core.data.BooleanValue;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.workflow.FlowVariable;
+
+/**
+ * Tests {@link RuleMatcher}, the compiled rules have to match the same rules as the interpreted ones.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class RuleMatcherTest {
+    private static final String[] CONDITIONS = {"$Int$ > 3", "$Int$ <= -2 AND $Dbl$ >= 1.5", "$Long$ = 7",
+        "$Int$ < $Dbl$", "$Dbl$ > 1000000 OR $Dbl$ < -1000000", "$Str$ LIKE \"a*\"", "$Str$ MATCHES \"b.+\"",
+        "$Str$ IN (\"x\", \"y\", 1)", "$Int$ IN (0, 1, 2)", "MISSING $Dbl$", "NOT $Bool$", "$Bool$ XOR $Int$ = 0",
+        "$Str$ > \"m\"", "$Dbl$ = $Dbl$", "$Long$ > $Int$ AND NOT MISSING $Str$", "$$ROWINDEX$$ > 4",
+        "$Str$ LIKE $Str$ AND $Int$ > 0", "$Str$ MATCHES $Str$"};
+
+    private DataTableSpec m_spec;
+
+    private List<DataRow> m_rows;
+
+    private final VariableProvider m_provider = new VariableProvider() {
+        @Override
+        public Object readVariable(final String name, final Class<?> type) {
+            throw new UnsupportedOperationException(name);
+        }
+
+        @Override
+        public int getRowCount() {
+            return 10;
+        }
+
+        @Override
+        public int getRowIndex() {
+            return 5;
+        }
+    };
+
+    /**
+     * Creates the table.
+     */
+    @Before
+    public void setUp() {
+        m_spec = new DataTableSpec(new DataColumnSpecCreator("Int", IntCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("Dbl", DoubleCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("Long", LongCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("Str", StringCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("Bool", BooleanCell.TYPE).createSpec());
+        final DataCell missing = DataType.getMissingCell();
+        final DataCell[] ints = {new IntCell(-5), new IntCell(0), new IntCell(7), missing};
+        final DataCell[] doubles = {new DoubleCell(2.5), new DoubleCell(Double.NaN),
+            new DoubleCell(Double.POSITIVE_INFINITY), new DoubleCell(-0.0), missing};
+        final DataCell[] longs = {new LongCell(7), new LongCell(Long.MIN_VALUE), missing};
+        final DataCell[] strings = {new StringCell("abc"), new StringCell("bcd"), new StringCell("y"), missing};
+        final DataCell[] booleans = {BooleanCell.TRUE, BooleanCell.FALSE, missing};
+        m_rows = new ArrayList<>();
+        int i = 0;
+        for (final DataCell in : ints) {
+            for (final DataCell dbl : doubles) {
+                for (final DataCell lng : longs) {
+                    for (final DataCell str : strings) {
+                        for (final DataCell bool : booleans) {
+                            m_rows.add(new DefaultRow(RowKey.createRowKey(i++), in, dbl, lng, str, bool));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private List<Rule> parse(final String... conditions) throws ParseException {
+        return parse(true, conditions);
+    }
+
+    private List<Rule> parse(final boolean matchedObjects, final String... conditions) throws ParseException {
+        final RuleFactory factory = RuleFactory.getInstance(RuleNodeSettings.RuleEngine).cloned();
+        factory.disableMissingComparisons();
+        factory.disableNaNComparisons();
+        if (!matchedObjects) {
+            factory.disableMatchedObjects();
+        }
+        final List<Rule> rules = new ArrayList<>();
+        int outcome = 0;
+        for (final String condition : conditions) {
+            rules.add(factory.parse(condition + " => " + outcome++, m_spec,
+                Collections.<String, FlowVariable> emptyMap()));
+        }
+        return rules;
+    }
+
+    private void assertSameMatches(final List<Rule> rules) {
+        final RuleMatcher interpreted = RuleMatcher.interpreted(rules);
+        final RuleMatcher compiled = RuleMatcher.create(rules, true);
+        for (final DataRow row : m_rows) {
+            assertEquals(row.toString(), interpreted.firstMatch(row, m_provider), compiled.firstMatch(row, m_provider));
+        }
+    }
+
+    /**
+     * Tests each condition on its own.
+     *
+     * @throws ParseException Should not happen.
+     */
+    @Test
+    public void testSingleConditions() throws ParseException {
+        for (final String condition : CONDITIONS) {
+            assertSameMatches(parse(condition));
+        }
+    }
+
+    /**
+     * Tests the first match of all conditions.
+     *
+     * @throws ParseException Should not happen.
+     */
+    @Test
+    public void testFirstMatch() throws ParseException {
+        assertSameMatches(parse(CONDITIONS));
+    }
+
+    /**
+     * Tests that constant conditions are handled.
+     *
+     * @throws ParseException Should not happen.
+     */
+    @Test
+    public void testConstantConditions() throws ParseException {
+        assertSameMatches(parse("1 > 2", "\"a\" LIKE \"b\"", "TRUE"));
+    }
+
+    /**
+     * Tests that rules without captured groups evaluate to the shared empty matched objects.
+     *
+     * @throws ParseException Should not happen.
+     */
+    @Test
+    public void testNoMatchedObjectMaps() throws ParseException {
+        assertNoMatchedObjects(parse("$Str$ MATCHES \"b.+\" AND $Int$ > 3", "$Int$ IN (0, 1, 2) OR NOT $Bool$",
+            "$Dbl$ = $Dbl$ XOR $Long$ = 7"));
+        assertNoMatchedObjects(parse(false, "$Str$ MATCHES \"(b).+\" AND $Int$ > 3"));
+        final Expression capturing =
+            ((GenericCondition)parse(true, "$Str$ MATCHES \"(b).+\"").get(0).getCondition()).getExpression();
+        boolean captured = false;
+        for (final DataRow row : m_rows) {
+            captured |= !capturing.evaluate(row, m_provider).getMatchedObjects().isEmpty();
+        }
+        assertTrue("Groups captured", captured);
+    }
+
+    private void assertNoMatchedObjects(final List<Rule> rules) {
+        for (final Rule rule : rules) {
+            final Expression expression = ((GenericCondition)rule.getCondition()).getExpression();
+            for (final DataRow row : m_rows) {
+                assertSame(row.toString(), Collections.emptyMap(),
+                    expression.evaluate(row, m_provider).getMatchedObjects());
+            }
+        }
+    }
+
+    /**
+     * Tests that the boolean evaluation of the conditions agrees with the {@link ExpressionValue} based one.
+     *
+     * @throws ParseException Should not happen.
+     */
+    @Test
+    public void testEvaluateBoolean() throws ParseException {
+        final List<Rule> rules = parse(CONDITIONS);
+        rules.addAll(parse("1 > 2", "\"a\" LIKE \"b\"", "TRUE", "$Bool$", "MISSING $Bool$"));
+        for (final Rule rule : rules) {
+            final Condition condition = rule.getCondition();
+            final Expression expression = ((GenericCondition)condition).getExpression();
+            for (final DataRow row : m_rows) {
+                final DataCell cell = expression.evaluate(row, m_provider).getValue();
+                final Boolean expected = cell.isMissing() ? null : ((BooleanValue)cell).getBooleanValue();
+                final String message = condition + " " + row;
+                assertEquals(message, expected, expression.evaluateBoolean(row, m_provider));
+                assertEquals(message, condition.matches(row, m_provider).getOutcome() == MatchState.matchedAndStop,
+                    condition.isMatch(row, m_provider));
+            }
+        }
+    }
+
+    /**
+     * Tests that the simplified rules have the same outcomes as the parsed ones.
+     *
+     * @throws ParseException Should not happen.
+     */
+    @Test
+    public void testOptimize() throws ParseException {
+        final List<Rule> parsed = parse(CONDITIONS);
+        assertSame(parsed, RuleOptimizer.optimize(parsed));
+        final List<Rule> rules = parse("$Int$ > 3 AND 1 > 2", "($Int$ > 3 AND $Dbl$ > 0) AND ($Long$ = 7 AND 2 > 1)",
+            "$Str$ = \"y\" OR 1 > 2", "NOT (1 > 2) AND $Bool$", "$Int$ < 0 XOR 1 > 2", "MISSING $Dbl$ OR 2 > 1",
+            "$Int$ = 0");
+        final List<Rule> optimized = RuleOptimizer.optimize(rules);
+        assertEquals(5, optimized.size());
+        assertEquals(3, ((GenericCondition)optimized.get(0).getCondition()).getExpression().getChildren().size());
+        assertTrue(optimized.get(4).getCondition().isCatchAll());
+        final RuleMatcher interpreted = RuleMatcher.interpreted(rules);
+        for (final boolean compile : new boolean[]{false, true}) {
+            final RuleMatcher matcher = RuleMatcher.create(rules, compile);
+            for (final DataRow row : m_rows) {
+                final Rule expected = interpreted.firstMatch(row, m_provider);
+                final Rule actual = matcher.firstMatch(row, m_provider);
+                assertSame(row.toString(), expected.getOutcome(), actual.getOutcome());
+            }
+        }
+    }
+
+    /**
+     * Tests that the operands are ordered by their cost and by how often they decide the result for a sample, without
+     * changing the outcomes.
+     *
+     * @throws ParseException Should not happen.
+     */
+    @Test
+    public void testReorder() throws ParseException {
+        final List<Rule> rules = parse("$Str$ MATCHES \"b.+\" AND $Int$ IN (0, 1, 2) AND $Int$ > 3",
+            "$Str$ LIKE \"a*\" OR MISSING $Dbl$", "NOT ($Bool$ AND $Str$ LIKE $Str$ AND $Long$ = 7)", "$Int$ < $Dbl$");
+        final List<Rule> reordered = RuleOptimizer.reorder(rules, null, 0, null);
+        final List<Expression> first =
+            ((GenericCondition)reordered.get(0).getCondition()).getExpression().getChildren();
+        assertEquals(ASTType.Greater, first.get(0).getTreeType());
+        assertEquals(ASTType.In, first.get(1).getTreeType());
+        assertEquals(ASTType.Matches, first.get(2).getTreeType());
+        // a non-constant pattern can fail, so the user order is kept
+        assertSame(rules.get(2), reordered.get(2));
+        assertSame(rules.get(3), reordered.get(3));
+        assertSame(reordered, RuleOptimizer.reorder(reordered, null, 0, null));
+        final DataRow[] sample = m_rows.toArray(new DataRow[m_rows.size()]);
+        final RuleMatcher interpreted = RuleMatcher.interpreted(rules);
+        for (final RuleMatcher matcher : new RuleMatcher[]{RuleMatcher.interpreted(reordered),
+            RuleMatcher.create(rules, true).adapt(sample, sample.length / 3, m_provider)}) {
+            for (final DataRow row : m_rows) {
+                final Rule expected = interpreted.firstMatch(row, m_provider);
+                final Rule actual = matcher.firstMatch(row, m_provider);
+                assertEquals(row.toString(), expected == null, actual == null);
+                if (expected != null) {
+                    assertSame(row.toString(), expected.getOutcome(), actual.getOutcome());
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that runs of equality rules are looked up with the same first match.
+     *
+     * @throws ParseException Should not happen.
+     */
+    @Test
+    public void testIndex() throws ParseException {
+        final List<String> conditions = new ArrayList<>();
+        conditions.add("$Dbl$ > 1000000");
+        conditions.add("$Str$ = \"y\" AND $Int$ > 0");
+        for (final String value : new String[]{"x", "bcd", "y", "abc", "bcd", "z", "y", "a", "abc"}) {
+            conditions.add("$Str$ = \"" + value + "\"");
+        }
+        conditions.add("$Str$ IN (\"q\", \"abc\", \"y\")");
+        conditions.add("$Bool$");
+        for (int i = -5; i < 5; i++) {
+            conditions.add(i % 3 == 0 ? i + " = $Int$" : "$Int$ = " + i);
+        }
+        conditions.add("$Int$ IN (7, 0)");
+        for (final long value : new long[]{9, 7, 0, 7, -1, 3, 7, 8}) {
+            conditions.add("$Long$ = " + value);
+        }
+        conditions.add("$Int$ < $Dbl$");
+        final List<Rule> rules = parse(conditions.toArray(new String[conditions.size()]));
+        final RuleMatcher interpreted = RuleMatcher.interpreted(rules);
+        for (final boolean compile : new boolean[]{false, true}) {
+            final RuleMatcher indexed = RuleMatcher.create(rules, compile);
+            assertTrue(indexed.isIndexed());
+            for (final DataRow row : m_rows) {
+                assertEquals(row.toString(), interpreted.firstMatch(row, m_provider),
+                    indexed.firstMatch(row, m_provider));
+            }
+        }
+    }
+
+    /**
+     * Tests that the batch evaluation finds the same first matches.
+     *
+     * @throws ParseException Should not happen.
+     */
+    @Test
+    public void testBatch() throws ParseException {
+        final List<Rule> rules = parse("$Int$ > 3", "$Int$ <= -2 AND $Dbl$ >= 1.5", "$Long$ = 7",
+            "$Dbl$ > 1000000 OR $Dbl$ < -1000000", "$Str$ LIKE \"a*\"", "$Str$ MATCHES \"b.+\"",
+            "$Str$ IN (\"x\", \"y\", 1)", "MISSING $Dbl$", "NOT $Bool$", "$Bool$ XOR $Int$ = 0",
+            "$Str$ = \"y\" OR 1 > 2", "$Dbl$ = $Dbl$", "$Long$ > $Int$ AND NOT MISSING $Str$", "$Bool$");
+        final RuleMatcher interpreted = RuleMatcher.interpreted(rules);
+        final RuleBatch batch = RuleBatch.create(interpreted);
+        assertNotNull(batch);
+        final int size = 100;
+        final DataRow[] rows = new DataRow[size];
+        final Rule[] matches = new Rule[size];
+        for (int start = 0; start < m_rows.size(); start += size) {
+            final int n = Math.min(size, m_rows.size() - start);
+            m_rows.subList(start, start + n).toArray(rows);
+            batch.firstMatches(rows, n, m_provider, matches);
+            for (int i = 0; i < n; i++) {
+                assertEquals(rows[i].toString(), interpreted.firstMatch(rows[i], m_provider), matches[i]);
+            }
+        }
+        assertNull(RuleBatch.create(RuleMatcher.interpreted(parse("$Int$ > 3", "$$ROWINDEX$$ > 4"))));
+    }
+
+    /**
+     * Tests that the iterator returns the rows in their original order with the same first matches, also when the rows
+     * are matched concurrently, the rules are compiled and optimized and the matcher is adapted to the first chunk.
+     *
+     * @throws Exception Should not happen.
+     */
+    @Test
+    public void testIterator() throws Exception {
+        final List<DataRow> rows = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            rows.addAll(m_rows);
+        }
+        final boolean parallel = Runtime.getRuntime().availableProcessors() > 1;
+        for (final boolean compile : new boolean[]{false, true}) {
+            for (final List<Rule> rules : List.of(parse("$Int$ > 3", "$Str$ IN (\"x\", \"y\", 1)", "NOT $Bool$"),
+                parse("$Str$ LIKE $Str$ AND $Int$ > 0", "$Dbl$ = $Dbl$"),
+                parse("$Str$ LIKE \"a*\" AND $Int$ > 0", "1 > 2 OR $Long$ = 7"),
+                parse("$Int$ > 3", "$$ROWINDEX$$ > 4"))) {
+                final RuleMatcher matcher = RuleMatcher.create(rules, compile);
+                final RuleMatchIterator matches = iterate(rows, matcher);
+                assertEquals(rules.toString(), StreamingUtil.areDistributableRules(rules) && parallel,
+                    matches.isParallel());
+                assertSameIteration(rows, RuleMatcher.interpreted(rules), matches);
+            }
+        }
+        // the optimized rules are wrapped, but can still be matched concurrently
+        final List<Rule> reordered = parse("$Str$ LIKE \"a*\" AND $Int$ > 0");
+        final RuleMatcher matcher = RuleMatcher.create(reordered, true);
+        assertNotSame(reordered.get(0), matcher.getRules().get(0));
+        assertTrue(matcher.isDistributable());
+        assertEquals(parallel, iterate(rows, matcher).isParallel());
+    }
+
+    private RuleMatchIterator iterate(final List<DataRow> rows, final RuleMatcher matcher) {
+        final Iterator<DataRow> input = rows.iterator();
+        return new RuleMatchIterator(new RowInput() {
+            @Override
+            public DataTableSpec getDataTableSpec() {
+                return m_spec;
+            }
+
+            @Override
+            public DataRow poll() {
+                return input.hasNext() ? input.next() : null;
+            }
+
+            @Override
+            public void close() {
+            }
+        }, matcher, m_provider);
+    }
+
+    private void assertSameIteration(final List<DataRow> rows, final RuleMatcher interpreted,
+        final RuleMatchIterator matches) throws InterruptedException {
+        for (final DataRow expected : rows) {
+            assertSame(expected, matches.next());
+            final Rule expectedMatch = interpreted.firstMatch(expected, m_provider);
+            final Rule actualMatch = matches.firstMatch();
+            assertEquals(expected.toString(), expectedMatch == null, actualMatch == null);
+            if (expectedMatch != null) {
+                // optimized rules are different objects with the same outcomes
+                assertSame(expected.toString(), expectedMatch.getOutcome(), actualMatch.getOutcome());
+            }
+        }
+        assertNull(matches.next());
+    }
+
+    /**
+     * Tests that no rules never match and are not compiled.
+     */
+    @Test
+    public void testNoRules() {
+        final RuleMatcher matcher = RuleMatcher.create(Collections.<Rule> emptyList(), true);
+        assertFalse(matcher.isCompiled());
+        assertNull(matcher.firstMatch(m_rows.get(0), m_provider));
+    }
+}
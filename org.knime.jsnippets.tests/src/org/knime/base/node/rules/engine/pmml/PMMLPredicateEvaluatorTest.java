@@ -0,0 +1,161 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   16.10.2026 (KNIME AG): created
+ */
+package org.knime.base.node.rules.engine.pmml;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.node.mine.decisiontree2.PMMLArrayType;
+import org.knime.base.node.mine.decisiontree2.PMMLBooleanOperator;
+import org.knime.base.node.mine.decisiontree2.PMMLCompoundPredicate;
+import org.knime.base.node.mine.decisiontree2.PMMLFalsePredicate;
+import org.knime.base.node.mine.decisiontree2.PMMLOperator;
+import org.knime.base.node.mine.decisiontree2.PMMLPredicate;
+import org.knime.base.node.mine.decisiontree2.PMMLSetOperator;
+import org.knime.base.node.mine.decisiontree2.PMMLSimplePredicate;
+import org.knime.base.node.mine.decisiontree2.PMMLSimpleSetPredicate;
+import org.knime.base.node.mine.decisiontree2.PMMLTruePredicate;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Tests {@link PMMLPredicateEvaluator}, the bound predicates have to return the same values as the original ones.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class PMMLPredicateEvaluatorTest {
+    private DataTableSpec m_spec;
+
+    private List<DataRow> m_rows;
+
+    /**
+     * Creates the table.
+     */
+    @Before
+    public void setUp() {
+        m_spec = new DataTableSpec(new DataColumnSpecCreator("Int", IntCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("Dbl", DoubleCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("Str", StringCell.TYPE).createSpec());
+        final DataCell missing = DataType.getMissingCell();
+        final DataCell[] ints = {new IntCell(-5), new IntCell(0), new IntCell(3), missing};
+        final DataCell[] doubles = {new DoubleCell(2.5), new DoubleCell(Double.NaN), new DoubleCell(-0.0), missing};
+        final DataCell[] strings = {new StringCell("a"), new StringCell("b"), new StringCell("c"), missing};
+        m_rows = new ArrayList<>();
+        int i = 0;
+        for (final DataCell in : ints) {
+            for (final DataCell dbl : doubles) {
+                for (final DataCell str : strings) {
+                    m_rows.add(new DefaultRow(RowKey.createRowKey(i++), in, dbl, str));
+                }
+            }
+        }
+    }
+
+    private static PMMLPredicate set(final String field, final PMMLSetOperator operator, final String... values) {
+        final PMMLSimpleSetPredicate set = new PMMLSimpleSetPredicate(field, operator);
+        set.setArrayType(PMMLArrayType.STRING);
+        set.setValues(Arrays.asList(values));
+        return set;
+    }
+
+    private static PMMLPredicate compound(final PMMLBooleanOperator operator, final PMMLPredicate... predicates) {
+        final PMMLCompoundPredicate compound = new PMMLCompoundPredicate(operator);
+        compound.setPredicates(new LinkedList<>(Arrays.asList(predicates)));
+        return compound;
+    }
+
+    /**
+     * Tests the supported predicates.
+     */
+    @Test
+    public void testSameResults() {
+        final List<PMMLPredicate> predicates = new ArrayList<>();
+        for (final PMMLOperator operator : new PMMLOperator[]{PMMLOperator.EQUAL, PMMLOperator.NOT_EQUAL,
+            PMMLOperator.LESS_THAN, PMMLOperator.LESS_OR_EQUAL, PMMLOperator.GREATER_THAN,
+            PMMLOperator.GREATER_OR_EQUAL}) {
+            predicates.add(new PMMLSimplePredicate("Int", operator, "0"));
+            predicates.add(new PMMLSimplePredicate("Dbl", operator, "2.5"));
+            predicates.add(new PMMLSimplePredicate("Str", operator, "b"));
+        }
+        for (final String field : new String[]{"Int", "Dbl", "Str"}) {
+            predicates.add(new PMMLSimplePredicate(field, PMMLOperator.IS_MISSING, null));
+            predicates.add(new PMMLSimplePredicate(field, PMMLOperator.IS_NOT_MISSING, null));
+        }
+        predicates.add(set("Str", PMMLSetOperator.IS_IN, "a", "c"));
+        predicates.add(set("Str", PMMLSetOperator.IS_NOT_IN, "a", "c"));
+        predicates.add(new PMMLTruePredicate());
+        predicates.add(new PMMLFalsePredicate());
+        final PMMLPredicate intPositive = new PMMLSimplePredicate("Int", PMMLOperator.GREATER_THAN, "0");
+        final PMMLPredicate strIsB = new PMMLSimplePredicate("Str", PMMLOperator.EQUAL, "b");
+        final PMMLPredicate dblSmall = new PMMLSimplePredicate("Dbl", PMMLOperator.LESS_THAN, "1");
+        for (final PMMLBooleanOperator operator : new PMMLBooleanOperator[]{PMMLBooleanOperator.AND,
+            PMMLBooleanOperator.OR, PMMLBooleanOperator.XOR, PMMLBooleanOperator.SURROGATE}) {
+            predicates.add(compound(operator, intPositive, strIsB, dblSmall));
+        }
+        for (final PMMLPredicate predicate : predicates) {
+            final PMMLPredicateEvaluator evaluator = PMMLPredicateEvaluator.bind(predicate, m_spec);
+            for (final DataRow row : m_rows) {
+                assertEquals(predicate + " " + row, predicate.evaluate(row, m_spec), evaluator.evaluate(row));
+            }
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ */
+package org.knime.base.node.rules.engine.pmml;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dmg.pmml.PMMLDocument;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.AbstractCellFactory;
+import org.knime.core.data.container.ColumnRearranger;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.port.pmml.PMMLPortObject;
+import org.knime.core.node.port.pmml.PMMLPortObjectSpecCreator;
+import org.knime.core.node.streamable.BufferedDataTableRowOutput;
+import org.knime.core.node.streamable.DataTableRowInput;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortObjectInput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.StreamableOperator;
+import org.knime.core.node.workflow.SingleNodeContainer;
+
+/**
+ * Tests {@link PMMLRuleSetPredictorNodeModel}, the statistics written to the RuleSet must not lose records when the
+ * rows are processed concurrently, and the streamed output has to keep the order of the input.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class PMMLRuleSetPredictorNodeModelTest {
+    private static final String PMML = "<PMML version=\"4.2\" xmlns=\""
+        + PMMLDocument.type.getDocumentElementName().getNamespaceURI() + "\">\n"
+        + "  <Header/>\n"
+        + "  <DataDictionary numberOfFields=\"2\">\n"
+        + "    <DataField name=\"x\" optype=\"continuous\" dataType=\"double\"/>\n"
+        + "    <DataField name=\"class\" optype=\"categorical\" dataType=\"string\">\n"
+        + "      <Value value=\"a\"/>\n"
+        + "      <Value value=\"b\"/>\n"
+        + "    </DataField>\n"
+        + "  </DataDictionary>\n"
+        + "  <RuleSetModel functionName=\"classification\" algorithmName=\"RuleSet\">\n"
+        + "    <MiningSchema>\n"
+        + "      <MiningField name=\"x\"/>\n"
+        + "      <MiningField name=\"class\" usageType=\"predicted\"/>\n"
+        + "    </MiningSchema>\n"
+        + "    <RuleSet defaultScore=\"b\">\n"
+        + "      <RuleSelectionMethod criterion=\"firstHit\"/>\n"
+        + "      <SimpleRule score=\"a\">\n"
+        + "        <SimplePredicate field=\"x\" operator=\"greaterThan\" value=\"1\"/>\n"
+        + "      </SimpleRule>\n"
+        + "      <SimpleRule score=\"b\">\n"
+        + "        <SimplePredicate field=\"x\" operator=\"lessThan\" value=\"-1\"/>\n"
+        + "      </SimpleRule>\n"
+        + "      <SimpleRule score=\"b\">\n"
+        + "        <True/>\n"
+        + "      </SimpleRule>\n"
+        + "    </RuleSet>\n"
+        + "  </RuleSetModel>\n"
+        + "</PMML>\n";
+
+    /** Number of rows, enough to be split into several concurrently processed chunks. */
+    private static final int ROW_COUNT = 100000;
+
+    /**
+     * Scores a table with a validation column and checks the record and correct counts written to the rules.
+     *
+     * @throws Exception Problem creating or executing the model.
+     */
+    @Test
+    public void testConcurrentStatistics() throws Exception {
+        final DataTableSpec spec = createSpec();
+        final PMMLPortObject pmml = createPMML(spec);
+        final ExecutionContext exec = createExecutionContext();
+        final BufferedDataTable table = createTable(exec, spec);
+        exec.createColumnRearrangeTable(table,
+            PMMLRuleSetPredictorNodeModel.createRearranger(pmml, spec, false, "Prediction", false, "Confidence", 1),
+            exec);
+
+        final PMMLRuleTranslator translator = new PMMLRuleTranslator();
+        pmml.initializeModelTranslator(translator);
+        final List<PMMLRuleTranslator.Rule> rules = translator.getRules();
+        assertEquals(ROW_COUNT / 5, rules.get(0).getRecordCount(), 0d);
+        assertEquals(ROW_COUNT / 10, rules.get(0).getNbCorrect(), 0d);
+        assertEquals(ROW_COUNT / 5, rules.get(1).getRecordCount(), 0d);
+        assertEquals(ROW_COUNT / 10, rules.get(1).getNbCorrect(), 0d);
+        assertEquals(3 * ROW_COUNT / 5, rules.get(2).getRecordCount(), 0d);
+        assertEquals(3 * ROW_COUNT / 10, rules.get(2).getNbCorrect(), 0d);
+    }
+
+    /**
+     * Scores a table with the streamable operator, which processes chunks of the rows concurrently, and checks the
+     * order and the predictions of the output rows.
+     *
+     * @throws Exception Problem creating or executing the model.
+     */
+    @Test
+    public void testStreaming() throws Exception {
+        final DataTableSpec spec = createSpec();
+        final PMMLPortObject pmml = createPMML(spec);
+        final ExecutionContext exec = createExecutionContext();
+        final BufferedDataTable table = createTable(exec, spec);
+        final NodeModel model = new PMMLRuleSetPredictorNodeFactory().createNodeModel();
+        final StreamableOperator operator =
+            model.createStreamableOperator(new PartitionInfo(0, 1), new PortObjectSpec[]{pmml.getSpec(), spec});
+        final BufferedDataTableRowOutput output = new BufferedDataTableRowOutput(
+            exec.createDataContainer(PMMLRuleSetPredictorNodeModel.createRearranger(pmml, spec, false,
+                PMMLRuleSetPredictorNodeModel.DEFAULT_OUTPUT_COLUMN, false, "Confidence", -1).createSpec()));
+        operator.runFinal(new PortInput[]{new PortObjectInput(pmml), new DataTableRowInput(table)},
+            new PortOutput[]{output}, exec);
+
+        final BufferedDataTable result = output.getDataTable();
+        assertEquals(ROW_COUNT, result.size());
+        long index = 0;
+        for (final DataRow row : result) {
+            assertEquals(RowKey.createRowKey(index), row.getKey());
+            final double x = ((DoubleValue)row.getCell(0)).getDoubleValue();
+            assertEquals(row.getKey().getString(), new StringCell(x > 1 ? "a" : "b"), row.getCell(2));
+            index++;
+        }
+    }
+
+    /**
+     * Checks that the scorer hands the concurrently computed cells to the right rows and forwards
+     * {@link AbstractCellFactory#afterProcessing()} to the wrapped factory.
+     *
+     * @throws Exception Problem executing the scorer.
+     */
+    @Test
+    public void testParallelScorer() throws Exception {
+        final DataTableSpec spec = createSpec();
+        final ExecutionContext exec = createExecutionContext();
+        final BufferedDataTable table = createTable(exec, spec);
+        final AtomicInteger afterProcessing = new AtomicInteger();
+        final AbstractCellFactory factory =
+            new AbstractCellFactory(true, new DataColumnSpecCreator("key", StringCell.TYPE).createSpec()) {
+                /**
+                 * {@inheritDoc}
+                 */
+                @Override
+                public DataCell[] getCells(final DataRow row) {
+                    return new DataCell[]{new StringCell(row.getKey().getString())};
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                @Override
+                public void afterProcessing() {
+                    afterProcessing.incrementAndGet();
+                }
+            };
+        final PMMLParallelScorer scorer = new PMMLParallelScorer();
+        final ColumnRearranger rearranger = new ColumnRearranger(spec);
+        rearranger.append(scorer.wrap(factory));
+        final BufferedDataTableRowOutput output =
+            new BufferedDataTableRowOutput(exec.createDataContainer(rearranger.createSpec()));
+        scorer.run(rearranger.createStreamableFunction(0, 0), new DataTableRowInput(table), output, exec);
+
+        final BufferedDataTable result = output.getDataTable();
+        assertEquals(ROW_COUNT, result.size());
+        long index = 0;
+        for (final DataRow row : result) {
+            assertEquals(RowKey.createRowKey(index), row.getKey());
+            assertEquals(new StringCell(row.getKey().getString()), row.getCell(2));
+            index++;
+        }
+        assertEquals(1, afterProcessing.get());
+    }
+
+    private static DataTableSpec createSpec() {
+        return new DataTableSpec(new DataColumnSpecCreator("x", DoubleCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("class", StringCell.TYPE).createSpec());
+    }
+
+    private static PMMLPortObject createPMML(final DataTableSpec spec) throws Exception {
+        final PMMLPortObjectSpecCreator specCreator = new PMMLPortObjectSpecCreator(spec);
+        specCreator.setLearningColsNames(Arrays.asList("x"));
+        specCreator.setTargetColName("class");
+        return new PMMLPortObject(specCreator.createSpec(), PMMLDocument.Factory.parse(PMML));
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static ExecutionContext createExecutionContext() {
+        return new ExecutionContext(new DefaultNodeProgressMonitor(),
+            new Node((NodeFactory<NodeModel>)(NodeFactory)new PMMLRuleSetPredictorNodeFactory()),
+            SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, NotInWorkflowDataRepository.newInstance());
+    }
+
+    private static BufferedDataTable createTable(final ExecutionContext exec, final DataTableSpec spec) {
+        final BufferedDataContainer container = exec.createDataContainer(spec);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            // x cycles through -2, -1, 0, 1, 2, the expected class alternates between a and b
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new DoubleCell(i % 5 - 2),
+                new StringCell(i % 2 == 0 ? "a" : "b")));
+        }
+        container.close();
+        return container.getTable();
+    }
+}
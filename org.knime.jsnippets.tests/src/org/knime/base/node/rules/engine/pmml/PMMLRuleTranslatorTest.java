@@ -0,0 +1,268 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ */
+package org.knime.base.node.rules.engine.pmml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.dmg.pmml.PMMLDocument;
+import org.dmg.pmml.SimpleRuleDocument;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Tests {@link PMMLRuleTranslator}, reading a RuleSet with a StAX reader has to give the same result as reading the
+ * parsed document.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class PMMLRuleTranslatorTest {
+    private static final String NAMESPACE = PMMLDocument.type.getDocumentElementName().getNamespaceURI();
+
+    private static final String PMML = "<PMML version=\"4.2\" xmlns=\"" + NAMESPACE + "\">\n"
+        + "  <Header/>\n"
+        + "  <DataDictionary numberOfFields=\"2\">\n"
+        + "    <DataField name=\"x\" optype=\"continuous\" dataType=\"double\"/>\n"
+        + "    <DataField name=\"class\" optype=\"categorical\" dataType=\"string\">\n"
+        + "      <Value value=\"a\"/>\n"
+        + "      <Value value=\"b\"/>\n"
+        + "    </DataField>\n"
+        + "  </DataDictionary>\n"
+        + "  <RuleSetModel functionName=\"classification\" algorithmName=\"RuleSet\">\n"
+        + "    <MiningSchema>\n"
+        + "      <MiningField name=\"x\"/>\n"
+        + "      <MiningField name=\"class\" usageType=\"predicted\"/>\n"
+        + "    </MiningSchema>\n"
+        + "    <RuleSet defaultScore=\"b\" defaultConfidence=\"0.5\" recordCount=\"10\">\n"
+        + "      <RuleSelectionMethod criterion=\"firstHit\"/>\n"
+        + "      <SimpleRule score=\"a\" confidence=\"0.9\" recordCount=\"3\" nbCorrect=\"2\">\n"
+        + "        <SimplePredicate field=\"x\" operator=\"greaterThan\" value=\"1\"/>\n"
+        + "      </SimpleRule>\n"
+        + "      <CompoundRule>\n"
+        + "        <SimplePredicate field=\"x\" operator=\"lessThan\" value=\"-1\"/>\n"
+        + "        <SimpleRule score=\"b\" weight=\"2\">\n"
+        + "          <SimplePredicate field=\"x\" operator=\"greaterThan\" value=\"-5\"/>\n"
+        + "        </SimpleRule>\n"
+        + "      </CompoundRule>\n"
+        + "      <SimpleRule score=\"b\">\n"
+        + "        <True/>\n"
+        + "      </SimpleRule>\n"
+        + "    </RuleSet>\n"
+        + "  </RuleSetModel>\n"
+        + "</PMML>\n";
+
+    /** Refers to the column {@code x} by a global and a local derived field. */
+    private static final String PMML_DERIVED = PMML
+        .replace("  <RuleSetModel", "  <TransformationDictionary>\n"
+            + "    <DerivedField name=\"y\" optype=\"continuous\" dataType=\"double\">\n"
+            + "      <FieldRef field=\"x\"/>\n"
+            + "    </DerivedField>\n"
+            + "  </TransformationDictionary>\n"
+            + "  <RuleSetModel")
+        .replace("    <RuleSet ", "    <LocalTransformations>\n"
+            + "      <DerivedField name=\"z\" optype=\"continuous\" dataType=\"double\">\n"
+            + "        <FieldRef field=\"x\"/>\n"
+            + "      </DerivedField>\n"
+            + "    </LocalTransformations>\n"
+            + "    <RuleSet ")
+        .replace("field=\"x\" operator=\"greaterThan\" value=\"1\"", "field=\"y\" operator=\"greaterThan\" value=\"1\"")
+        .replace("field=\"x\" operator=\"lessThan\"", "field=\"z\" operator=\"lessThan\"");
+
+    /**
+     * Tests the document with whitespace between the elements.
+     *
+     * @throws Exception Problem parsing.
+     */
+    @Test
+    public void testStreaming() throws Exception {
+        assertSameTranslation(PMML, PMML);
+    }
+
+    /**
+     * Tests the document without whitespace between the elements.
+     *
+     * @throws Exception Problem parsing.
+     */
+    @Test
+    public void testStreamingWithoutWhitespace() throws Exception {
+        final String pmml = PMML.replaceAll(">\\s+<", "><");
+        assertSameTranslation(pmml, pmml);
+    }
+
+    /**
+     * Tests that a document in an older PMML namespace is read as the current version.
+     *
+     * @throws Exception Problem parsing.
+     */
+    @Test
+    public void testOlderNamespace() throws Exception {
+        assertSameTranslation(PMML,
+            PMML.replace(NAMESPACE, "http://www.dmg.org/PMML-4_0").replace("version=\"4.2\"", "version=\"4.0\""));
+    }
+
+    /**
+     * Tests that the fields derived in the TransformationDictionary and the LocalTransformations are resolved.
+     *
+     * @throws Exception Problem parsing.
+     */
+    @Test
+    public void testDerivedFields() throws Exception {
+        assertSameTranslation(PMML_DERIVED, PMML_DERIVED);
+    }
+
+    /**
+     * Tests the position XMLBeans leaves the reader at after materializing an element, which {@code afterFragment}
+     * depends on: at the end of the element or after it, but never within the following element.
+     *
+     * @throws Exception Problem parsing.
+     */
+    @Test
+    public void testAfterFragment() throws Exception {
+        for (final String pmml : new String[]{PMML, PMML.replaceAll(">\\s+<", "><")}) {
+            final XMLStreamReader reader = createReader(pmml);
+            try {
+                nextElement(reader, "SimpleRule");
+                assertEquals("a", SimpleRuleDocument.Factory.parse(reader).getSimpleRule().getScore());
+                final int event = reader.getEventType();
+                assertTrue("Event " + event, event == XMLStreamConstants.END_ELEMENT
+                    ? "SimpleRule".equals(reader.getLocalName())
+                    : event == XMLStreamConstants.CHARACTERS ? reader.isWhiteSpace()
+                        : event == XMLStreamConstants.START_ELEMENT && "CompoundRule".equals(reader.getLocalName()));
+                PMMLRuleTranslator.afterFragment(reader, "SimpleRule");
+                nextElement(reader, null);
+                assertEquals("CompoundRule", reader.getLocalName());
+            } finally {
+                reader.close();
+            }
+        }
+        // both positions XMLBeans may leave the reader at
+        final XMLStreamReader reader = createReader("<a><b/><c/></a>");
+        try {
+            while (reader.getEventType() != XMLStreamConstants.END_ELEMENT) {
+                reader.next();
+            }
+            assertEquals(XMLStreamConstants.START_ELEMENT, PMMLRuleTranslator.afterFragment(reader, "b"));
+            assertEquals("c", reader.getLocalName());
+            assertEquals(XMLStreamConstants.START_ELEMENT, PMMLRuleTranslator.afterFragment(reader, "b"));
+            assertEquals("c", reader.getLocalName());
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static XMLStreamReader createReader(final String xml) throws XMLStreamException {
+        return XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(xml));
+    }
+
+    /** Moves the {@code reader} to the next start of an element named {@code name}, any element for {@code null}. */
+    private static void nextElement(final XMLStreamReader reader, final String name) throws XMLStreamException {
+        while (reader.getEventType() != XMLStreamConstants.START_ELEMENT
+            || (name != null && !name.equals(reader.getLocalName()))) {
+            reader.next();
+        }
+    }
+
+    private static void assertSameTranslation(final String expectedPmml, final String actualPmml) throws Exception {
+        final PMMLRuleTranslator expected = new PMMLRuleTranslator();
+        expected.initializeFrom(PMMLDocument.Factory.parse(expectedPmml));
+        final PMMLRuleTranslator actual = new PMMLRuleTranslator();
+        final XMLStreamReader reader = createReader(actualPmml);
+        try {
+            actual.initializeFrom(reader);
+        } finally {
+            reader.close();
+        }
+        assertEquals(expected.isScorable(), actual.isScorable());
+        assertEquals(expected.getDefaultScore(), actual.getDefaultScore());
+        assertEquals(expected.getDefaultConfidence(), actual.getDefaultConfidence(), 0d);
+        assertEquals(expected.getDataDictionary(), actual.getDataDictionary());
+        assertEquals(expected.getSelectionMethodList().size(), actual.getSelectionMethodList().size());
+        assertEquals(expected.getSelectionMethodList().get(0).getCriterion(),
+            actual.getSelectionMethodList().get(0).getCriterion());
+        final List<PMMLRuleTranslator.Rule> expectedRules = expected.getRules();
+        final List<PMMLRuleTranslator.Rule> actualRules = actual.getRules();
+        assertEquals(3, actualRules.size());
+        assertEquals(expectedRules.size(), actualRules.size());
+        // the derived names are columns too, so resolving them differently changes the results
+        final DataTableSpec spec = new DataTableSpec(new DataColumnSpecCreator("x", DoubleCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("class", StringCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("y", DoubleCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("z", DoubleCell.TYPE).createSpec());
+        final DataCell[] xs = {new DoubleCell(-6), new DoubleCell(-2), new DoubleCell(0), new DoubleCell(2),
+            DataType.getMissingCell()};
+        for (int i = 0; i < expectedRules.size(); i++) {
+            final PMMLRuleTranslator.Rule e = expectedRules.get(i);
+            final PMMLRuleTranslator.Rule a = actualRules.get(i);
+            assertEquals(e.getOutcome(), a.getOutcome());
+            assertEquals(e.getWeight(), a.getWeight());
+            assertEquals(e.getConfidence(), a.getConfidence());
+            assertEquals(e.getRecordCount(), a.getRecordCount(), 0d);
+            assertEquals(e.getNbCorrect(), a.getNbCorrect(), 0d);
+            for (int j = 0; j < xs.length; j++) {
+                final DataRow row = new DefaultRow(RowKey.createRowKey((long)j), xs[j], new StringCell("a"),
+                    new DoubleCell(j), new DoubleCell(-j));
+                assertEquals(a.getCondition().toString() + " " + row, e.getCondition().evaluate(row, spec),
+                    a.getCondition().evaluate(row, spec));
+            }
+        }
+    }
+}
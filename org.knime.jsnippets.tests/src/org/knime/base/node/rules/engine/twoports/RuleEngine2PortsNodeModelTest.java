@@ -0,0 +1,127 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ */
+package org.knime.base.node.rules.engine.twoports;
+
+import org.junit.Test;
+import org.knime.base.node.rules.engine.RuleEngineNodeModelTest;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.workflow.SingleNodeContainer;
+
+/**
+ * Tests {@link RuleEngine2PortsNodeModel}, processing the rows concurrently has to give the same table as processing
+ * them one after the other.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class RuleEngine2PortsNodeModelTest {
+    /** The rules, none of them refers to the row index, so the rows are processed concurrently. */
+    private static final String[] RULES = {"$Int$ > 3 => \"big\"", "$Str$ LIKE \"a*\" AND $Int$ > 0 => \"a\"",
+        "1 > 2 OR $Int$ = 0 => \"zero\"", "MISSING $Str$ => \"missing\""};
+
+    /** Never matches, but makes the rows to be processed one after the other. */
+    private static final String SEQUENTIAL_RULE = "$$ROWINDEX$$ < 0 => \"never\"";
+
+    /**
+     * Compares the concurrently and sequentially computed tables, with and without compiling the rules.
+     *
+     * @throws Exception Problem executing the node.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Test
+    public void testConcurrentSameAsSequential() throws Exception {
+        final ExecutionContext exec = new ExecutionContext(new DefaultNodeProgressMonitor(),
+            new Node((NodeFactory<NodeModel>)(NodeFactory)new RuleEngine2PortsNodeFactory()),
+            SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, NotInWorkflowDataRepository.newInstance());
+        final BufferedDataTable table = RuleEngineNodeModelTest.createTable(exec);
+        final BufferedDataTable rules = createRules(exec, false);
+        final BufferedDataTable sequentialRules = createRules(exec, true);
+        for (final boolean compile : new boolean[]{false, true}) {
+            RuleEngineNodeModelTest.assertSameTable(execute(exec, table, sequentialRules, compile),
+                execute(exec, table, rules, compile));
+        }
+    }
+
+    private static BufferedDataTable createRules(final ExecutionContext exec, final boolean sequential) {
+        final DataTableSpec spec = new DataTableSpec(new DataColumnSpecCreator("Rule", StringCell.TYPE).createSpec());
+        final BufferedDataContainer container = exec.createDataContainer(spec);
+        for (int i = 0; i < RULES.length; i++) {
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new StringCell(RULES[i])));
+        }
+        if (sequential) {
+            container.addRowToTable(
+                new DefaultRow(RowKey.createRowKey((long)RULES.length), new StringCell(SEQUENTIAL_RULE)));
+        }
+        container.close();
+        return container.getTable();
+    }
+
+    private static BufferedDataTable execute(final ExecutionContext exec, final BufferedDataTable table,
+        final BufferedDataTable rules, final boolean compile) throws Exception {
+        final RuleEngine2PortsNodeModel model = new RuleEngine2PortsNodeModel();
+        final NodeSettings settings = new NodeSettings("settings");
+        model.saveSettingsTo(settings);
+        settings.addString(RuleEngine2PortsSimpleSettings.RULES_COLUMN, "Rule");
+        settings.addString(RuleEngine2PortsSimpleSettings.OUTCOMES_COLUMN, null);
+        settings.addBoolean("compileRules", compile);
+        model.loadValidatedSettingsFrom(settings);
+        final PortObject[] result = model.execute(new PortObject[]{table, rules}, exec);
+        return (BufferedDataTable)result[0];
+    }
+}
@@ -65,6 +65,7 @@
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -104,6 +105,7 @@
 import org.knime.base.node.jsnippet.expression.AbstractJSnippet;
 import org.knime.base.node.jsnippet.expression.Cell;
 import org.knime.base.node.jsnippet.expression.ColumnException;
+import org.knime.base.node.jsnippet.expression.FieldBinder;
 import org.knime.base.node.jsnippet.expression.FlowVariableException;
 import org.knime.base.node.jsnippet.expression.Type;
 import org.knime.base.node.jsnippet.expression.TypeException;
@@ -151,6 +153,7 @@
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.workflow.FlowVariable;
 import org.knime.core.util.FileUtil;
+import org.knime.ext.sun.nodes.script.compile.CompiledClassCache;
 import org.knime.rsyntaxtextarea.guarded.GuardedDocument;
 import org.knime.rsyntaxtextarea.guarded.GuardedSection;
 import org.osgi.framework.Bundle;
@@ -282,6 +285,9 @@ Class<? extends AbstractJSnippet> getSnippetClass() {
     /** The version 1.x of the java snippet. */
     public static final String VERSION_1_X = "version 1.x";
 
+    /** Name of the generated class implementing {@link FieldBinder} for the snippet class. */
+    static final String FIELD_BINDER_CLASS = "JSnippetFieldBinder";
+
     private static File jSnippetJar;
 
     private String[] m_jarFiles = new String[0];
@@ -290,6 +296,10 @@ Class<? extends AbstractJSnippet> getSnippetClass() {
 
     private File m_snippetFile;
 
+    private JavaFileObject m_fieldBinder;
+
+    private File m_fieldBinderFile;
+
     private GuardedDocument m_document;
 
     // true when the document has changed and the m_snippet is not up to date.
@@ -424,11 +434,15 @@ public File[] getRuntimeClassPath() throws IOException {
 
     @Override
     public Iterable<? extends JavaFileObject> getCompilationUnits() throws IOException {
-        if (m_snippet == null || m_snippetFile == null || !m_snippetFile.exists()) {
+        if (m_snippet == null || m_snippetFile == null || !m_snippetFile.exists() || m_fieldBinderFile == null
+            || !m_fieldBinderFile.exists()) {
             m_snippetFile = new File(m_tempClassPathDir, "JSnippet.java");
+            m_fieldBinderFile = new File(m_tempClassPathDir, FIELD_BINDER_CLASS + ".java");
 
             // Note: this is a workaround for openWriter() not taking charset into account
             m_snippet = new EclipseFileObject("JSnippet", m_snippetFile.toURI(), Kind.SOURCE, StandardCharsets.UTF_8);
+            m_fieldBinder = new EclipseFileObject(FIELD_BINDER_CLASS, m_fieldBinderFile.toURI(), Kind.SOURCE,
+                StandardCharsets.UTF_8);
             m_dirty = true;
         }
 
@@ -438,15 +452,20 @@ public Iterable<? extends JavaFileObject> getCompilationUnits() throws IOExcepti
                 try {
                     final Document doc = getDocument();
                     out.write(doc.getText(0, doc.getLength()));
-                    m_dirty = false;
                 } catch (BadLocationException e) {
                     // this should never happen.
                     throw new IllegalStateException(e);
                 }
             }
+            // the field binder only depends on the system fields, which are part of the document
+            try (final Writer out = new BufferedWriter(
+                new OutputStreamWriter(m_fieldBinder.openOutputStream(), StandardCharsets.UTF_8))) {
+                out.write(createFieldBinderSource());
+            }
+            m_dirty = false;
         }
 
-        return Collections.singletonList(m_snippet);
+        return Arrays.asList(m_snippet, m_fieldBinder);
     }
 
     @Override
@@ -551,6 +570,7 @@ private static File createJSnippetJarFile() throws IOException {
         classes.add(Abort.class);
         classes.add(Cell.class);
         classes.add(ColumnException.class);
+        classes.add(FieldBinder.class);
         classes.add(FlowVariableException.class);
         classes.add(Type.class);
         classes.add(TypeException.class);
@@ -755,6 +775,72 @@ private void appendFields(final StringBuilder out, final JavaField f) {
         out.append(";\n");
     }
 
+    /**
+     * Create the source of the {@link FieldBinder} implementation which is compiled together with the snippet. It
+     * accesses the system fields of the snippet class directly, so that no reflection is needed per row.
+     */
+    private String createFieldBinderSource() {
+        final String snippetType = AbstractJSnippet.class.getName();
+        final StringBuilder out = new StringBuilder();
+        out.append("// generated field binder for the system fields of JSnippet\n");
+        out.append("public final class " + FIELD_BINDER_CLASS + " implements " + FieldBinder.class.getName()
+            + " {\n");
+
+        out.append("  public void setInColumns(final " + snippetType + " snippet, final Object[] values) {\n");
+        appendFieldStores(out, m_fields.getInColFields());
+        out.append("  }\n");
+
+        out.append("  public void setInVariables(final " + snippetType + " snippet, final Object[] values) {\n");
+        appendFieldStores(out, m_fields.getInVarFields());
+        out.append("  }\n");
+
+        out.append("  public void resetOutColumns(final " + snippetType + " snippet) {\n");
+        if (m_fields.getOutColFields().size() > 0) {
+            out.append("    final JSnippet s = (JSnippet)snippet;\n");
+            for (final OutCol field : m_fields.getOutColFields()) {
+                out.append("    s." + field.getJavaName() + " = null;\n");
+            }
+        }
+        out.append("  }\n");
+
+        out.append("  public void getOutColumns(final " + snippetType + " snippet, final Object[] values) {\n");
+        appendFieldLoads(out, m_fields.getOutColFields());
+        out.append("  }\n");
+
+        out.append("  public void getOutVariables(final " + snippetType + " snippet, final Object[] values) {\n");
+        appendFieldLoads(out, m_fields.getOutVarFields());
+        out.append("  }\n");
+
+        out.append("}\n");
+        return out.toString();
+    }
+
+    /** Append assignments of values[i] to the i-th field of the list. */
+    private static void appendFieldStores(final StringBuilder out, final JavaFieldList<? extends JavaField> fields) {
+        if (fields.size() == 0) {
+            return;
+        }
+        out.append("    final JSnippet s = (JSnippet)snippet;\n");
+        for (int i = 0; i < fields.size(); i++) {
+            final JavaField field = fields.get(i);
+            final Class<?> type = field.getJavaType();
+            out.append("    s." + field.getJavaName() + " = (");
+            out.append(null != type ? type.getCanonicalName() : "<invalid>");
+            out.append(")values[" + i + "];\n");
+        }
+    }
+
+    /** Append loads of the i-th field of the list into values[i]. */
+    private static void appendFieldLoads(final StringBuilder out, final JavaFieldList<? extends JavaField> fields) {
+        if (fields.size() == 0) {
+            return;
+        }
+        out.append("    final JSnippet s = (JSnippet)snippet;\n");
+        for (int i = 0; i < fields.size(); i++) {
+            out.append("    values[" + i + "] = s." + fields.get(i).getJavaName() + ";\n");
+        }
+    }
+
     /**
      * Create the imports section for the snippet's document.
      */
@@ -1045,7 +1131,14 @@ public void execute(final FlowVariableRepository flowVariableRepository, final E
     ColumnRearranger createRearranger(final DataTableSpec spec, final FlowVariableRepository flowVariableRepository,
         final int rowCount, final ExecutionContext context) throws InvalidSettingsException {
         int offset = spec.getNumColumns();
-        CellFactory factory = new JavaSnippetCellFactory(this, spec, flowVariableRepository, rowCount, context);
+        final JavaSnippetCellFactory snippetFactory =
+            new JavaSnippetCellFactory(this, spec, flowVariableRepository, rowCount, context);
+        // the snippet class is compiled by now, so we know whether it has custom fields
+        CellFactory factory = snippetFactory;
+        if (isParallelExecutionPossible()) {
+            factory = new ParallelJavaSnippetCellFactory(snippetFactory,
+                () -> new JavaSnippetCellFactory(this, spec, flowVariableRepository, rowCount, context));
+        }
         ColumnRearranger c = new ColumnRearranger(spec);
         // add factory to the column rearranger
         c.append(factory);
@@ -1069,6 +1162,30 @@ ColumnRearranger createRearranger(final DataTableSpec spec, final FlowVariableRe
         return c;
     }
 
+    /**
+     * Whether rows can be processed concurrently by separate snippet instances. This requires the option to be enabled
+     * and a snippet that keeps no state between rows: no custom fields, no use of the row index and no output flow
+     * variables. Must be called after the snippet class was created.
+     */
+    boolean isParallelExecutionPossible() {
+        if (m_settings == null || !m_settings.isParallelExecution()) {
+            return false;
+        }
+        if (m_snippetCache.hasCustomFields() || m_fields.getOutVarFields().size() > 0) {
+            return false;
+        }
+        try {
+            // the row index may also be used in methods of the custom section
+            final GuardedDocument doc = getDocument();
+            final String code = doc.getTextBetween(GUARDED_FIELDS, GUARDED_BODY_START)
+                + doc.getTextBetween(GUARDED_BODY_START, GUARDED_BODY_END);
+            return !code.contains(ROWINDEX);
+        } catch (BadLocationException e) {
+            // this should never happen
+            throw new IllegalStateException(e);
+        }
+    }
+
     @Override
     @SuppressWarnings("rawtypes")
     public JavaSnippetTemplate createTemplate(final Class metaCategory) {
@@ -1139,35 +1256,16 @@ private synchronized Class<? extends AbstractJSnippet> createSnippetClass() {
                 return m_snippetCache.getSnippetClass();
             }
         } else {
-            // recompile
+            // recompile, unless an identical snippet has already been compiled by another node
             m_snippetCache.invalidate();
-            StringWriter log = new StringWriter();
-            DiagnosticCollector<JavaFileObject> digsCollector = new DiagnosticCollector<>();
-            CompilationTask compileTask = null;
-            try {
-                compileTask = compiler.getTask(log, digsCollector);
-            } catch (IOException e) {
-                throw new IllegalStateException("Compile with errors: " + e.getMessage(), e);
-            }
-            boolean success = compileTask.call();
-            if (!success) {
-                StringBuilder msg = new StringBuilder();
-                msg.append("Compile with errors:\n");
-                for (Diagnostic<? extends JavaFileObject> d : digsCollector.getDiagnostics()) {
-                    boolean isSnippet = this.isSnippetSource(d.getSource());
-                    if (isSnippet && d.getKind().equals(javax.tools.Diagnostic.Kind.ERROR)) {
-                        long line = d.getLineNumber();
-                        if (line != Diagnostic.NOPOS) {
-                            msg.append("Error in line " + line + ": ");
-                        } else {
-                            msg.append("Error: ");
-                        }
-                        msg.append(d.getMessage(Locale.US));
-                        msg.append('\n');
-                    }
+            final String cacheKey = createCompiledClassCacheKey();
+            final Optional<Map<String, byte[]>> cachedClasses =
+                cacheKey == null ? Optional.empty() : CompiledClassCache.get(cacheKey);
+            if (!cachedClasses.isPresent() || !restoreClassFiles(cachedClasses.get())) {
+                compile(compiler);
+                if (cacheKey != null) {
+                    cacheClassFiles(cacheKey);
                 }
-
-                throw new IllegalStateException(msg.toString());
             }
         }
 
@@ -1197,6 +1295,139 @@ private synchronized Class<? extends AbstractJSnippet> createSnippetClass() {
         return m_snippetCache.update(getDocument(), m_settings, compiler, customTypeLoader);
     }
 
+    /**
+     * Compile the snippet into the temporary class path directory.
+     *
+     * @param compiler the compiler to use
+     * @throws IllegalStateException if the snippet could not be compiled
+     */
+    private void compile(final JavaSnippetCompiler compiler) {
+        deleteClassFiles();
+        StringWriter log = new StringWriter();
+        DiagnosticCollector<JavaFileObject> digsCollector = new DiagnosticCollector<>();
+        CompilationTask compileTask = null;
+        try {
+            compileTask = compiler.getTask(log, digsCollector);
+        } catch (IOException e) {
+            throw new IllegalStateException("Compile with errors: " + e.getMessage(), e);
+        }
+        boolean success = compileTask.call();
+        if (!success) {
+            StringBuilder msg = new StringBuilder();
+            msg.append("Compile with errors:\n");
+            for (Diagnostic<? extends JavaFileObject> d : digsCollector.getDiagnostics()) {
+                boolean isSnippet = this.isSnippetSource(d.getSource());
+                if (isSnippet && d.getKind().equals(javax.tools.Diagnostic.Kind.ERROR)) {
+                    long line = d.getLineNumber();
+                    if (line != Diagnostic.NOPOS) {
+                        msg.append("Error in line " + line + ": ");
+                    } else {
+                        msg.append("Error: ");
+                    }
+                    msg.append(d.getMessage(Locale.US));
+                    msg.append('\n');
+                }
+            }
+
+            throw new IllegalStateException(msg.toString());
+        }
+    }
+
+    /**
+     * Create the key of this snippet in the {@link CompiledClassCache}. The key covers the snippet source, the
+     * generated field binder, the compiler, the class path and the converters and bundles used by the fields. As
+     * compiled classes are persisted across sessions, the jar file with the snippet API, which is recreated in every
+     * session, is represented by the bundles its classes are taken from.
+     *
+     * @return the key or <code>null</code> if it could not be determined
+     */
+    private String createCompiledClassCacheKey() {
+        try {
+            final List<String> parts = new ArrayList<>();
+            final Document doc = getDocument();
+            parts.add(doc.getText(0, doc.getLength()));
+            parts.add(createFieldBinderSource());
+            parts.add(System.getProperty("java.specification.version"));
+            parts.add(CompiledClassCache.describeCompiler());
+            parts.add(CompiledClassCache.describeBundle(JavaSnippet.class));
+            parts.add(CompiledClassCache.describeBundle(KNIMEConstants.class));
+            for (final File file : getCompiletimeClassPath()) {
+                if (!file.equals(jSnippetJar)) {
+                    parts.add(CompiledClassCache.describe(file));
+                }
+            }
+            for (final InCol col : m_fields.getInColFields()) {
+                parts.add(col.getConverterFactoryId());
+            }
+            for (final OutCol col : m_fields.getOutColFields()) {
+                parts.add(col.getConverterFactoryId());
+            }
+            parts.addAll(Arrays.asList(m_settings.getBundles()));
+            return CompiledClassCache.createKey(parts.toArray(new String[parts.size()]));
+        } catch (IOException | BadLocationException e) {
+            LOGGER.debug("Could not create key of compiled class cache: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /** Delete class files of a previous compilation from the temporary class path directory. */
+    private void deleteClassFiles() {
+        final File[] classFiles = m_tempClassPathDir.listFiles((dir, name) -> name.endsWith(Kind.CLASS.extension));
+        if (classFiles != null) {
+            for (final File classFile : classFiles) {
+                if (!classFile.delete()) {
+                    LOGGER.debug("Could not delete class file \"" + classFile + "\".");
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the classes of a cached compilation to the temporary class path directory.
+     *
+     * @param classes binary class names mapped to their byte code
+     * @return <code>true</code> if all classes could be written, <code>false</code> if the snippet needs to be compiled
+     */
+    private boolean restoreClassFiles(final Map<String, byte[]> classes) {
+        deleteClassFiles();
+        try {
+            // keep the sources in the class path directory consistent with the restored classes
+            getCompilationUnits();
+            for (final Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                Files.write(new File(m_tempClassPathDir, entry.getKey() + Kind.CLASS.extension).toPath(),
+                    entry.getValue());
+            }
+            return true;
+        } catch (IOException e) {
+            LOGGER.warn("Could not restore cached java snippet classes, compiling instead.", e);
+            return false;
+        }
+    }
+
+    /**
+     * Put the class files of the last compilation into the {@link CompiledClassCache}.
+     *
+     * @param cacheKey the key of this snippet
+     */
+    private void cacheClassFiles(final String cacheKey) {
+        final File[] classFiles = m_tempClassPathDir.listFiles((dir, name) -> name.endsWith(Kind.CLASS.extension));
+        if (classFiles == null) {
+            return;
+        }
+        final Map<String, byte[]> classes = new LinkedHashMap<>();
+        try {
+            for (final File classFile : classFiles) {
+                final String name = classFile.getName();
+                classes.put(name.substring(0, name.length() - Kind.CLASS.extension.length()),
+                    Files.readAllBytes(classFile.toPath()));
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Could not read compiled java snippet classes: " + e.getMessage(), e);
+            return;
+        }
+        CompiledClassCache.put(cacheKey, classes);
+    }
+
     /**
      * Create an instance of the snippet.
      *
@@ -1222,6 +1453,23 @@ public AbstractJSnippet createSnippetInstance() {
         return instance;
     }
 
+    /**
+     * Create the field binder which was compiled together with the class of the given snippet instance.
+     *
+     * @param instance a snippet instance created by {@link #createSnippetInstance()}
+     * @return the field binder for the system fields of the instance
+     */
+    FieldBinder createFieldBinder(final AbstractJSnippet instance) {
+        try {
+            // load via the class loader of the instance, the snippet class may have been reloaded in the meantime
+            return (FieldBinder)instance.getClass().getClassLoader().loadClass(FIELD_BINDER_CLASS)
+                .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            // cannot happen, the binder is compiled together with the snippet
+            throw new IllegalStateException("Could not load the field binder of the java snippet.", e);
+        }
+    }
+
     /**
      * Attach logger to be used by this java snippet instance.
      *
@@ -1348,9 +1596,15 @@ public synchronized static Bundle resolveBundleForJavaType(final Class<?> javaTy
     }
 
     /**
-     * Get file and jar urls required for compiling with given java type
+     * Get file and jar urls required for compiling with given java type.
+     *
+     * @param javaType the type to compile against
+     * @return the class path entries of the bundles declaring the type and its super types, or <code>null</code> if
+     *         the class path could not be assembled
+     * @since 5.12
+     * @noreference This method is not intended to be referenced by clients.
      */
-    private synchronized static Set<File> resolveBuildPathForJavaType(final Class<?> javaType) {
+    public synchronized static Set<File> resolveBuildPathForJavaType(final Class<?> javaType) {
         if (javaType.isPrimitive()) {
             return Collections.emptySet();
         }
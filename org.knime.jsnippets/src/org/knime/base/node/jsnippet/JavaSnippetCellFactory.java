@@ -50,7 +50,7 @@
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -58,10 +58,12 @@
 import org.knime.base.node.jsnippet.expression.Abort;
 import org.knime.base.node.jsnippet.expression.AbstractJSnippet;
 import org.knime.base.node.jsnippet.expression.Cell;
+import org.knime.base.node.jsnippet.expression.FieldBinder;
 import org.knime.base.node.jsnippet.expression.TypeException;
 import org.knime.base.node.jsnippet.type.ConverterUtil;
 import org.knime.base.node.jsnippet.util.FlowVariableRepository;
 import org.knime.base.node.jsnippet.util.JavaFieldList.InColList;
+import org.knime.base.node.jsnippet.util.JavaFieldList.InVarList;
 import org.knime.base.node.jsnippet.util.JavaFieldList.OutColList;
 import org.knime.base.node.jsnippet.util.JavaFieldList.OutVarList;
 import org.knime.base.node.jsnippet.util.field.InCol;
@@ -101,50 +103,35 @@ public class JavaSnippetCellFactory extends AbstractCellFactory {
 
     private final AbstractJSnippet m_jsnippet;
 
+    private final FieldBinder m_binder;
+
     private final FlowVariableRepository m_flowVars;
 
     private final int m_rowCount;
 
     private final List<String> m_columns;
 
+    /** the row the cell proxies currently point to. */
+    private DataRow m_row;
+
     private final List<DataCellToJavaConverter<?, ?>> m_inConverters = new ArrayList<>();
 
     private final List<JavaToDataCellConverter<?>> m_outConverters = new ArrayList<>();
 
-    private final List<Field> m_inJavaFields = new ArrayList<>();
-    private final List<Field> m_outJavaFields = new ArrayList<>();
-    private final List<Integer> m_inColIndices = new ArrayList<>();
+    private final int[] m_inColIndices;
     private final int m_numInFields;
     private final int m_numOutFields;
 
-    private static final Field FIELD_CELLS;
-    private static final Field FIELD_CELLSMAP;
-    private static final Field FIELD_ROWID;
-    private static final Field FIELD_ROWINDEX;
+    private final InVar[] m_inVars;
+    private final OutVar[] m_outVars;
 
-    private int m_rowIndex;
+    // reused per row to hand values to and from the field binder
+    private final Object[] m_inValues;
+    private final Object[] m_inVarValues;
+    private final Object[] m_outValues;
+    private final Object[] m_outVarValues;
 
-    static {
-        try {
-            FIELD_CELLS = AbstractJSnippet.class.getDeclaredField("m_cells");
-            FIELD_CELLS.setAccessible(true);
-
-            FIELD_CELLSMAP = AbstractJSnippet.class.getDeclaredField("m_cellsMap");
-            FIELD_CELLSMAP.setAccessible(true);
-
-            FIELD_ROWID = AbstractJSnippet.class.getDeclaredField(JavaSnippet.ROWID);
-            FIELD_ROWID.setAccessible(true);
-
-            FIELD_ROWINDEX = AbstractJSnippet.class.getDeclaredField(JavaSnippet.ROWINDEX);
-            FIELD_ROWINDEX.setAccessible(true);
-        } catch (NoSuchFieldException e) {
-            // Will never happen.
-            throw new IllegalStateException(e);
-        } catch (SecurityException e) {
-            // Will never happen.
-            throw new IllegalStateException(e);
-        }
-    }
+    private int m_rowIndex;
 
     /**
      * Create a new cell factory.
@@ -166,6 +153,7 @@ public JavaSnippetCellFactory(final JavaSnippet snippet, final DataTableSpec spe
         /* One time snippet instance preparation */
         try {
             m_jsnippet = m_snippet.createSnippetInstance();
+            m_binder = m_snippet.createFieldBinder(m_jsnippet);
             // populate the fields in the m_jsnippet that are constant
             // across the rows.
             Field[] fs = m_jsnippet.getClass().getSuperclass().getDeclaredFields();
@@ -191,6 +179,24 @@ public JavaSnippetCellFactory(final JavaSnippet snippet, final DataTableSpec spe
             field.setAccessible(true);
             field.set(m_jsnippet, m_spec);
 
+            // the cell proxies and the name lookup table are created once, the proxies
+            // read from m_row, which is updated for every row
+            final int numColumns = m_spec.getNumColumns();
+            final Map<String, Integer> columnIndices = new HashMap<>();
+            final Cell[] cells = new Cell[numColumns];
+            for (int i = 0; i < numColumns; i++) {
+                columnIndices.put(m_columns.get(i), i);
+                cells[i] = new DataCellProxy(i);
+            }
+
+            field = m_jsnippet.getClass().getSuperclass().getDeclaredField("m_columnIndices");
+            field.setAccessible(true);
+            field.set(m_jsnippet, columnIndices);
+
+            field = m_jsnippet.getClass().getSuperclass().getDeclaredField("m_cells");
+            field.setAccessible(true);
+            field.set(m_jsnippet, cells);
+
         } catch (Exception e) {
             // all reflection exceptions which will never happen, but in case
             // re-throw exception
@@ -199,10 +205,11 @@ public JavaSnippetCellFactory(final JavaSnippet snippet, final DataTableSpec spe
 
         final InColList inFields = m_snippet.getSystemFields().getInColFields();
         m_numInFields = inFields.size();
-        for (final InCol inCol : inFields) {
+        m_inColIndices = new int[m_numInFields];
+        for (int i = 0; i < m_numInFields; i++) {
+            final InCol inCol = inFields.get(i);
             // Cache the column index
-            int columnIndex = m_spec.findColumnIndex(inCol.getKnimeName());
-            m_inColIndices.add(columnIndex);
+            m_inColIndices[i] = m_spec.findColumnIndex(inCol.getKnimeName());
 
             // Get the converter factory for this column, create and cache the converter
             final Optional<DataCellToJavaConverterFactory<?, ?>> factory =
@@ -211,17 +218,6 @@ public JavaSnippetCellFactory(final JavaSnippet snippet, final DataTableSpec spe
                 throw new RuntimeException("Missing converter factory with ID: " + inCol.getConverterFactoryId());
             }
             m_inConverters.add(factory.get().create());
-
-            // Get the java field for this column and cache it
-            try {
-                m_inJavaFields.add(m_jsnippet.getClass().getField(inCol.getJavaName()));
-            } catch (NoSuchFieldException e) {
-                // Field was generated from inCol, this should never happen.
-                throw new IllegalStateException(e);
-            } catch (SecurityException e) {
-                // Field was generated as public, this should never happen.
-                throw new IllegalStateException(e);
-            }
         }
 
 
@@ -237,58 +233,41 @@ public JavaSnippetCellFactory(final JavaSnippet snippet, final DataTableSpec spe
                 throw new RuntimeException("Missing converter factory with ID: " + id);
             }
             m_outConverters.add(((JavaToDataCellConverterFactory<?>)factory.get()).create(fileStoreFactory));
-            try {
-                m_outJavaFields.add(m_jsnippet.getClass().getField(outField.getJavaName()));
-            } catch (NoSuchFieldException e) {
-                // Field was generated from inCol, this should never happen.
-                throw new IllegalStateException(e);
-            } catch (SecurityException e) {
-                // Field was generated as public, this should never happen.
-                throw new IllegalStateException(e);
-            }
         }
+
+        final InVarList inVars = m_snippet.getSystemFields().getInVarFields();
+        m_inVars = inVars.toArray(new InVar[inVars.size()]);
+        final OutVarList outVars = m_snippet.getSystemFields().getOutVarFields();
+        m_outVars = outVars.toArray(new OutVar[outVars.size()]);
+
+        m_inValues = new Object[m_numInFields];
+        m_inVarValues = new Object[m_inVars.length];
+        m_outValues = new Object[m_numOutFields];
+        m_outVarValues = new Object[m_outVars.length];
     }
 
     @Override
     public DataCell[] getCells(final DataRow row) {
         try {
-            final int numCells = row.getNumCells();
-            final Map<String, Cell> cellsMap = new LinkedHashMap<>(numCells);
-            for (int i = 0; i < numCells; i++) {
-                cellsMap.put(m_columns.get(i), new DataCellProxy(row, i));
-            }
-
-            FIELD_CELLSMAP.set(m_jsnippet, cellsMap);
-            FIELD_CELLS.set(m_jsnippet, new ArrayList<>(cellsMap.values()));
-            FIELD_ROWID.set(m_jsnippet, row.getKey().getString());
-            FIELD_ROWINDEX.set(m_jsnippet, m_rowIndex);
+            m_row = row;
+            m_jsnippet.ROWID = row.getKey().getString();
+            m_jsnippet.ROWINDEX = m_rowIndex;
 
             // populate the system input column fields with data
             for (int i = 0; i < m_numInFields; ++i) {
-                final Field field = m_inJavaFields.get(i);
-
-                final DataCell cell = row.getCell(m_inColIndices.get(i));
-                if (cell.isMissing()) {
-                    field.set(m_jsnippet, null);
-                    continue;
-                }
-
-                // Get the converter factory for this column
-                final Object converted = m_inConverters.get(i).convertUnsafe(cell);
-                field.set(m_jsnippet, converted);
+                final DataCell cell = row.getCell(m_inColIndices[i]);
+                m_inValues[i] = cell.isMissing() ? null : m_inConverters.get(i).convertUnsafe(cell);
             }
+            m_binder.setInColumns(m_jsnippet, m_inValues);
 
             // reset the system output fields to null (see also bug 3781)
-            for (final Field field : m_outJavaFields) {
-                field.set(m_jsnippet, null);
-            }
+            m_binder.resetOutColumns(m_jsnippet);
 
             // populate the system input flow variable fields with data
-            for (final InVar inCol : m_snippet.getSystemFields().getInVarFields()) {
-                final Field field = m_jsnippet.getClass().getField(inCol.getJavaName());
-                final Object v = m_flowVars.getValueOfType(inCol.getKnimeName(), inCol.getJavaType());
-                field.set(m_jsnippet, v);
+            for (int i = 0; i < m_inVars.length; i++) {
+                m_inVarValues[i] = m_flowVars.getValueOfType(m_inVars[i].getKnimeName(), m_inVars[i].getJavaType());
             }
+            m_binder.setInVariables(m_jsnippet, m_inVarValues);
         } catch (Exception e) {
             // all reflection exceptions which will never happen, but in case
             // re-throw exception
@@ -317,8 +296,7 @@ public DataCell[] getCells(final DataRow row) {
                 }
 
                 LOGGER.warn(msg.toString(), thr);
-                final OutVarList outVars = m_snippet.getSystemFields().getOutVarFields();
-                if (outVars.size() > 0) {
+                if (m_outVars.length > 0) {
                     // Abort if flow variables are defined
                     throw new RuntimeException("An error occured in an expression with output flow variables.", thr);
                 }
@@ -338,9 +316,10 @@ public DataCell[] getCells(final DataRow row) {
 
         try {
             // update m_flowVars with output flow variable fields.
-            for (final OutVar var : m_snippet.getSystemFields().getOutVarFields()) {
-                final Field field = m_jsnippet.getClass().getField(var.getJavaName());
-                final Object value = field.get(m_jsnippet);
+            m_binder.getOutVariables(m_jsnippet, m_outVarValues);
+            for (int v = 0; v < m_outVars.length; v++) {
+                final OutVar var = m_outVars[v];
+                final Object value = m_outVarValues[v];
                 if (null != value) {
                     Type type = var.getFlowVarType();
                     FlowVariable flowVar = null;
@@ -358,11 +337,10 @@ public DataCell[] getCells(final DataRow row) {
             }
 
             // get output column fields
+            m_binder.getOutColumns(m_jsnippet, m_outValues);
             final DataCell[] out = new DataCell[m_numOutFields];
             for (int i = 0; i < out.length; i++) {
-                final Field field = m_outJavaFields.get(i);
-
-                final Object value = field.get(m_jsnippet);
+                final Object value = m_outValues[i];
                 out[i] = (null == value) ? DataType.getMissingCell() : m_outConverters.get(i).convertUnsafe(value);
 
                 // Cleanup Closeable and AutoCloseable inputs
@@ -375,8 +353,8 @@ public DataCell[] getCells(final DataRow row) {
             m_rowIndex++;
             return out;
         } catch (Exception e) {
-            // all but one are reflection exceptions which will never happen,
-            // but in case re-throw exception
+            // thrown by the output converters or when closing the output values,
+            // re-throw exception
             throw new RuntimeException(e);
         }
 
@@ -417,29 +395,31 @@ public void setProgress(final long curRowNr, final long rowCount, final RowKey l
     }
 
     /**
-     * Class that wraps a DataRow for access from inside the Java Snippet.
+     * Class that wraps a cell of the current DataRow for access from inside the Java Snippet.
      *
      * This allows cell access while keeping the DataCell API safe from having to provide workflow level backwards
      * compatibility.
      *
-     * DataCellProxy stores a reference to a row and a column index and can be updated to point to a new row. Accessing
-     * the value stored inside the cell happens on demand.
+     * DataCellProxy stores a column index and reads from the row the factory currently processes, so the proxies are
+     * created once and never need to be updated. Accessing the value stored inside the cell happens on demand.
      */
-    private static class DataCellProxy implements Cell {
-        private DataRow m_row;
+    private final class DataCellProxy implements Cell {
+        private final int m_index;
+
+        // the converter used for the last access, the type of a column and the requested class rarely change
+        private DataType m_lastType;
 
-        private int m_index;
+        private Class<?> m_lastClass;
+
+        private DataCellToJavaConverter<DataCell, Object> m_lastConverter;
 
         /**
-         * Represents a cell in the given row as a java snippet cell.
+         * Represents a cell of the current row as a java snippet cell.
          *
-         * @param row the underlying row
          * @param i the index of the cell to represent
          */
-        public DataCellProxy(final DataRow row, final int i) {
-            super();
-            this.m_row = row;
-            this.m_index = i;
+        DataCellProxy(final int i) {
+            m_index = i;
         }
 
         @SuppressWarnings("rawtypes")
@@ -457,13 +437,18 @@ public Object getValueOfType(final Class c) throws TypeException {
             }
             final DataType type = cell.getType();
 
-            final Optional<?> factory = ConverterUtil.getConverterFactory(type, c);
-            if (!factory.isPresent()) {
-                throw new RuntimeException(
-                    "Could not find a converter factory for: " + type.getName() + " -> " + c.getName());
+            if (m_lastConverter == null || m_lastClass != c || !type.equals(m_lastType)) {
+                final Optional<?> factory = ConverterUtil.getCachedConverterFactory(type, c);
+                if (!factory.isPresent()) {
+                    throw new RuntimeException(
+                        "Could not find a converter factory for: " + type.getName() + " -> " + c.getName());
+                }
+                m_lastConverter = ((DataCellToJavaConverterFactory<DataCell, Object>)factory.get()).create();
+                m_lastType = type;
+                m_lastClass = c;
             }
             try {
-                return ((DataCellToJavaConverterFactory<DataCell, Object>)factory.get()).create().convert(cell);
+                return m_lastConverter.convert(cell);
             } catch (Exception e) {
                 throw new TypeException(e);
             }
@@ -50,6 +50,7 @@
 import java.awt.BorderLayout;
 import java.awt.Component;
 import java.awt.Dimension;
+import java.awt.FlowLayout;
 import java.awt.Frame;
 import java.awt.GridLayout;
 import java.io.ByteArrayInputStream;
@@ -64,6 +65,7 @@
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JComponent;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
@@ -176,6 +178,9 @@ public class JavaSnippetNodeDialog extends NodeDialogPane implements TemplateNod
 
     private ErrorStrip m_errorStrip = null;
 
+    /** <code>null</code> if a subclass replaces the options panel. */
+    private JCheckBox m_parallelExecution;
+
 
     /**
      * Create a new Dialog.
@@ -482,7 +487,12 @@ protected JComponent createColsAndVarsPanel() {
      * @return options panel or null if there are no additional options.
      */
     protected JPanel createOptionsPanel() {
-        return null;
+        final JPanel p = new JPanel(new FlowLayout(FlowLayout.LEADING));
+        m_parallelExecution = new JCheckBox("Process rows in parallel");
+        m_parallelExecution.setToolTipText("Only applied to snippets without custom variables which neither use "
+            + "ROWINDEX nor define output flow variables.");
+        p.add(m_parallelExecution);
+        return p;
     }
 
     private void updateAutocompletion() {
@@ -580,6 +590,9 @@ protected void loadSettingsFromInternal(final NodeSettingsRO settings, final Dat
         m_jarPanel.setJarFiles(m_settings.getJarFiles());
         m_bundleListPanel.setBundles(m_settings.getBundles());
         updateCustomTypesBundles();
+        if (m_parallelExecution != null) {
+            m_parallelExecution.setSelected(m_settings.isParallelExecution());
+        }
 
         m_fieldsController.updateData(m_settings, specs[0], getAvailableFlowVariables());
 
@@ -633,6 +646,9 @@ public void applyTemplate(final JavaSnippetTemplate template, final DataTableSpe
         m_snippet.setSettings(m_settings);
         m_jarPanel.setJarFiles(m_settings.getJarFiles());
         m_bundleListPanel.setBundles(m_settings.getBundles());
+        if (m_parallelExecution != null) {
+            m_parallelExecution.setSelected(m_settings.isParallelExecution());
+        }
 
         updateCustomTypesBundles();
 
@@ -735,6 +751,9 @@ protected void saveSettingsTo(final NodeSettingsWO settings) throws InvalidSetti
 
         s.setBundles(m_bundleListPanel.getBundles());
         validateBundlesSetting();
+        if (m_parallelExecution != null) {
+            s.setParallelExecution(m_parallelExecution.isSelected());
+        }
 
         // give subclasses the chance to modify settings
         preSaveSettings(s);
@@ -0,0 +1,115 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   16.10.2026 (KNIME AG): created
+ */
+package org.knime.base.node.jsnippet;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.AbstractCellFactory;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Cell factory for the java snippet node which processes rows concurrently. A row is evaluated by a
+ * {@link JavaSnippetCellFactory} (and therefore a snippet instance) taken from a pool, which is used by one worker
+ * thread at a time, the output is reassembled in row order by the framework. The pool is released when the processing
+ * ends, so the snippet instances and their class loaders are not kept alive by the shared worker threads.
+ *
+ * Only applicable to snippets which keep no state between rows, i.e. snippets without custom fields that neither use
+ * the row index nor define output flow variables.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class ParallelJavaSnippetCellFactory extends AbstractCellFactory {
+
+    private final Queue<JavaSnippetCellFactory> m_idleFactories = new ConcurrentLinkedQueue<>();
+
+    private final Supplier<JavaSnippetCellFactory> m_factorySupplier;
+
+    /**
+     * Create a new cell factory.
+     *
+     * @param first the first factory of the pool, also defines the output columns
+     * @param factorySupplier creates further factories when all in the pool are in use
+     */
+    ParallelJavaSnippetCellFactory(final JavaSnippetCellFactory first,
+        final Supplier<JavaSnippetCellFactory> factorySupplier) {
+        super(true, first.getColumnSpecs());
+        m_idleFactories.add(first);
+        m_factorySupplier = factorySupplier;
+    }
+
+    @Override
+    public DataCell[] getCells(final DataRow row) {
+        JavaSnippetCellFactory factory = m_idleFactories.poll();
+        if (factory == null) {
+            factory = m_factorySupplier.get();
+        }
+        try {
+            return factory.getCells(row);
+        } finally {
+            m_idleFactories.add(factory);
+        }
+    }
+
+    @Override
+    public void setProgress(final long curRowNr, final long rowCount, final RowKey lastKey,
+        final ExecutionMonitor exec) {
+        exec.setProgress(curRowNr / (double)rowCount, () -> "Processed row " + curRowNr + " (\"" + lastKey + "\")");
+    }
+
+    @Override
+    public void afterProcessing() {
+        super.afterProcessing();
+        // all rows are processed, release the snippet instances (and with them their class loaders and file stores)
+        m_idleFactories.clear();
+    }
+}
@@ -75,8 +75,10 @@ public abstract class AbstractJSnippet {
     public int ROWCOUNT = -1;
 
     private DataTableSpec m_inSpec;
-    private Map<String, Cell> m_cellsMap;
-    private List<Cell> m_cells;
+    /** column name to index, built once per input spec. */
+    private Map<String, Integer> m_columnIndices;
+    /** cells of the current row, the proxies are rebound to every new row. */
+    private Cell[] m_cells;
     private List<String> m_columns;
     private FlowVariableRepository m_flowVars;
 
@@ -102,8 +104,9 @@ public AbstractJSnippet() {
     @SuppressWarnings("unchecked")
     protected <T> T getCell(final String col, final T t) throws TypeException,
             ColumnException {
-        if (m_cellsMap.containsKey(col)) {
-            Cell cell = m_cellsMap.get(col);
+        final Integer index = m_columnIndices.get(col);
+        if (index != null) {
+            Cell cell = m_cells[index];
             return (T)cell.getValueAs(Type.getMembersClass(t));
         } else {
             throw new ColumnException("The column " + col + " does not exist.");
@@ -124,13 +127,13 @@ protected <T> T getCell(final String col, final T t) throws TypeException,
     @SuppressWarnings("unchecked")
     protected <T> T getCell(final int col, final T t) throws TypeException,
             ColumnException {
-        if (col >= 0 || col < m_cells.size()) {
-            Cell cell = m_cells.get(col);
+        if (col >= 0 && col < m_cells.length) {
+            Cell cell = m_cells[col];
             return (T)cell.getValueAs(Type.getMembersClass(t));
         } else {
             throw new ColumnException("The column index " + col
                     + " is out of the allowed range"
-                    + " [0," + m_cells.size() + "].");
+                    + " [0," + m_cells.length + "].");
         }
     }
 
@@ -145,7 +148,7 @@ protected <T> T getCell(final int col, final T t) throws TypeException,
      */
     protected <T> boolean isType(final String column, final T t)
             throws ColumnException {
-        if (m_cellsMap.containsKey(column)) {
+        if (m_columnIndices.containsKey(column)) {
             return canProvideJavaType(m_inSpec.getColumnSpec(column),
                                       Type.getMembersClass(t));
         } else {
@@ -166,13 +169,13 @@ protected <T> boolean isType(final String column, final T t)
      */
     protected <T> boolean isType(final int column, final T t)
             throws ColumnException {
-        if (column >= 0 || column < m_cells.size()) {
+        if (column >= 0 && column < m_cells.length) {
             return canProvideJavaType(m_inSpec.getColumnSpec(column),
                                       Type.getMembersClass(t));
         } else {
             throw new ColumnException("The column index " + column
                     + " is out of the allowed range"
-                    + " [0," + m_cells.size() + "].");
+                    + " [0," + m_cells.length + "].");
         }
     }
 
@@ -185,8 +188,9 @@ protected <T> boolean isType(final int column, final T t)
      */
     protected boolean isMissing(final String column)
             throws ColumnException {
-        if (m_cellsMap.containsKey(column)) {
-            Cell cell = m_cellsMap.get(column);
+        final Integer index = m_columnIndices.get(column);
+        if (index != null) {
+            Cell cell = m_cells[index];
             return cell.isMissing();
         } else {
             throw new ColumnException("The column " + column
@@ -204,13 +208,13 @@ protected boolean isMissing(final String column)
      */
     protected boolean isMissing(final int column)
             throws ColumnException {
-        if (column >= 0 || column < m_cells.size()) {
-            Cell cell = m_cells.get(column);
+        if (column >= 0 && column < m_cells.length) {
+            Cell cell = m_cells[column];
             return cell.isMissing();
         } else {
             throw new ColumnException("The column index " + column
                     + " is out of the allowed range"
-                    + " [0," + m_cells.size() + "].");
+                    + " [0," + m_cells.length + "].");
         }
     }
 
@@ -219,7 +223,7 @@ protected boolean isMissing(final int column)
      * @return the number of columns.
      */
     protected int getColumnCount() {
-        return m_cells.size();
+        return m_cells.length;
     }
 
     /**
@@ -238,7 +242,7 @@ protected String getColumnName(final int index) {
      * @return true when a column with the given name exists
      */
     protected boolean columnExists(final String column) {
-        return m_cellsMap.get(column) != null;
+        return m_columnIndices.containsKey(column);
     }
 
     /**
@@ -304,7 +308,7 @@ protected boolean isFlowVariableOfType(final String name, final Object t) {
     private boolean canProvideJavaType(final DataColumnSpec colSpec,
             @SuppressWarnings("rawtypes") final Class c) {
         DataType type = colSpec.getType();
-        return ConverterUtil.getConverterFactory(type, c).isPresent();
+        return ConverterUtil.getCachedConverterFactory(type, c).isPresent();
     }
 
     /**
@@ -0,0 +1,101 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   16.10.2026 (KNIME AG): created
+ */
+package org.knime.base.node.jsnippet.expression;
+
+/**
+ * Assigns the system fields of a compiled java snippet without reflection.
+ *
+ * An implementation of this interface is generated and compiled together with every java snippet class, it
+ * accesses the input and output fields of the snippet with plain field stores and loads. The arrays passed to the
+ * methods are ordered like the respective field lists of the snippet.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @noreference This interface is not intended to be referenced by clients.
+ * @noimplement This interface is not intended to be implemented by clients.
+ */
+public interface FieldBinder {
+
+    /**
+     * Assign the values of the input column fields.
+     *
+     * @param snippet the snippet instance
+     * @param values the converted values of the input columns, <code>null</code> for missing cells
+     */
+    public void setInColumns(final AbstractJSnippet snippet, final Object[] values);
+
+    /**
+     * Assign the values of the input flow variable fields.
+     *
+     * @param snippet the snippet instance
+     * @param values the values of the input flow variables
+     */
+    public void setInVariables(final AbstractJSnippet snippet, final Object[] values);
+
+    /**
+     * Set all output column fields to <code>null</code>.
+     *
+     * @param snippet the snippet instance
+     */
+    public void resetOutColumns(final AbstractJSnippet snippet);
+
+    /**
+     * Read the values of the output column fields.
+     *
+     * @param snippet the snippet instance
+     * @param values the array to fill with the values of the output columns
+     */
+    public void getOutColumns(final AbstractJSnippet snippet, final Object[] values);
+
+    /**
+     * Read the values of the output flow variable fields.
+     *
+     * @param snippet the snippet instance
+     * @param values the array to fill with the values of the output flow variables
+     */
+    public void getOutVariables(final AbstractJSnippet snippet, final Object[] values);
+}
@@ -51,6 +51,10 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -76,6 +80,22 @@
  */
 public class ConverterUtil {
 
+    /** Maximum number of entries in {@link #CONVERTER_FACTORY_CACHE}. */
+    static final int CONVERTER_FACTORY_CACHE_SIZE = 512;
+
+    /** Least recently used cache for {@link #getCachedConverterFactory(DataType, Class)}. */
+    private static final Map<CacheKey, Optional<DataCellToJavaConverterFactory<?, ?>>> CONVERTER_FACTORY_CACHE =
+        Collections.synchronizedMap(new LinkedHashMap<CacheKey, Optional<DataCellToJavaConverterFactory<?, ?>>>(16,
+            0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(
+                final Map.Entry<CacheKey, Optional<DataCellToJavaConverterFactory<?, ?>>> eldest) {
+                return size() > CONVERTER_FACTORY_CACHE_SIZE;
+            }
+        });
+
     /**
      * Convenience method to get the first {@link JavaToDataCellConverterFactory} returned by
      * {@link JavaToDataCellConverterRegistry#getConverterFactories(Class, DataType)}.
@@ -120,6 +140,39 @@ public static Optional<JavaToDataCellConverterFactory<?>> getConverterFactory(fi
         return (Optional<DataCellToJavaConverterFactory<?, ?>>)factory;
     }
 
+    /**
+     * Same as {@link #getConverterFactory(DataType, Class)}, but the result is kept in a bounded, thread-safe cache
+     * keyed by the given types. Intended for lookups which happen per row, e.g. dynamic cell access in the Java
+     * Snippet.
+     *
+     * @param knimeType type which should be convertible
+     * @param javaType type to which should be converted
+     * @return the preferred {@link DataCellToJavaConverterFactory} for given <code>sourceType</code> and
+     *         <code>destType</code>.
+     * @since 5.12
+     */
+    public static Optional<DataCellToJavaConverterFactory<?, ?>> getCachedConverterFactory(final DataType knimeType,
+        final Class<?> javaType) {
+        final CacheKey key = new CacheKey(knimeType, javaType);
+        Optional<DataCellToJavaConverterFactory<?, ?>> factory = CONVERTER_FACTORY_CACHE.get(key);
+        if (factory == null) {
+            // lookups are idempotent, so no need to hold the lock while querying the registry
+            factory = getConverterFactory(knimeType, javaType);
+            CONVERTER_FACTORY_CACHE.put(key, factory);
+        }
+        return factory;
+    }
+
+    /**
+     * @param knimeType type which should be convertible
+     * @param javaType type to which should be converted
+     * @return whether the result of {@link #getCachedConverterFactory(DataType, Class)} for the given types is cached,
+     *         does not count as an access
+     */
+    static boolean isCachedConverterFactory(final DataType knimeType, final Class<?> javaType) {
+        return CONVERTER_FACTORY_CACHE.containsKey(new CacheKey(knimeType, javaType));
+    }
+
     /**
      * Query into which DataTypes can be converted. Returned list is sorted, since this is only used for UI.
      *
@@ -252,4 +305,32 @@ public static Optional<JavaToDataCellConverterFactory<?>> getPreferredFactoryFor
         return JavaToDataCellConverterRegistry.getInstance().getFactoriesForDestinationType(dataType).stream().findFirst();
     }
 
+    /** Key of the converter factory cache. */
+    private static final class CacheKey {
+        private final DataType m_knimeType;
+
+        private final Class<?> m_javaType;
+
+        CacheKey(final DataType knimeType, final Class<?> javaType) {
+            m_knimeType = knimeType;
+            m_javaType = javaType;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * m_knimeType.hashCode() + m_javaType.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            final CacheKey other = (CacheKey)obj;
+            return Objects.equals(m_knimeType, other.m_knimeType) && m_javaType == other.m_javaType;
+        }
+    }
 }
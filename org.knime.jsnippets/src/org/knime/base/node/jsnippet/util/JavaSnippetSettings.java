@@ -79,6 +79,7 @@ public class JavaSnippetSettings {
     private static final String TEMPLATE_UUID = "templateUUID";
     private static final String VERSION = "version";
     private static final String RUN_ON_EXECUTE = "runOnExecute";
+    private static final String PARALLEL_EXECUTION = "parallelExecution";
 
     /** Custom imports. */
     private String m_scriptImports;
@@ -111,6 +112,9 @@ public class JavaSnippetSettings {
     /** If Java Edit Variable should be run during execute, not configure. */
     private boolean m_runOnExecute;
 
+    /** If rows may be processed concurrently by multiple snippet instances. */
+    private boolean m_parallelExecution;
+
     /**
      * Create a new instance.
      */
@@ -135,6 +139,7 @@ public JavaSnippetSettings(final String defaultContent) {
         m_version = JavaSnippet.VERSION_1_X;
         m_templateUUID = null;
         m_runOnExecute = false;
+        m_parallelExecution = false;
     }
 
 
@@ -270,6 +275,20 @@ public void setRunOnExecute(final boolean runOnExecute) {
         m_runOnExecute = runOnExecute;
     }
 
+    /**
+     * @return whether rows may be processed concurrently by multiple snippet instances
+     */
+    public boolean isParallelExecution() {
+        return m_parallelExecution;
+    }
+
+    /**
+     * @param parallelExecution whether rows may be processed concurrently by multiple snippet instances
+     */
+    public void setParallelExecution(final boolean parallelExecution) {
+        m_parallelExecution = parallelExecution;
+    }
+
     /**
      * Set the system fields definitions of the java snippet.
      * @param fields the system fields definitions of the java snippet
@@ -300,6 +319,9 @@ public void saveSettings(final NodeSettingsWO settings) {
 
         // added in 3.6
         settings.addStringArray(BUNDLES, m_bundles);
+
+        // added in 5.12
+        settings.addBoolean(PARALLEL_EXECUTION, m_parallelExecution);
     }
 
     /** Loads parameters in NodeModel.
@@ -325,6 +347,9 @@ public void loadSettings(final NodeSettingsRO settings)
 
         // added in 3.6
         m_bundles = settings.getStringArray(BUNDLES, new String[0]);
+
+        // added in 5.12
+        m_parallelExecution = settings.getBoolean(PARALLEL_EXECUTION, false);
     }
 
 
@@ -360,5 +385,8 @@ public void loadSettingsForDialog(final NodeSettingsRO settings) {
 
         // added in 3.6
         m_bundles = settings.getStringArray(BUNDLES, new String[0]);
+
+        // added in 5.12
+        m_parallelExecution = settings.getBoolean(PARALLEL_EXECUTION, false);
     }
 }
@@ -115,18 +115,17 @@
  * In an expression, references to specific columns, e.g., <code>$column1$</code> are referred to as static references.
  * On the other hand, columns referenced through $$CURRENTCOLUMN$$ are referred to as dynamic references, because the
  * column the reference points to depends on the selected input columns and which one of it is currently processed. The
- * static references are collected in {{@link #m_compiledExpression.m_usedInputFields}. The dynamic references are
+ * static references are collected in {{@link ManagedExpression#m_columnAccessors}. The dynamic references are
  * listed in {{@link #m_iteratedInputColumns}, and the order in which they are listed corresponds to the order of the
  * computed output cells in {{@link #getCells(DataRow)}. The static and dynamic references may overlap (a statically
  * referenced field may also be iterated over) in which case there will be two accessors, one in
- * {@link #m_compiledExpression.m_usedInputFields} and a separate one in {@link #m_iteratedInputColumns}. Since the
+ * {@link ManagedExpression#m_columnAccessors} and a separate one in {@link #m_iteratedInputColumns}. Since the
  * number of static references is typically small, this doesn't hurt.
  *
  * One tricky aspect in reusing expressions for multiple columns is to pass the value of the currently iterated column
  * into the expression. The easiest way is to use the flow variable syntax in an expression
- * ($${Ssome.string.variable}$$). When evaluating the expression, the value of the flow variable will be looked up in a
- * map (I call it the expression context) which can easily be used to bind the value of the variable (without actually
- * creating a flow variable). <br/>
+ * ($${Ssome.string.variable}$$). When evaluating the expression, the value of the variable is bound directly to the
+ * field's slot in the expression instance (without actually creating a flow variable). <br/>
  * Due to the way Expressions are parsed, this was the simplest alternative I found. For instance, $$ROWCOUNT$$ is a
  * special identifier that's the expression parsers tokenizer is looking for and handling in a special way. Adding new
  * ones seemed dangerous. Using column references (e.g., mapping new InputField("$$CURRENTCOLUMN$$, FieldType.Column) to
@@ -155,53 +154,76 @@ static class ManagedExpression {
 
         private final Expression m_expression;
         private final ExpressionInstance m_expressionInstance;
-        private final Map<InputField, Object> m_expressionContext;
-        private final Map<InputField, ColumnAccessor> m_usedInputFields;
         private final Function<Object, DataCell> m_cellConstructor;
 
+        /** Slots of the row index, row id and currently iterated column fields, -1 if not used. */
+        private final int m_rowIndexSlot;
+        private final int m_rowIdSlot;
+        private final int m_currentColumnSlot;
+
+        /** Slots of the statically referenced columns, parallel to {@link #m_columnAccessors}. */
+        private final int[] m_columnSlots;
+        private final ColumnAccessor[] m_columnAccessors;
+
+        /** The problem binding the flow variables and the row count, {@code null} if there was none. */
+        private final IllegalPropertyException m_bindingProblem;
+
         /**
          * @param expression This reference is used to close the expression's open resources, see
          *            {@link MultiColumnStringManipulationCalculator#close()}.
          * @param expressionInstance The instance is created from
          *            {@link MultiColumnStringManipulationCalculator#m_expression} and used to evaluate the expression
          *            and compute cell values.
-         * @param expressionContext Used to pass data to the expression, specifically the currently iterated column's
-         *            value and flow variable values.
-         * @param usedInputFields Maps the expressions input fields (as used in {@link #m_expressionContext}) that refer
-         *            to columns, e.g., $column1$ to column accessors for retrieving their values.
+         * @param usedInputFields Maps the expressions input fields that refer to columns, e.g., $column1$ to column
+         *            accessors for retrieving their values.
          * @param cellConstructor Used to convert the object produced by the evaluation of the java expression to a data
          *            cell.
+         * @param bindingProblem The problem binding the constant fields, reported when a cell is evaluated, can be
+         *            {@code null}.
          */
         private ManagedExpression(final Expression expression, final ExpressionInstance expressionInstance,
-            final Map<InputField, Object> expressionContext, final Map<InputField, ColumnAccessor> usedInputFields,
-            final Function<Object, DataCell> cellConstructor) {
+            final Map<InputField, ColumnAccessor> usedInputFields, final Function<Object, DataCell> cellConstructor,
+            final IllegalPropertyException bindingProblem) {
             super();
             m_expression = expression;
             m_expressionInstance = expressionInstance;
-            m_expressionContext = expressionContext;
-            m_usedInputFields = usedInputFields;
             m_cellConstructor = cellConstructor;
+            m_bindingProblem = bindingProblem;
+            m_rowIndexSlot = expressionInstance.getSlot(ROW_INDEX_INPUT_FIELD);
+            m_rowIdSlot = expressionInstance.getSlot(ROW_ID_INPUT_FIELD);
+            m_currentColumnSlot = expressionInstance.getSlot(CURRENT_COLUMN_INPUT_FIELD);
+            m_columnSlots = new int[usedInputFields.size()];
+            m_columnAccessors = new ColumnAccessor[usedInputFields.size()];
+            int i = 0;
+            for (Map.Entry<InputField, ColumnAccessor> e : usedInputFields.entrySet()) {
+                m_columnSlots[i] = expressionInstance.getSlot(e.getKey());
+                m_columnAccessors[i] = e.getValue();
+                i++;
+            }
         }
 
+        /** Sets the value of a field of the expression instance, does nothing if the field is not used. */
+        private void set(final int slot, final Object value) throws IllegalPropertyException {
+            if (slot >= 0) {
+                m_expressionInstance.set(slot, value);
+            }
+        }
 
     }
 
     /**
-     * Reusable key for the expression context map {@link #m_expressionContext}. Used to pass the currently iterated
-     * column's value into the java snippet expression.
+     * Input field used to pass the currently iterated column's value into the java snippet expression.
      */
     private static final InputField CURRENT_COLUMN_INPUT_FIELD =
         new InputField(MultiColumnStringManipulationSettings.getCurrentColumnReferenceName(), FieldType.Variable);
 
     /**
-     * Reusable key for the expression context map {@link #m_expressionContext} Used to pass the id of the currently
-     * processed row to the expression.
+     * Input field used to pass the id of the currently processed row to the expression.
      */
     private static final InputField ROW_ID_INPUT_FIELD = new InputField(Expression.ROWID, FieldType.TableConstant);
 
     /**
-     * Reusable key for the expression context map {@link #m_compiledExpression.m_expressionContext} Used to pass the
-     * index/offset of the currently processed row to the expression.
+     * Input field used to pass the index/offset of the currently processed row to the expression.
      */
     private static final InputField ROW_INDEX_INPUT_FIELD =
         new InputField(Expression.ROWINDEX, FieldType.TableConstant);
@@ -332,8 +354,17 @@ static MultiColumnStringManipulationCalculator create(final MultiColumnStringMan
             final Function<Object, DataCell> cellConstructor = (final Object o) -> o == null ? DataType.getMissingCell()
                 : transformer.getReturnJavaSnippetType().asKNIMECell(o);
 
-            managedExpressions.put(columnType, new ManagedExpression(expression, expressionInstance, expressionContext,
-                usedInputFields, cellConstructor));
+            // flow variables and the row count are constant, they are bound once, all other fields per row and cell
+            // a problem (e.g. a flow variable of wrong type) is reported per cell, respecting failOnEvaluationProblems
+            IllegalPropertyException bindingProblem = null;
+            try {
+                expressionInstance.set(expressionContext);
+            } catch (IllegalPropertyException e) {
+                bindingProblem = e;
+            }
+
+            managedExpressions.put(columnType, new ManagedExpression(expression, expressionInstance, usedInputFields,
+                cellConstructor, bindingProblem));
 
         }
 
@@ -507,28 +538,34 @@ public DataCell[] getCells(final DataRow row) {
 
             ManagedExpression me = e.getValue();
 
-            // update the input fields of the compiled expression
-            me.m_expressionContext.put(ROW_INDEX_INPUT_FIELD, castRowCountToInt(m_lastProcessedRow));
-            me.m_expressionContext.put(ROW_ID_INPUT_FIELD, row.getKey().getString());
-
-            // static column references
-            // pass current row's cell values from statically referenced columns to expression context
-            // each input field represents a column and is mapped to its column index in the input table
-            for (Map.Entry<InputField, ColumnAccessor> inputFieldToColumnIdx : me.m_usedInputFields.entrySet()) {
-
-                // put the row's cell value into the expression context
-                // statically referenced column values are unboxed back to java types
-                Object cellContentsObject = inputFieldToColumnIdx.getValue().getCellContents(row);
-
-                // if any of the statically referenced columns has a missing value, the expression has a missing value
-                // for every iterated column. If evaluation with missing values is off, return missing values for
-                // every iterated column.
-                if (!m_evaluateWithMissingValues && cellContentsObject == null) {
-                    Arrays.fill(result, DataType.getMissingCell());
-                    return result;
-                }
+            try {
+                // update the input fields of the compiled expression
+                me.set(me.m_rowIndexSlot, castRowCountToInt(m_lastProcessedRow));
+                me.set(me.m_rowIdSlot, row.getKey().getString());
+
+                // static column references
+                // pass current row's cell values from statically referenced columns to the expression
+                for (int i = 0; i < me.m_columnAccessors.length; i++) {
+
+                    // statically referenced column values are unboxed back to java types
+                    Object cellContentsObject = me.m_columnAccessors[i].getCellContents(row);
+
+                    // if any of the statically referenced columns has a missing value, the expression has a missing
+                    // value for every iterated column. If evaluation with missing values is off, return missing values
+                    // for every iterated column.
+                    if (!m_evaluateWithMissingValues && cellContentsObject == null) {
+                        Arrays.fill(result, DataType.getMissingCell());
+                        return result;
+                    }
 
-                me.m_expressionContext.put(inputFieldToColumnIdx.getKey(), cellContentsObject);
+                    me.set(me.m_columnSlots[i], cellContentsObject);
+                }
+            } catch (IllegalPropertyException ipe) {
+                failOrContinue(row, ipe.getMessage(), ipe);
+                // the fields might still hold the values of the previous row, do not evaluate with them
+                Arrays.fill(result, DataType.getMissingCell());
+                m_lastProcessedRow += 1;
+                return result;
             }
         }
 
@@ -562,14 +599,17 @@ private DataCell evaluate(final DataRow row, final ManagedExpression me, final C
             return DataType.getMissingCell();
         }
 
-        me.m_expressionContext.put(CURRENT_COLUMN_INPUT_FIELD, cellContents);
+        if (me.m_bindingProblem != null) {
+            failOrContinue(row, me.m_bindingProblem.getMessage(), me.m_bindingProblem);
+            return DataType.getMissingCell();
+        }
 
         // compute cell content
         // code adapted from ColumnCalculator
         Object evaluationResult = null;
         try {
-            // bind variables in expression through context mapping
-            me.m_expressionInstance.set(me.m_expressionContext);
+            // bind the current column's value, all other fields are already bound
+            me.set(me.m_currentColumnSlot, cellContents);
             // run
             evaluationResult = me.m_expressionInstance.evaluate();
 
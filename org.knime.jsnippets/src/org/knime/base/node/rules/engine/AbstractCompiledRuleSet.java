@@ -0,0 +1,201 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   16.10.2026 (KNIME AG): created
+ */
+package org.knime.base.node.rules.engine;
+
+import java.util.regex.Pattern;
+
+import org.knime.core.data.BooleanValue;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataValueComparator;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.def.BooleanCell;
+
+/**
+ * Super class of the rule sets generated by the {@link RuleSetCompiler}. The generated class evaluates the conditions
+ * of the rules with typed comparisons and short-circuit logic. Boolean sub-expressions are evaluated to one of
+ * {@link #TRUE}, {@link #FALSE} and {@link #MISSING}; parts that are not compiled are evaluated by the
+ * {@link Expression}s they were generated from.
+ * <p>
+ * Implementations keep no state between calls, so they can be used by several threads.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 5.12
+ * @noreference This class is not intended to be referenced by clients.
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public abstract class AbstractCompiledRuleSet {
+    /** Result of a boolean sub-expression that is {@code true}. */
+    protected static final int TRUE = 1;
+
+    /** Result of a boolean sub-expression that is {@code false}. */
+    protected static final int FALSE = 0;
+
+    /** Result of a boolean sub-expression that is missing. */
+    protected static final int MISSING = -1;
+
+    private final Rule[] m_rules;
+
+    private final Expression[] m_expressions;
+
+    /**
+     * @param rules The compiled rules, in order.
+     * @param expressions The {@link Expression}s by the ids used in the generated code.
+     */
+    protected AbstractCompiledRuleSet(final Rule[] rules, final Expression[] expressions) {
+        m_rules = rules;
+        m_expressions = expressions;
+    }
+
+    /**
+     * Finds the first rule whose condition matches.
+     *
+     * @param row The current {@link DataRow}.
+     * @param provider The {@link VariableProvider}.
+     * @return The index of the first matching rule, or {@code -1} if no rule matches.
+     */
+    public abstract int firstMatch(DataRow row, VariableProvider provider);
+
+    /**
+     * Evaluates the condition of a rule that was not compiled.
+     *
+     * @param rule The index of the rule.
+     * @param row The current {@link DataRow}.
+     * @param provider The {@link VariableProvider}.
+     * @return Whether the rule matches.
+     */
+    protected final boolean matches(final int rule, final DataRow row, final VariableProvider provider) {
+        return m_rules[rule].getCondition().isMatch(row, provider);
+    }
+
+    /**
+     * Evaluates a boolean {@link Expression} that was not compiled.
+     *
+     * @param expression The id of the expression.
+     * @param row The current {@link DataRow}.
+     * @param provider The {@link VariableProvider}.
+     * @return {@link #TRUE}, {@link #FALSE} or {@link #MISSING}.
+     */
+    protected final int interpret(final int expression, final DataRow row, final VariableProvider provider) {
+        final Boolean value = m_expressions[expression].evaluateBoolean(row, provider);
+        return value == null ? MISSING : value.booleanValue() ? TRUE : FALSE;
+    }
+
+    /**
+     * Evaluates an {@link Expression} that was not compiled.
+     *
+     * @param expression The id of the expression.
+     * @param row The current {@link DataRow}.
+     * @param provider The {@link VariableProvider}.
+     * @return The value of the expression.
+     */
+    protected final DataCell value(final int expression, final DataRow row, final VariableProvider provider) {
+        return m_expressions[expression].evaluate(row, provider).getValue();
+    }
+
+    /**
+     * @param cell A boolean or missing {@link DataCell}.
+     * @return {@link #TRUE}, {@link #FALSE} or {@link #MISSING}.
+     * @throws IllegalStateException If {@code cell} is neither missing nor a {@link BooleanValue}.
+     */
+    protected static int truth(final DataCell cell) {
+        if (cell.isMissing()) {
+            return MISSING;
+        }
+        if (cell instanceof BooleanValue) {
+            return ((BooleanValue)cell).getBooleanValue() ? TRUE : FALSE;
+        }
+        throw new IllegalStateException("Not boolean: " + cell);
+    }
+
+    /**
+     * @param cell A cell of a boolean column.
+     * @return {@link BooleanCell#FALSE} if {@code cell} is missing, else {@code cell}.
+     */
+    protected static DataCell missingAsFalse(final DataCell cell) {
+        return cell.isMissing() ? BooleanCell.FALSE : cell;
+    }
+
+    /**
+     * @param cell A {@link DataCell}.
+     * @return {@code true} iff {@code cell} is a {@link DoubleValue} with a {@link Double#NaN} number.
+     */
+    protected static boolean isNaN(final DataCell cell) {
+        return cell instanceof DoubleValue && Double.isNaN(((DoubleValue)cell).getDoubleValue());
+    }
+
+    /**
+     * @param comparator The comparator of the common super type of the operands.
+     * @param left The non-missing left operand.
+     * @param right The non-missing right operand.
+     * @return The signum of the comparison.
+     */
+    protected static int compare(final DataValueComparator comparator, final DataCell left, final DataCell right) {
+        return Util.signum(comparator.compare(left, right));
+    }
+
+    /**
+     * Matches a value against a constant pattern like the {@code MATCHES} and {@code LIKE} operators.
+     *
+     * @param pattern The compiled pattern.
+     * @param left The value to match.
+     * @return {@link #TRUE} or {@link #FALSE}, missing values do not match.
+     * @throws IllegalStateException If {@code left} is not a {@link StringValue}.
+     */
+    protected static int matches(final Pattern pattern, final DataCell left) {
+        if (left.isMissing()) {
+            return FALSE;
+        }
+        if (left instanceof StringValue) {
+            return pattern.matcher(((StringValue)left).getStringValue()).matches() ? TRUE : FALSE;
+        }
+        throw new IllegalStateException("Both the m_value and the pattern have to be strings: " + left + " ["
+            + left.getType() + "], " + pattern.pattern());
+    }
+}
@@ -54,6 +54,7 @@
 import org.knime.core.data.BooleanValue;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
+import org.knime.core.data.def.BooleanCell;
 
 /**
  * Condition for a rule.
@@ -149,6 +150,30 @@ public static CommentOutcome getInstance() {
          * @since 2.8
          */
         class GenericMatchOutcome implements MatchOutcome {
+            /**
+             * Shared {@link MatchState#matchedAndStop} outcome without matched objects.
+             *
+             * @since 5.12
+             */
+            public static final GenericMatchOutcome MATCHED_AND_STOP =
+                new GenericMatchOutcome(MatchState.matchedAndStop, Collections.emptyMap());
+
+            /**
+             * Shared {@link MatchState#nonMatched} outcome without matched objects.
+             *
+             * @since 5.12
+             */
+            public static final GenericMatchOutcome NON_MATCHED =
+                new GenericMatchOutcome(MatchState.nonMatched, Collections.emptyMap());
+
+            /**
+             * Shared {@link MatchState#skipped} outcome without matched objects.
+             *
+             * @since 5.12
+             */
+            public static final GenericMatchOutcome SKIPPED =
+                new GenericMatchOutcome(MatchState.skipped, Collections.emptyMap());
+
             private final MatchState m_state;
 
             private final Map<String, Map<String, String>> m_matchedObjects;
@@ -203,6 +228,20 @@ public String toString() {
      */
     MatchOutcome matches(DataRow row, VariableProvider provider);
 
+    /**
+     * Checks whether the current row and the variables match the {@link Condition}, without computing the matched
+     * objects.
+     *
+     * @param row The current {@link DataRow}.
+     * @param provider A {@link VariableProvider}.
+     * @return {@code true} iff {@link #matches(DataRow, VariableProvider)} would result in
+     *         {@link MatchState#matchedAndStop}.
+     * @since 5.12
+     */
+    default boolean isMatch(final DataRow row, final VariableProvider provider) {
+        return matches(row, provider).getOutcome() == MatchState.matchedAndStop;
+    }
+
     /**
      * @return The part of {@link #getLine()} that was used to create the {@link Condition}.
      */
@@ -298,6 +337,9 @@ class GenericCondition implements Condition {
 
         private final Expression m_expression;
 
+        /** Whether {@link #m_expression} always evaluates to a {@link BooleanValue} or missing. */
+        private final boolean m_booleanExpression;
+
         /**
          * Constructs a {@link GenericCondition}.
          *
@@ -313,6 +355,7 @@ public GenericCondition(final String line, final String text, final boolean enab
             this.m_text = text;
             this.m_enabled = enabled;
             this.m_expression = expression;
+            this.m_booleanExpression = BooleanCell.TYPE.isASuperTypeOf(expression.getOutputType());
         }
 
         /**
@@ -346,21 +389,31 @@ public String getText() {
         public MatchOutcome matches(final DataRow row, final VariableProvider provider) {
             final ExpressionValue value = m_expression.evaluate(row, provider);
             if (value.getValue().isMissing()) {
-                return new MatchOutcome.GenericMatchOutcome(MatchState.skipped,
-                    Collections.<String, Map<String, String>> emptyMap());
+                return MatchOutcome.GenericMatchOutcome.SKIPPED;
             }
             final DataCell cell = value.getValue();
             if (cell instanceof BooleanValue) {
                 final BooleanValue bv = (BooleanValue)cell;
                 if (bv.getBooleanValue()) {
-                    return new MatchOutcome.GenericMatchOutcome(MatchState.matchedAndStop, value.getMatchedObjects());
+                    return value.getMatchedObjects().isEmpty() ? MatchOutcome.GenericMatchOutcome.MATCHED_AND_STOP
+                        : new MatchOutcome.GenericMatchOutcome(MatchState.matchedAndStop, value.getMatchedObjects());
                 }
-                return new MatchOutcome.GenericMatchOutcome(MatchState.nonMatched,
-                    Collections.<String, Map<String, String>> emptyMap());
+                return MatchOutcome.GenericMatchOutcome.NON_MATCHED;
             }
             return new MatchOutcome.GenericMatchOutcome(MatchState.stopProcessing, value.getMatchedObjects());
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isMatch(final DataRow row, final VariableProvider provider) {
+            if (m_booleanExpression) {
+                return Boolean.TRUE.equals(m_expression.evaluateBoolean(row, provider));
+            }
+            return Condition.super.isMatch(row, provider);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -51,6 +51,8 @@
 import java.util.Collections;
 import java.util.List;
 
+import org.knime.core.data.BooleanValue;
+import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataType;
 
@@ -124,6 +126,27 @@ public enum ASTType {
      */
     ExpressionValue evaluate(DataRow row, VariableProvider provider);
 
+    /**
+     * Computes the value of a boolean {@link Expression} without wrapping it to an {@link ExpressionValue}. The matched
+     * objects are not computed. The default implementation delegates to {@link #evaluate(DataRow, VariableProvider)}.
+     *
+     * @param row A {@link DataRow}.
+     * @param provider The {@link VariableProvider}.
+     * @return {@link Boolean#TRUE} or {@link Boolean#FALSE}, {@code null} when the result is missing.
+     * @throws IllegalStateException When the result is not a {@link BooleanValue}.
+     * @since 5.12
+     */
+    default Boolean evaluateBoolean(final DataRow row, final VariableProvider provider) {
+        final DataCell cell = evaluate(row, provider).getValue();
+        if (cell.isMissing()) {
+            return null;
+        }
+        if (cell instanceof BooleanValue) {
+            return Boolean.valueOf(((BooleanValue)cell).getBooleanValue());
+        }
+        throw new IllegalStateException("Not boolean: " + cell);
+    }
+
     /**
      * @return {@code true} means it can be evaluated during construction.
      */
@@ -52,6 +52,7 @@
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -131,6 +132,18 @@ public ExpressionValue evaluate(final DataRow row, final VariableProvider provid
             return m_value;
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Boolean evaluateBoolean(final DataRow row, final VariableProvider provider) {
+            final DataCell cell = m_value.getValue();
+            if (cell instanceof BooleanValue) {
+                return Boolean.valueOf(((BooleanValue)cell).getBooleanValue());
+            }
+            return super.evaluateBoolean(row, provider);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -156,6 +169,28 @@ public ASTType getTreeType() {
         }
     }
 
+    /**
+     * A least recently used cache of the compiled {@link Pattern}s. Access has to be synchronized on the cache.
+     */
+    private static final class PatternCache extends LinkedHashMap<String, Pattern> {
+        private static final long serialVersionUID = 1L;
+
+        /** The number of patterns kept. */
+        private static final int SIZE = 1024;
+
+        private PatternCache() {
+            super(16, .75f, true);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Pattern> eldest) {
+            return size() > SIZE;
+        }
+    }
+
     /**
      * An {@link Expression} base class for regular expressions. <br/>
      * {@link Expression#isConstant()} optimization is only done on the right (pattern) {@link Expression}.
@@ -178,6 +213,12 @@ private abstract class RegExExpression extends Expression.Base {
 
         private final Map<String, Map<String, String>> m_rightConstantMap;
 
+        /** Whether the groups are captured, decided when the pattern is known. */
+        private final boolean m_captureGroups;
+
+        /** The patterns compiled from the values of a non-constant {@link #m_right}, {@code null} if constant. */
+        private final PatternCache m_patterns;
+
         /**
          * Constructor for {@link RegExExpression}.
          *
@@ -212,6 +253,23 @@ private RegExExpression(final Expression left, final Expression right, final Str
             }
             m_pattern = pattern;
             m_rightConstantMap = map;
+            m_captureGroups = m_captureMatchedObjects && (pattern == null || pattern.matcher("").groupCount() > 0);
+            m_patterns = pattern == null ? new PatternCache() : null;
+        }
+
+        /**
+         * @param text The value of the {@link #m_right} expression.
+         * @return The (possibly cached) {@link Pattern} for {@code text}.
+         */
+        private Pattern pattern(final String text) {
+            synchronized (m_patterns) {
+                Pattern pattern = m_patterns.get(text);
+                if (pattern == null) {
+                    pattern = Pattern.compile(transform(text));
+                    m_patterns.put(text, pattern);
+                }
+                return pattern;
+            }
         }
 
         /**
@@ -252,6 +310,10 @@ private ExpressionValue match(final ExpressionValue leftValue,
             final String l = lString.getStringValue();
             final Matcher matcher = pattern.matcher(l);
             final boolean res = m_match ? matcher.matches() : matcher.find();
+            if (!res || !m_captureGroups || matcher.groupCount() == 0) {
+                return new ExpressionValue(BooleanCellFactory.create(res),
+                    merge(leftValue.getMatchedObjects(), rightObjects));
+            }
             final Map<String, Map<String, String>> mergedObjects =
                 Util.mergeObjects(leftValue.getMatchedObjects(), rightObjects);
             for (int i = 1; i <= matcher.groupCount(); ++i) {
@@ -265,6 +327,16 @@ private ExpressionValue match(final ExpressionValue leftValue,
             return new ExpressionValue(BooleanCellFactory.create(res), mergedObjects);
         }
 
+        /**
+         * @param pattern A regular expression's compiled {@link Pattern}.
+         * @param lString The value of the string to match on.
+         * @return Whether {@code lString} matches (or contains) the {@code pattern}.
+         */
+        private boolean test(final Pattern pattern, final StringValue lString) {
+            final Matcher matcher = pattern.matcher(lString.getStringValue());
+            return m_match ? matcher.matches() : matcher.find();
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -290,7 +362,7 @@ public ExpressionValue evaluate(final DataRow row, final VariableProvider provid
             }
             if (rightCell instanceof StringValue) {
                 StringValue rString = (StringValue)rightCell;
-                Pattern pattern = Pattern.compile(transform(rString.getStringValue()));
+                Pattern pattern = pattern(rString.getStringValue());
                 if (leftCell instanceof StringValue) {
                     StringValue lString = (StringValue)leftCell;
                     return match(leftValue, rightValue.getMatchedObjects(), lString, pattern);
@@ -300,6 +372,34 @@ public ExpressionValue evaluate(final DataRow row, final VariableProvider provid
                 + leftCell.getType() + "], " + rightCell + " [" + rightCell.getType() + "]");
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Boolean evaluateBoolean(final DataRow row, final VariableProvider provider) {
+            final DataCell leftCell = valueOf(m_left, row, provider);
+            if (m_pattern != null) {
+                if (leftCell.isMissing()) {
+                    return Boolean.FALSE;
+                }
+                if (leftCell instanceof StringValue) {
+                    return Boolean.valueOf(test(m_pattern, (StringValue)leftCell));
+                }
+                throw new IllegalStateException("Both the m_value and the pattern have to be strings: " + leftCell
+                    + " [" + leftCell.getType() + "], " + m_pattern.pattern());
+            }
+            final DataCell rightCell = valueOf(m_right, row, provider);
+            if (leftCell.isMissing() || rightCell.isMissing()) {
+                return Boolean.FALSE;
+            }
+            if (rightCell instanceof StringValue && leftCell instanceof StringValue) {
+                final Pattern pattern = pattern(((StringValue)rightCell).getStringValue());
+                return Boolean.valueOf(test(pattern, (StringValue)leftCell));
+            }
+            throw new IllegalStateException("Both the m_value and the pattern have to be strings: " + leftCell + " ["
+                + leftCell.getType() + "], " + rightCell + " [" + rightCell.getType() + "]");
+        }
+
         /**
          * Converts the pattern to a regular expression.
          *
@@ -325,8 +425,122 @@ public String toString() {
         }
     }
 
+    /**
+     * {@link Expression} for column references. The column index is exposed for the {@link RuleSetCompiler}.
+     *
+     * @since 5.12
+     */
+    static final class ColumnRefExpression extends Expression.Base {
+        private final DataTableSpec m_spec;
+
+        private final String m_columnRef;
+
+        private final int m_position;
+
+        private final boolean m_missingAsFalse;
+
+        /**
+         * @param spec The {@link DataTableSpec}.
+         * @param columnRef Name of the column.
+         * @param position Index of the column in {@code spec}.
+         * @param missingAsFalse Whether missing values are evaluated to {@code false} (for boolean columns).
+         */
+        private ColumnRefExpression(final DataTableSpec spec, final String columnRef, final int position,
+            final boolean missingAsFalse) {
+            super();
+            m_spec = spec;
+            m_columnRef = columnRef;
+            m_position = position;
+            m_missingAsFalse = missingAsFalse;
+        }
+
+        /**
+         * @return the index of the referenced column
+         */
+        int getColumnIndex() {
+            return m_position;
+        }
+
+        /**
+         * @return whether missing values are evaluated to {@link BooleanCell#FALSE}
+         */
+        boolean isMissingAsFalse() {
+            return m_missingAsFalse;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public List<DataType> getInputArgs() {
+            return Collections.emptyList();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public DataType getOutputType() {
+            return m_spec.getColumnSpec(m_columnRef).getType();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public ExpressionValue evaluate(final DataRow row, final VariableProvider provider) {
+            final DataCell cell = row.getCell(m_position);
+            if (m_missingAsFalse && cell.isMissing()) {
+                return new ExpressionValue(BooleanCell.FALSE, EMPTY_MAP);
+            }
+            return new ExpressionValue(cell, EMPTY_MAP);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Boolean evaluateBoolean(final DataRow row, final VariableProvider provider) {
+            final DataCell cell = row.getCell(m_position);
+            if (cell.isMissing()) {
+                return m_missingAsFalse ? Boolean.FALSE : null;
+            }
+            if (cell instanceof BooleanValue) {
+                return Boolean.valueOf(((BooleanValue)cell).getBooleanValue());
+            }
+            throw new IllegalStateException("Not boolean: " + cell);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isConstant() {
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return "$" + m_columnRef + "$";
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public ASTType getTreeType() {
+            return ASTType.ColRef;
+        }
+    }
+
     private boolean m_missingMatch = true, m_nanMatch = true;
 
+    /** Whether the groups of regular expressions are captured in the matched objects. */
+    private boolean m_captureMatchedObjects = true;
+
     /** A constant to avoid type inference problems. */
     private static final Map<String, Map<String, String>> EMPTY_MAP = Collections
         .<String, Map<String, String>> emptyMap();
@@ -362,6 +576,57 @@ public ExpressionFactory withMissingsDoNotMatch() {
         return ret;
     }
 
+    /**
+     * @return An {@link ExpressionFactory} that do not capture the groups of {@code LIKE} and {@code MATCHES} in the
+     *         matched objects, so evaluation does not allocate maps for them.
+     * @since 5.12
+     */
+    public ExpressionFactory withoutMatchedObjects() {
+        ExpressionFactory ret = clone();
+        ret.m_captureMatchedObjects = false;
+        return ret;
+    }
+
+    /**
+     * Merges matched objects without allocating a new map when one of them is empty. The result must not be modified.
+     *
+     * @param first Some matched objects.
+     * @param second Other matched objects.
+     * @return The merged matched objects.
+     */
+    private static Map<String, Map<String, String>> merge(final Map<String, Map<String, String>> first,
+        final Map<String, Map<String, String>> second) {
+        if (second.isEmpty()) {
+            return first;
+        }
+        if (first.isEmpty()) {
+            return second;
+        }
+        return Util.mergeObjects(first, second);
+    }
+
+    /**
+     * Computes the value of an {@link Expression} without allocating an {@link ExpressionValue} for column references
+     * and constants. The matched objects are not computed.
+     *
+     * @param expression An {@link Expression}.
+     * @param row The current {@link DataRow}.
+     * @param provider The {@link VariableProvider}.
+     * @return The value of {@code expression}.
+     */
+    private static DataCell valueOf(final Expression expression, final DataRow row,
+        final VariableProvider provider) {
+        if (expression instanceof ColumnRefExpression) {
+            final ColumnRefExpression ref = (ColumnRefExpression)expression;
+            final DataCell cell = row.getCell(ref.m_position);
+            return ref.m_missingAsFalse && cell.isMissing() ? BooleanCell.FALSE : cell;
+        }
+        if (expression instanceof ConstantExpression) {
+            return ((ConstantExpression)expression).m_value.getValue();
+        }
+        return expression.evaluate(row, provider).getValue();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -373,6 +638,7 @@ protected final ExpressionFactory clone() {
             ExpressionFactory ret = new ExpressionFactory();
             ret.m_missingMatch = m_missingMatch;
             ret.m_nanMatch = m_nanMatch;
+            ret.m_captureMatchedObjects = m_captureMatchedObjects;
             return ret;
         }
     }
@@ -420,6 +686,15 @@ public ExpressionValue evaluate(final DataRow row, final VariableProvider provid
                 throw new IllegalStateException("Not boolean: " + v.getValue());
             }
 
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public Boolean evaluateBoolean(final DataRow row, final VariableProvider provider) {
+                final Boolean v = expressionToNegate.evaluateBoolean(row, provider);
+                return v == null ? null : Boolean.valueOf(!v.booleanValue());
+            }
+
             /**
              * {@inheritDoc}
              */
@@ -476,7 +751,7 @@ public List<DataType> getInputArgs() {
             @Override
             public ExpressionValue evaluate(final DataRow row, final VariableProvider provider) {
                 DataCell ret = BooleanCell.TRUE;
-                Map<String, Map<String, String>> matchedObjects = new HashMap<String, Map<String, String>>();
+                Map<String, Map<String, String>> matchedObjects = EMPTY_MAP;
                 for (Expression boolExpression : boolExpressions) {
                     ExpressionValue v = boolExpression.evaluate(row, provider);
                     DataCell cell = v.getValue();
@@ -484,7 +759,7 @@ public ExpressionValue evaluate(final DataRow row, final VariableProvider provid
                     if (cell instanceof BooleanValue) {
                         BooleanValue bool = (BooleanValue)cell;
                         if (bool.getBooleanValue()) {
-                            matchedObjects = Util.mergeObjects(matchedObjects, v.getMatchedObjects());
+                            matchedObjects = merge(matchedObjects, v.getMatchedObjects());
                         } else {
                             return new ExpressionValue(BooleanCell.FALSE, EMPTY_MAP);
                         }
@@ -497,6 +772,23 @@ public ExpressionValue evaluate(final DataRow row, final VariableProvider provid
                 return new ExpressionValue(ret, matchedObjects);
             }
 
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public Boolean evaluateBoolean(final DataRow row, final VariableProvider provider) {
+                Boolean ret = Boolean.TRUE;
+                for (Expression boolExpression : boolExpressions) {
+                    final Boolean v = boolExpression.evaluateBoolean(row, provider);
+                    if (v == null) {
+                        ret = null;
+                    } else if (!v.booleanValue()) {
+                        return Boolean.FALSE;
+                    }
+                }
+                return ret;
+            }
+
             /**
              * {@inheritDoc}
              */
@@ -569,7 +861,7 @@ public List<DataType> getInputArgs() {
             @Override
             public ExpressionValue evaluate(final DataRow row, final VariableProvider provider) {
                 DataCell ret = BooleanCell.FALSE;
-                Map<String, Map<String, String>> matchedObjects = new HashMap<String, Map<String, String>>();
+                Map<String, Map<String, String>> matchedObjects = EMPTY_MAP;
                 for (Expression boolExpression : boolExpressions) {
                     ExpressionValue v = boolExpression.evaluate(row, provider);
                     DataCell cell = v.getValue();
@@ -577,7 +869,7 @@ public ExpressionValue evaluate(final DataRow row, final VariableProvider provid
                     if (cell instanceof BooleanValue) {
                         BooleanValue bool = (BooleanValue)cell;
                         if (!bool.getBooleanValue()) {
-                            matchedObjects = Util.mergeObjects(matchedObjects, v.getMatchedObjects());
+                            matchedObjects = merge(matchedObjects, v.getMatchedObjects());
                         } else {
                             return new ExpressionValue(BooleanCell.TRUE, matchedObjects);
                         }
@@ -590,6 +882,23 @@ public ExpressionValue evaluate(final DataRow row, final VariableProvider provid
                 return new ExpressionValue(ret, matchedObjects);
             }
 
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public Boolean evaluateBoolean(final DataRow row, final VariableProvider provider) {
+                Boolean ret = Boolean.FALSE;
+                for (Expression boolExpression : boolExpressions) {
+                    final Boolean v = boolExpression.evaluateBoolean(row, provider);
+                    if (v == null) {
+                        ret = null;
+                    } else if (v.booleanValue()) {
+                        return Boolean.TRUE;
+                    }
+                }
+                return ret;
+            }
+
             /**
              * {@inheritDoc}
              */
@@ -668,7 +977,7 @@ public ExpressionValue evaluate(final DataRow row, final VariableProvider provid
                         return new ExpressionValue(cell, EMPTY_MAP);
                     } else if (cell instanceof BooleanValue) {
                         BooleanValue bool = (BooleanValue)cell;
-                        matchedObjects = Util.mergeObjects(matchedObjects, v.getMatchedObjects());
+                        matchedObjects = merge(matchedObjects, v.getMatchedObjects());
                         ret = (BooleanCell)BooleanCellFactory.create(ret.getBooleanValue() ^ bool.getBooleanValue());
                     } else {
                         throw new IllegalStateException("Not a boolean value: " + v.getValue());
@@ -677,6 +986,22 @@ public ExpressionValue evaluate(final DataRow row, final VariableProvider provid
                 return new ExpressionValue(ret, matchedObjects);
             }
 
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public Boolean evaluateBoolean(final DataRow row, final VariableProvider provider) {
+                boolean ret = false;
+                for (Expression boolExpression : boolExpressions) {
+                    final Boolean v = boolExpression.evaluateBoolean(row, provider);
+                    if (v == null) {
+                        return null;
+                    }
+                    ret ^= v.booleanValue();
+                }
+                return Boolean.valueOf(ret);
+            }
+
             /**
              * {@inheritDoc}
              */
@@ -736,6 +1061,14 @@ public ExpressionValue evaluate(final DataRow row, final VariableProvider provid
                 return new ExpressionValue(BooleanCellFactory.create(valCell.isMissing()), EMPTY_MAP);
             }
 
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public Boolean evaluateBoolean(final DataRow row, final VariableProvider provider) {
+                return Boolean.valueOf(valueOf(reference, row, provider).isMissing());
+            }
+
             /**
              * {@inheritDoc}
              */
@@ -795,6 +1128,14 @@ public ExpressionValue evaluate(final DataRow row, final VariableProvider provid
                 return new ExpressionValue(BooleanCellFactory.create(valCell.isMissing()), EMPTY_MAP);
             }
 
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public Boolean evaluateBoolean(final DataRow row, final VariableProvider provider) {
+                return Boolean.valueOf(valueOf(reference, row, provider).isMissing());
+            }
+
             /**
              * {@inheritDoc}
              */
@@ -856,63 +1197,7 @@ private Expression columnRefImpl(final DataTableSpec spec, final String columnRe
         final DataType type = spec.getColumnSpec(position).getType();
         final boolean isBoolean = type.isCompatible(BooleanValue.class);
         assert (!booleanArgumentOfMissing || isBoolean) : type;
-        return new Expression.Base() {
-
-            /**
-             * {@inheritDoc}
-             */
-            @Override
-            public List<DataType> getInputArgs() {
-                return Collections.emptyList();
-            }
-
-            /**
-             * {@inheritDoc}
-             */
-            @Override
-            public DataType getOutputType() {
-                return spec.getColumnSpec(columnRef).getType();
-            }
-
-            /**
-             * {@inheritDoc}
-             */
-            @Override
-            public ExpressionValue evaluate(final DataRow row, final VariableProvider provider) {
-                if (booleanArgumentOfMissing) {
-                    return new ExpressionValue(row.getCell(position), EMPTY_MAP);
-                }
-                final DataCell cell = row.getCell(position);
-                if (isBoolean && cell.isMissing()) {
-                    return new ExpressionValue(BooleanCell.FALSE, EMPTY_MAP);
-                }
-                return new ExpressionValue(row.getCell(position), EMPTY_MAP);
-            }
-
-            /**
-             * {@inheritDoc}
-             */
-            @Override
-            public boolean isConstant() {
-                return false;
-            }
-
-            /**
-             * {@inheritDoc}
-             */
-            @Override
-            public String toString() {
-                return "$" + columnRef + "$";
-            }
-
-            /**
-             * {@inheritDoc}
-             */
-            @Override
-            public ASTType getTreeType() {
-                return ASTType.ColRef;
-            }
-        };
+        return new ColumnRefExpression(spec, columnRef, position, isBoolean && !booleanArgumentOfMissing);
     }
 
     /**
@@ -1039,6 +1324,14 @@ public Expression constant(final int integer) {
         return new ConstantExpression(value);
     }
 
+    /**
+     * @param value The value of a constant {@link Expression}, evaluated in advance.
+     * @return An {@link Expression} always returning {@code value}.
+     */
+    Expression constant(final ExpressionValue value) {
+        return new ConstantExpression(value);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1052,11 +1345,11 @@ public Expression list(final List<Expression> operands) {
         ExpressionValue constantTmp = null;
         if (allIsConstant) {
             final List<DataCell> cells = new ArrayList<DataCell>(operands.size());
-            Map<String, Map<String, String>> matchedObjects = new HashMap<String, Map<String, String>>();
+            Map<String, Map<String, String>> matchedObjects = EMPTY_MAP;
             for (Expression expression : operands) {
                 ExpressionValue v = expression.evaluate(null, null);
                 cells.add(v.getValue());
-                matchedObjects = Util.mergeObjects(matchedObjects, v.getMatchedObjects());
+                matchedObjects = merge(matchedObjects, v.getMatchedObjects());
             }
             constantTmp = new ExpressionValue(CollectionCellFactory.createListCell(cells), matchedObjects);
         }
@@ -1094,11 +1387,11 @@ public ExpressionValue evaluate(final DataRow row, final VariableProvider provid
                     return constant;
                 }
                 final List<DataCell> cells = new ArrayList<DataCell>(operands.size());
-                Map<String, Map<String, String>> matchedObjects = new HashMap<String, Map<String, String>>();
+                Map<String, Map<String, String>> matchedObjects = EMPTY_MAP;
                 for (Expression expression : operands) {
                     ExpressionValue v = expression.evaluate(row, provider);
                     cells.add(v.getValue());
-                    matchedObjects = Util.mergeObjects(matchedObjects, v.getMatchedObjects());
+                    matchedObjects = merge(matchedObjects, v.getMatchedObjects());
                 }
                 return new ExpressionValue(CollectionCellFactory.createListCell(cells), matchedObjects);
             }
@@ -1153,7 +1446,7 @@ public Expression in(final Expression left, final Expression right) {
                         DataType.getCommonSuperType(l.getType(), dataCell.getType()).getComparator();
                     if (cmp.compare(l, dataCell) == 0) {
                         constantTmp =
-                            new ExpressionValue(BooleanCell.TRUE, Util.mergeObjects(leftValue.getMatchedObjects(),
+                            new ExpressionValue(BooleanCell.TRUE, merge(leftValue.getMatchedObjects(),
                                 rightValue.getMatchedObjects()));
                     }
                 }
@@ -1166,6 +1459,9 @@ public Expression in(final Expression left, final Expression right) {
             }
         }
         final ExpressionValue constant = constantTmp;
+        final ExpressionValue rightConstant = right.isConstant() ? right.evaluate(null, null) : null;
+        final InSet values = rightConstant != null && rightConstant.getValue() instanceof CollectionDataValue
+            ? new InSet(left.getOutputType(), (CollectionDataValue)rightConstant.getValue()) : null;
         return new Expression.Base(left, right) {
 
             /**
@@ -1193,6 +1489,12 @@ public ExpressionValue evaluate(final DataRow row, final VariableProvider provid
                 if (constant != null) {
                     return constant;
                 }
+                if (values != null) {
+                    final ExpressionValue leftValue = left.evaluate(row, provider);
+                    return values.contains(leftValue.getValue()) ? new ExpressionValue(BooleanCell.TRUE,
+                        merge(leftValue.getMatchedObjects(), rightConstant.getMatchedObjects()))
+                        : new ExpressionValue(BooleanCell.FALSE, EMPTY_MAP);
+                }
                 ExpressionValue leftValue = left.evaluate(row, provider);
                 ExpressionValue rightValue = right.evaluate(row, provider);
                 DataCell l = leftValue.getValue();
@@ -1206,7 +1508,7 @@ public ExpressionValue evaluate(final DataRow row, final VariableProvider provid
                         DataValueComparator cmp =
                             DataType.getCommonSuperType(l.getType(), dataCell.getType()).getComparator();
                         if (cmp.compare(l, dataCell) == 0) {
-                            return new ExpressionValue(BooleanCell.TRUE, Util.mergeObjects(
+                            return new ExpressionValue(BooleanCell.TRUE, merge(
                                 leftValue.getMatchedObjects(), rightValue.getMatchedObjects()));
                         }
                     }
@@ -1215,6 +1517,35 @@ public ExpressionValue evaluate(final DataRow row, final VariableProvider provid
                 throw new IllegalStateException("Right operand of the 'IN' operator is not a collection.");
             }
 
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public Boolean evaluateBoolean(final DataRow row, final VariableProvider provider) {
+                if (constant != null) {
+                    return super.evaluateBoolean(row, provider);
+                }
+                if (values != null) {
+                    return Boolean.valueOf(values.contains(valueOf(left, row, provider)));
+                }
+                final DataCell l = valueOf(left, row, provider);
+                final DataCell r = valueOf(right, row, provider);
+                if (r.isMissing()) {
+                    return null;
+                }
+                if (r instanceof CollectionDataValue) {
+                    for (DataCell dataCell : (CollectionDataValue)r) {
+                        DataValueComparator cmp =
+                            DataType.getCommonSuperType(l.getType(), dataCell.getType()).getComparator();
+                        if (cmp.compare(l, dataCell) == 0) {
+                            return Boolean.TRUE;
+                        }
+                    }
+                    return Boolean.FALSE;
+                }
+                throw new IllegalStateException("Right operand of the 'IN' operator is not a collection.");
+            }
+
             /**
              * {@inheritDoc}
              */
@@ -1282,9 +1613,24 @@ public DataType getOutputType() {
             public ExpressionValue evaluate(final DataRow row, final VariableProvider provider) {
                 ExpressionValue leftValue = left.evaluate(row, provider);
                 ExpressionValue rightValue = right.evaluate(row, provider);
-                Map<String, Map<String, String>> mergedObjects = Util.mergeObjects(leftValue.getMatchedObjects(), rightValue.getMatchedObjects());
-                DataCell leftCell = leftValue.getValue();
-                DataCell rightCell = rightValue.getValue();
+                return new ExpressionValue(BooleanCellFactory.create(test(leftValue.getValue(), rightValue.getValue())),
+                    merge(leftValue.getMatchedObjects(), rightValue.getMatchedObjects()));
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public Boolean evaluateBoolean(final DataRow row, final VariableProvider provider) {
+                return Boolean.valueOf(test(valueOf(left, row, provider), valueOf(right, row, provider)));
+            }
+
+            /**
+             * @param leftCell The value of the left operand.
+             * @param rightCell The value of the right operand.
+             * @return Whether the comparison holds.
+             */
+            private boolean test(final DataCell leftCell, final DataCell rightCell) {
                 final boolean leftMissing = leftCell.isMissing(), rightMissing = rightCell.isMissing();
                 //Priority over NaNs
                 if (!m_missingMatch && (leftMissing || rightMissing)) {
@@ -1300,21 +1646,21 @@ public ExpressionValue evaluate(final DataRow row, final VariableProvider provid
                             }
                         }
                     }
-                    return new ExpressionValue(BooleanCellFactory.create(bothMissingAndAllowEquals), mergedObjects);
+                    return bothMissingAndAllowEquals;
                 }
                 //No missing values
                 final boolean leftNaN = isNaN(leftCell), rightNaN = isNaN(rightCell);
                 if (!m_nanMatch && (leftNaN || rightNaN)) {
                     //NaNs are considered equals to each other even if it is not by the IEEE spec.
                     boolean bothNaNAndAllowEquals = leftNaN && rightNaN && Arrays.binarySearch(possibleValues, 0) >= 0;
-                    return new ExpressionValue(BooleanCellFactory.create(bothNaNAndAllowEquals), mergedObjects);
+                    return bothNaNAndAllowEquals;
                 }
                 boolean found = false;
                 int compareResult = Util.signum(cmp.compare(leftCell, rightCell));
                 for (int possibleValue : possibleValues) {
                     found |= possibleValue == compareResult;
                 }
-                return new ExpressionValue(BooleanCellFactory.create(found), mergedObjects);
+                return found;
             }
 
             /**
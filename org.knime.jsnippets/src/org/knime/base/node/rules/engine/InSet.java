@@ -0,0 +1,181 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   16.10.2026 (KNIME AG): created
+ */
+package org.knime.base.node.rules.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DataValueComparator;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Index of the constant right operand of the {@code IN} operator. A value is contained if the comparator of the
+ * common super type of its type and the type of an element considers them equal.
+ * <p>
+ * When the values have the expected type, strings are looked up in a hash set, integer numbers in a sorted array and
+ * other values of a single type by binary search with their comparator. Comparators are resolved at construction, the
+ * values are only compared one by one when their types differ from each other or from the expected type.
+ * <p>
+ * Instances are immutable, so they can be used by several threads.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 5.12
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class InSet {
+    private final DataType m_type;
+
+    private final DataCell[] m_values;
+
+    /** The comparators for {@link #m_type} and the {@link #m_values}. */
+    private final DataValueComparator[] m_comparators;
+
+    /** The string values, or {@code null}. */
+    private final Set<String> m_strings;
+
+    /** The sorted integer values, or {@code null}. */
+    private final long[] m_longs;
+
+    /** The comparator used to sort {@link #m_values} when they have the same type, or {@code null}. */
+    private final DataValueComparator m_sortedBy;
+
+    /**
+     * Constructs the index.
+     *
+     * @param type The expected type of the values to look up.
+     * @param values The elements of the list.
+     */
+    InSet(final DataType type, final Iterable<DataCell> values) {
+        m_type = type;
+        final List<DataCell> cells = new ArrayList<>();
+        for (final DataCell value : values) {
+            cells.add(value);
+        }
+        m_values = cells.toArray(new DataCell[cells.size()]);
+        m_comparators = new DataValueComparator[m_values.length];
+        DataType common = m_values.length == 0 ? null : m_values[0].getType();
+        boolean strings = StringCell.TYPE.equals(type), longs = isIntegral(type);
+        for (int i = 0; i < m_values.length; i++) {
+            final DataType valueType = m_values[i].getType();
+            m_comparators[i] = DataType.getCommonSuperType(type, valueType).getComparator();
+            if (common != null && !common.equals(valueType)) {
+                common = null;
+            }
+            strings &= StringCell.TYPE.equals(valueType);
+            longs &= isIntegral(valueType);
+        }
+        if (strings) {
+            m_strings = new HashSet<>();
+            for (final DataCell value : m_values) {
+                m_strings.add(((StringValue)value).getStringValue());
+            }
+        } else {
+            m_strings = null;
+        }
+        if (longs) {
+            m_longs = new long[m_values.length];
+            for (int i = 0; i < m_values.length; i++) {
+                m_longs[i] = ((LongValue)m_values[i]).getLongValue();
+            }
+            Arrays.sort(m_longs);
+        } else {
+            m_longs = null;
+        }
+        if (!strings && !longs && common != null) {
+            m_sortedBy = m_comparators[0];
+            Arrays.sort(m_values, m_sortedBy);
+        } else {
+            m_sortedBy = null;
+        }
+    }
+
+    private static boolean isIntegral(final DataType type) {
+        return IntCell.TYPE.equals(type) || LongCell.TYPE.equals(type);
+    }
+
+    /**
+     * @param cell A {@link DataCell}, can be missing.
+     * @return Whether {@code cell} is equal to one of the values.
+     */
+    public boolean contains(final DataCell cell) {
+        final DataType type = cell.getType();
+        if (type != m_type && !type.equals(m_type)) {
+            for (final DataCell value : m_values) {
+                final DataValueComparator cmp = DataType.getCommonSuperType(type, value.getType()).getComparator();
+                if (cmp.compare(cell, value) == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (m_strings != null) {
+            return m_strings.contains(((StringValue)cell).getStringValue());
+        }
+        if (m_longs != null) {
+            return Arrays.binarySearch(m_longs, ((LongValue)cell).getLongValue()) >= 0;
+        }
+        if (m_sortedBy != null) {
+            return Arrays.binarySearch(m_values, cell, m_sortedBy) >= 0;
+        }
+        for (int i = 0; i < m_values.length; i++) {
+            if (m_comparators[i].compare(cell, m_values[i]) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   16.10.2026 (KNIME AG): created
+ */
+package org.knime.base.node.rules.engine;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Runs tasks in a sub pool of the KNIME thread pool and returns their results in the order they were submitted. The
+ * number of pending tasks is bounded, so the producer can stop reading its input when the queue {@link #isFull() is
+ * full}. The queue is used from a single thread, only the tasks run concurrently.
+ *
+ * @param <T> The type of the results.
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 5.12
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class OrderedTaskQueue<T> implements AutoCloseable {
+    private final ThreadPool m_pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+
+    private final int m_maxPending;
+
+    private final ArrayDeque<Future<T>> m_pending = new ArrayDeque<>();
+
+    /**
+     * @param maxPending The maximal number of tasks submitted, but not yet {@link #poll() polled}.
+     */
+    public OrderedTaskQueue(final int maxPending) {
+        m_maxPending = maxPending;
+    }
+
+    /**
+     * @return whether the maximal number of tasks is pending
+     */
+    public boolean isFull() {
+        return m_pending.size() >= m_maxPending;
+    }
+
+    /**
+     * Submits a task for execution.
+     *
+     * @param task The task computing the next result.
+     */
+    public void submit(final Callable<T> task) {
+        m_pending.add(m_pool.enqueue(task));
+    }
+
+    /**
+     * Waits for the result of the first pending task, without blocking a slot of the thread pool. When the task
+     * failed, all other pending tasks are cancelled and its exception is rethrown.
+     *
+     * @return The result of the task submitted first, or {@code null} if no task is pending.
+     * @throws InterruptedException If waiting was interrupted.
+     */
+    public T poll() throws InterruptedException {
+        final Future<T> future = m_pending.poll();
+        if (future == null) {
+            return null;
+        }
+        try {
+            final ThreadPool current = ThreadPool.currentPool();
+            return current == null ? future.get() : current.runInvisible(future::get);
+        } catch (ExecutionException e) {
+            close();
+            Throwable cause = e;
+            while (cause instanceof ExecutionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof InterruptedException) {
+                throw (InterruptedException)cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new IllegalStateException(cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Cancels the pending tasks, so they do not keep running and holding their data.
+     */
+    @Override
+    public void close() {
+        m_pending.forEach(pending -> pending.cancel(true));
+        m_pending.clear();
+    }
+}
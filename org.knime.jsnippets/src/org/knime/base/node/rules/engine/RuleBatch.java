@@ -0,0 +1,818 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   16.10.2026 (KNIME AG): created
+ */
+package org.knime.base.node.rules.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.knime.base.node.rules.engine.Condition.GenericCondition;
+import org.knime.base.node.rules.engine.Expression.ASTType;
+import org.knime.base.node.rules.engine.ExpressionFactory.ColumnRefExpression;
+import org.knime.base.util.WildcardMatcher;
+import org.knime.core.data.BooleanValue;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DataValueComparator;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.collection.CollectionDataValue;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Evaluates the conditions of rules over a batch of rows. The referenced columns are read into primitive vectors with
+ * missing flags, then each rule is evaluated with tight loops over the rows that did not match an earlier rule (the
+ * selection vector). Comparisons with missing or {@link Double#NaN} values are delegated to the {@link Expression}s,
+ * rows with cells of unexpected types to a {@link RuleMatcher}. Sub-expressions without a vectorized form (for
+ * example flow variables or table properties) are evaluated row by row.
+ * <p>
+ * Instances keep buffers for the current batch, so they must not be used by several threads.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 5.12
+ */
+final class RuleBatch {
+    /** The maximal number of rows in a batch. */
+    static final int SIZE = 1024;
+
+    private static final byte FALSE = 0;
+
+    private static final byte TRUE = 1;
+
+    private static final byte MISSING = 2;
+
+    private final Rule[] m_rules;
+
+    private final Node[] m_conditions;
+
+    private final RuleMatcher m_matcher;
+
+    /** The referenced columns that are read into vectors. */
+    private final List<Column> m_columns = new ArrayList<>();
+
+    private final Map<Integer, Column> m_columnsByIndex = new HashMap<>();
+
+    private final boolean[] m_irregular = new boolean[SIZE];
+
+    private final int[] m_selection = new int[SIZE];
+
+    private DataRow[] m_rows;
+
+    private VariableProvider m_provider;
+
+    private RuleBatch(final RuleMatcher matcher) {
+        m_matcher = matcher;
+        final List<Rule> rules = matcher.getRules();
+        m_rules = rules.toArray(new Rule[rules.size()]);
+        m_conditions = new Node[m_rules.length];
+    }
+
+    /**
+     * Creates the batch evaluation if all conditions can be evaluated with vectors.
+     *
+     * @param matcher The {@link RuleMatcher} of the rules, used for the rows with cells of unexpected types.
+     * @return The {@link RuleBatch}, or {@code null} if the rules are indexed, refer to the row index or have
+     *         conditions that cannot be evaluated with vectors at all.
+     */
+    static RuleBatch create(final RuleMatcher matcher) {
+        if (matcher.isIndexed() || matcher.getRules().isEmpty()) {
+            return null;
+        }
+        final RuleBatch batch = new RuleBatch(matcher);
+        for (int i = 0; i < batch.m_rules.length; i++) {
+            final Condition condition = batch.m_rules[i].getCondition();
+            if (!(condition instanceof GenericCondition)) {
+                return null;
+            }
+            final Expression expression = ((GenericCondition)condition).getExpression();
+            if (!StreamingUtil.isDistributableExpression(expression)) {
+                // the row index of the provider is not updated within a batch
+                return null;
+            }
+            batch.m_conditions[i] = batch.node(expression);
+            if (batch.m_conditions[i] instanceof RowNode) {
+                return null;
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Finds the first matching rule of each row.
+     *
+     * @param rows The rows of the batch, the first {@code size} are used.
+     * @param size The number of rows, at most {@link #SIZE}.
+     * @param provider The {@link VariableProvider}.
+     * @param result The first matching {@link Rule} of each row, {@code null} if none matches.
+     */
+    void firstMatches(final DataRow[] rows, final int size, final VariableProvider provider, final Rule[] result) {
+        m_rows = rows;
+        m_provider = provider;
+        Arrays.fill(m_irregular, 0, size, false);
+        for (final Column column : m_columns) {
+            column.load(rows, size, m_irregular);
+        }
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            if (m_irregular[i]) {
+                result[i] = m_matcher.firstMatch(rows[i], provider);
+            } else {
+                result[i] = null;
+                m_selection[n++] = i;
+            }
+        }
+        for (int k = 0; k < m_rules.length && n > 0; k++) {
+            final Node condition = m_conditions[k];
+            condition.evaluate(m_selection, n);
+            int remaining = 0;
+            for (int i = 0; i < n; i++) {
+                final int r = m_selection[i];
+                if (condition.m_out[r] == TRUE) {
+                    result[r] = m_rules[k];
+                } else {
+                    m_selection[remaining++] = r;
+                }
+            }
+            n = remaining;
+        }
+        m_rows = null;
+        m_provider = null;
+    }
+
+    private static byte truth(final Boolean value) {
+        return value == null ? MISSING : value.booleanValue() ? TRUE : FALSE;
+    }
+
+    /** The kind of the values in a {@link Column}. */
+    private enum Kind {
+        LONG, DOUBLE, STRING, BOOLEAN;
+
+        /**
+         * @param type A {@link DataType}.
+         * @return The {@link Kind} of values with {@code type}, or {@code null}.
+         */
+        static Kind of(final DataType type) {
+            if (IntCell.TYPE.equals(type) || LongCell.TYPE.equals(type)) {
+                return LONG;
+            }
+            if (DoubleCell.TYPE.equals(type)) {
+                return DOUBLE;
+            }
+            if (StringCell.TYPE.equals(type)) {
+                return STRING;
+            }
+            if (BooleanCell.TYPE.equals(type)) {
+                return BOOLEAN;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Vector of the values of a column, or of a constant when {@link #m_index} is negative.
+     */
+    private static final class Column {
+        private final int m_index;
+
+        private final DataType m_type;
+
+        private final Kind m_kind;
+
+        private final boolean[] m_missing = new boolean[SIZE];
+
+        private final long[] m_longs;
+
+        private final double[] m_doubles;
+
+        private final String[] m_strings;
+
+        private Column(final int index, final DataType type, final Kind kind) {
+            m_index = index;
+            m_type = type;
+            m_kind = kind;
+            m_longs = kind == Kind.LONG || kind == Kind.BOOLEAN ? new long[SIZE] : null;
+            m_doubles = kind == Kind.DOUBLE ? new double[SIZE] : null;
+            m_strings = kind == Kind.STRING ? new String[SIZE] : null;
+        }
+
+        /**
+         * @param cell A non-missing constant.
+         * @param kind The {@link Kind} of the values.
+         * @return The constant as a {@link Column}.
+         */
+        private static Column constant(final DataCell cell, final Kind kind) {
+            final Column column = new Column(-1, cell.getType(), kind);
+            for (int i = 0; i < SIZE; i++) {
+                column.set(i, cell);
+            }
+            return column;
+        }
+
+        private void set(final int i, final DataCell cell) {
+            switch (m_kind) {
+                case LONG:
+                    m_longs[i] = ((LongValue)cell).getLongValue();
+                    break;
+                case DOUBLE:
+                    m_doubles[i] = ((DoubleValue)cell).getDoubleValue();
+                    break;
+                case STRING:
+                    m_strings[i] = ((StringValue)cell).getStringValue();
+                    break;
+                case BOOLEAN:
+                    m_longs[i] = ((BooleanValue)cell).getBooleanValue() ? 1L : 0L;
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown kind: " + m_kind);
+            }
+        }
+
+        /**
+         * Reads the values of the column from the rows.
+         *
+         * @param rows The rows.
+         * @param size The number of rows.
+         * @param irregular Set to {@code true} for rows with cells of unexpected types.
+         */
+        private void load(final DataRow[] rows, final int size, final boolean[] irregular) {
+            if (m_index < 0) {
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                final DataCell cell = rows[i].getCell(m_index);
+                if (cell.isMissing()) {
+                    m_missing[i] = true;
+                    continue;
+                }
+                m_missing[i] = false;
+                final DataType type = cell.getType();
+                if (type == m_type || type.equals(m_type)) {
+                    set(i, cell);
+                } else {
+                    irregular[i] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param expression An operand {@link Expression}.
+     * @return The {@link Column} of a column reference or a non-missing constant, else {@code null}.
+     */
+    private Column column(final Expression expression) {
+        if (expression instanceof ColumnRefExpression) {
+            final ColumnRefExpression ref = (ColumnRefExpression)expression;
+            final DataType type = ref.getOutputType();
+            final Kind kind = Kind.of(type);
+            if (kind == null) {
+                return null;
+            }
+            Column column = m_columnsByIndex.get(ref.getColumnIndex());
+            if (column == null) {
+                column = new Column(ref.getColumnIndex(), type, kind);
+                m_columnsByIndex.put(ref.getColumnIndex(), column);
+                m_columns.add(column);
+            }
+            return column;
+        }
+        if (expression.isConstant()) {
+            final DataCell cell = expression.evaluate(null, null).getValue();
+            final Kind kind = Kind.of(cell.getType());
+            return cell.isMissing() || kind == null ? null : Column.constant(cell, kind);
+        }
+        return null;
+    }
+
+    /**
+     * @param expression A boolean {@link Expression}.
+     * @return The {@link Node} evaluating {@code expression} over a batch.
+     */
+    private Node node(final Expression expression) {
+        final Node node = vectorNode(expression);
+        return node == null ? new RowNode(expression) : node;
+    }
+
+    /**
+     * @param expression A boolean {@link Expression}.
+     * @return The vectorized {@link Node} evaluating {@code expression}, or {@code null} if there is none.
+     */
+    private Node vectorNode(final Expression expression) {
+        final ASTType type = RuleSetCompiler.treeType(expression);
+        if (type == null || !BooleanCell.TYPE.isASuperTypeOf(expression.getOutputType())) {
+            return null;
+        }
+        if (expression.isConstant()) {
+            return new ConstantNode(truth(expression.evaluateBoolean(null, null)));
+        }
+        final List<Expression> children = expression.getChildren();
+        switch (type) {
+            case ColRef: {
+                final Column column = column(expression);
+                return column == null ? null
+                    : new BooleanColumnNode(column, ((ColumnRefExpression)expression).isMissingAsFalse());
+            }
+            case Not:
+            case And:
+            case Or:
+            case Xor: {
+                final Node[] nodes = new Node[children.size()];
+                for (int i = 0; i < nodes.length; i++) {
+                    nodes[i] = node(children.get(i));
+                }
+                return type == ASTType.Not ? new NotNode(nodes[0]) : new JunctionNode(type, nodes);
+            }
+            case Missing: {
+                final Expression child = children.get(0);
+                if (!(child instanceof ColumnRefExpression)) {
+                    return null;
+                }
+                final ColumnRefExpression ref = (ColumnRefExpression)child;
+                return new MissingNode(ref.getColumnIndex(), ref.isMissingAsFalse());
+            }
+            case Less:
+            case LessOrEquals:
+            case Greater:
+            case GreaterOrEquals:
+            case Equals:
+                return compare(expression, type, children.get(0), children.get(1));
+            case In:
+                return in(children.get(0), children.get(1));
+            case Like:
+            case Matches:
+                return match(children.get(0), children.get(1), type == ASTType.Like);
+            default:
+                return null;
+        }
+    }
+
+    private Node compare(final Expression expression, final ASTType type, final Expression left,
+        final Expression right) {
+        final DataType common = DataType.getCommonSuperType(left.getOutputType(), right.getOutputType());
+        final Column l = column(left);
+        final Column r = column(right);
+        if (l == null || r == null) {
+            return cellOperand(left) && cellOperand(right) ? new ComparatorNode(expression, left, right, common) : null;
+        }
+        final boolean lt = type == ASTType.Less || type == ASTType.LessOrEquals;
+        final boolean eq = type == ASTType.Equals || type == ASTType.LessOrEquals || type == ASTType.GreaterOrEquals;
+        final boolean gt = type == ASTType.Greater || type == ASTType.GreaterOrEquals;
+        if ((IntCell.TYPE.equals(common) || LongCell.TYPE.equals(common)) && l.m_kind == Kind.LONG
+            && r.m_kind == Kind.LONG) {
+            return new LongCompareNode(expression, l, r, lt, eq, gt);
+        }
+        if (DoubleCell.TYPE.equals(common) && l.m_kind == Kind.DOUBLE && r.m_kind == Kind.DOUBLE) {
+            return new DoubleCompareNode(expression, l, r, lt, eq, gt);
+        }
+        if (type == ASTType.Equals && StringCell.TYPE.equals(common) && l.m_kind == Kind.STRING
+            && r.m_kind == Kind.STRING) {
+            return new StringEqualsNode(expression, l, r);
+        }
+        return new ComparatorNode(expression, left, right, common);
+    }
+
+    /**
+     * @param expression An operand {@link Expression}.
+     * @return Whether it is a column reference or a constant.
+     */
+    private static boolean cellOperand(final Expression expression) {
+        return expression instanceof ColumnRefExpression || expression.isConstant();
+    }
+
+    private Node in(final Expression left, final Expression right) {
+        if (!(left instanceof ColumnRefExpression) || !right.isConstant()) {
+            return null;
+        }
+        final DataCell list = right.evaluate(null, null).getValue();
+        if (!(list instanceof CollectionDataValue)) {
+            return null;
+        }
+        final InSet values = new InSet(left.getOutputType(), (CollectionDataValue)list);
+        return new InNode(((ColumnRefExpression)left).getColumnIndex(), values);
+    }
+
+    private Node match(final Expression left, final Expression right, final boolean like) {
+        final Column column = column(left);
+        if (column == null || column.m_index < 0 || column.m_kind != Kind.STRING || !right.isConstant()) {
+            return null;
+        }
+        final DataCell patternCell = right.evaluate(null, null).getValue();
+        if (!(patternCell instanceof StringValue)) {
+            return null;
+        }
+        final String text = ((StringValue)patternCell).getStringValue();
+        final Pattern pattern = like
+            ? Pattern.compile(WildcardMatcher.wildcardToRegex(text), Pattern.DOTALL | Pattern.MULTILINE)
+            : Pattern.compile(text);
+        return new MatchNode(column, pattern);
+    }
+
+    /**
+     * Evaluates a boolean {@link Expression} for the selected rows of the batch.
+     */
+    private abstract static class Node {
+        /** The results ({@code TRUE}, {@code FALSE} or {@code MISSING}) indexed by the row in the batch. */
+        final byte[] m_out = new byte[SIZE];
+
+        /**
+         * Computes {@link #m_out} for the selected rows.
+         *
+         * @param selection The indices of the selected rows.
+         * @param n The number of selected rows.
+         */
+        abstract void evaluate(int[] selection, int n);
+    }
+
+    private static final class ConstantNode extends Node {
+        private ConstantNode(final byte value) {
+            Arrays.fill(m_out, value);
+        }
+
+        @Override
+        void evaluate(final int[] selection, final int n) {
+            // the value is already set
+        }
+    }
+
+    private static final class BooleanColumnNode extends Node {
+        private final Column m_column;
+
+        private final byte m_missing;
+
+        private BooleanColumnNode(final Column column, final boolean missingAsFalse) {
+            m_column = column;
+            m_missing = missingAsFalse ? FALSE : MISSING;
+        }
+
+        @Override
+        void evaluate(final int[] selection, final int n) {
+            final boolean[] missing = m_column.m_missing;
+            final long[] values = m_column.m_longs;
+            for (int i = 0; i < n; i++) {
+                final int r = selection[i];
+                m_out[r] = missing[r] ? m_missing : values[r] != 0L ? TRUE : FALSE;
+            }
+        }
+    }
+
+    private final class MissingNode extends Node {
+        private final int m_column;
+
+        private final boolean m_missingAsFalse;
+
+        private MissingNode(final int column, final boolean missingAsFalse) {
+            m_column = column;
+            m_missingAsFalse = missingAsFalse;
+        }
+
+        @Override
+        void evaluate(final int[] selection, final int n) {
+            for (int i = 0; i < n; i++) {
+                final int r = selection[i];
+                m_out[r] = !m_missingAsFalse && m_rows[r].getCell(m_column).isMissing() ? TRUE : FALSE;
+            }
+        }
+    }
+
+    /**
+     * Evaluates the {@link Expression} row by row.
+     */
+    private final class RowNode extends Node {
+        private final Expression m_expression;
+
+        private RowNode(final Expression expression) {
+            m_expression = expression;
+        }
+
+        @Override
+        void evaluate(final int[] selection, final int n) {
+            for (int i = 0; i < n; i++) {
+                final int r = selection[i];
+                m_out[r] = truth(m_expression.evaluateBoolean(m_rows[r], m_provider));
+            }
+        }
+    }
+
+    private static final class NotNode extends Node {
+        private final Node m_child;
+
+        private NotNode(final Node child) {
+            m_child = child;
+        }
+
+        @Override
+        void evaluate(final int[] selection, final int n) {
+            m_child.evaluate(selection, n);
+            final byte[] values = m_child.m_out;
+            for (int i = 0; i < n; i++) {
+                final int r = selection[i];
+                m_out[r] = values[r] == MISSING ? MISSING : (byte)(TRUE - values[r]);
+            }
+        }
+    }
+
+    /**
+     * {@code AND}, {@code OR} and {@code XOR}. The children are only evaluated for the rows that are not decided yet.
+     */
+    private static final class JunctionNode extends Node {
+        private final ASTType m_type;
+
+        private final Node[] m_children;
+
+        private final int[] m_selection = new int[SIZE];
+
+        private JunctionNode(final ASTType type, final Node[] children) {
+            m_type = type;
+            m_children = children;
+        }
+
+        @Override
+        void evaluate(final int[] selection, final int n) {
+            final byte initial = m_type == ASTType.And ? TRUE : FALSE;
+            // for AND a false child decides, for OR a true one, for XOR a missing one
+            final byte decisive = m_type == ASTType.And ? FALSE : m_type == ASTType.Or ? TRUE : MISSING;
+            for (int i = 0; i < n; i++) {
+                m_out[selection[i]] = initial;
+            }
+            System.arraycopy(selection, 0, m_selection, 0, n);
+            int remaining = n;
+            for (final Node child : m_children) {
+                if (remaining == 0) {
+                    break;
+                }
+                child.evaluate(m_selection, remaining);
+                final byte[] values = child.m_out;
+                int kept = 0;
+                for (int i = 0; i < remaining; i++) {
+                    final int r = m_selection[i];
+                    final byte v = values[r];
+                    if (v == decisive) {
+                        m_out[r] = v;
+                        continue;
+                    }
+                    if (m_type == ASTType.Xor) {
+                        m_out[r] ^= v;
+                    } else if (v == MISSING) {
+                        m_out[r] = MISSING;
+                    }
+                    m_selection[kept++] = r;
+                }
+                remaining = kept;
+            }
+        }
+    }
+
+    /**
+     * Base class of comparisons, delegating the rows with missing values to the {@link Expression}.
+     */
+    private abstract class CompareNode extends Node {
+        private final Expression m_expression;
+
+        final Column m_left;
+
+        final Column m_right;
+
+        private CompareNode(final Expression expression, final Column left, final Column right) {
+            m_expression = expression;
+            m_left = left;
+            m_right = right;
+        }
+
+        /**
+         * @param r The index of a row in the batch.
+         * @return The result of the {@link Expression} for that row.
+         */
+        final byte interpret(final int r) {
+            return truth(m_expression.evaluateBoolean(m_rows[r], m_provider));
+        }
+    }
+
+    private final class LongCompareNode extends CompareNode {
+        private final byte m_lt;
+
+        private final byte m_eq;
+
+        private final byte m_gt;
+
+        private LongCompareNode(final Expression expression, final Column left, final Column right,
+            final boolean lt, final boolean eq, final boolean gt) {
+            super(expression, left, right);
+            m_lt = lt ? TRUE : FALSE;
+            m_eq = eq ? TRUE : FALSE;
+            m_gt = gt ? TRUE : FALSE;
+        }
+
+        @Override
+        void evaluate(final int[] selection, final int n) {
+            final long[] l = m_left.m_longs;
+            final long[] r = m_right.m_longs;
+            final boolean[] lm = m_left.m_missing;
+            final boolean[] rm = m_right.m_missing;
+            for (int i = 0; i < n; i++) {
+                final int row = selection[i];
+                if (lm[row] || rm[row]) {
+                    m_out[row] = interpret(row);
+                } else {
+                    m_out[row] = l[row] < r[row] ? m_lt : l[row] == r[row] ? m_eq : m_gt;
+                }
+            }
+        }
+    }
+
+    private final class DoubleCompareNode extends CompareNode {
+        private final byte m_lt;
+
+        private final byte m_eq;
+
+        private final byte m_gt;
+
+        private DoubleCompareNode(final Expression expression, final Column left, final Column right,
+            final boolean lt, final boolean eq, final boolean gt) {
+            super(expression, left, right);
+            m_lt = lt ? TRUE : FALSE;
+            m_eq = eq ? TRUE : FALSE;
+            m_gt = gt ? TRUE : FALSE;
+        }
+
+        @Override
+        void evaluate(final int[] selection, final int n) {
+            final double[] l = m_left.m_doubles;
+            final double[] r = m_right.m_doubles;
+            final boolean[] lm = m_left.m_missing;
+            final boolean[] rm = m_right.m_missing;
+            for (int i = 0; i < n; i++) {
+                final int row = selection[i];
+                if (lm[row] || rm[row] || Double.isNaN(l[row]) || Double.isNaN(r[row])) {
+                    m_out[row] = interpret(row);
+                } else {
+                    final int c = Double.compare(l[row], r[row]);
+                    m_out[row] = c < 0 ? m_lt : c == 0 ? m_eq : m_gt;
+                }
+            }
+        }
+    }
+
+    private final class StringEqualsNode extends CompareNode {
+        private StringEqualsNode(final Expression expression, final Column left, final Column right) {
+            super(expression, left, right);
+        }
+
+        @Override
+        void evaluate(final int[] selection, final int n) {
+            final String[] l = m_left.m_strings;
+            final String[] r = m_right.m_strings;
+            final boolean[] lm = m_left.m_missing;
+            final boolean[] rm = m_right.m_missing;
+            for (int i = 0; i < n; i++) {
+                final int row = selection[i];
+                if (lm[row] || rm[row]) {
+                    m_out[row] = interpret(row);
+                } else {
+                    m_out[row] = l[row].equals(r[row]) ? TRUE : FALSE;
+                }
+            }
+        }
+    }
+
+    /**
+     * Compares cells of columns or constants with the comparator of their common super type.
+     */
+    private final class ComparatorNode extends Node {
+        private final Expression m_expression;
+
+        private final DataValueComparator m_comparator;
+
+        /** The column indices, negative for constants. */
+        private final int m_leftIndex, m_rightIndex;
+
+        private final DataCell m_leftConstant, m_rightConstant;
+
+        private final boolean m_lt, m_eq, m_gt;
+
+        private ComparatorNode(final Expression expression, final Expression left, final Expression right,
+            final DataType common) {
+            m_expression = expression;
+            m_comparator = common.getComparator();
+            m_leftIndex = left instanceof ColumnRefExpression ? ((ColumnRefExpression)left).getColumnIndex() : -1;
+            m_rightIndex = right instanceof ColumnRefExpression ? ((ColumnRefExpression)right).getColumnIndex() : -1;
+            m_leftConstant = m_leftIndex < 0 ? left.evaluate(null, null).getValue() : null;
+            m_rightConstant = m_rightIndex < 0 ? right.evaluate(null, null).getValue() : null;
+            final ASTType type = expression.getTreeType();
+            m_lt = type == ASTType.Less || type == ASTType.LessOrEquals;
+            m_eq = type == ASTType.Equals || type == ASTType.LessOrEquals || type == ASTType.GreaterOrEquals;
+            m_gt = type == ASTType.Greater || type == ASTType.GreaterOrEquals;
+        }
+
+        @Override
+        void evaluate(final int[] selection, final int n) {
+            for (int i = 0; i < n; i++) {
+                final int r = selection[i];
+                final DataCell left = m_leftIndex < 0 ? m_leftConstant : m_rows[r].getCell(m_leftIndex);
+                final DataCell right = m_rightIndex < 0 ? m_rightConstant : m_rows[r].getCell(m_rightIndex);
+                if (left.isMissing() || right.isMissing() || isNaN(left) || isNaN(right)) {
+                    m_out[r] = truth(m_expression.evaluateBoolean(m_rows[r], m_provider));
+                } else {
+                    final int c = m_comparator.compare(left, right);
+                    m_out[r] = (c < 0 ? m_lt : c == 0 ? m_eq : m_gt) ? TRUE : FALSE;
+                }
+            }
+        }
+    }
+
+    private static boolean isNaN(final DataCell cell) {
+        return cell instanceof DoubleValue && Double.isNaN(((DoubleValue)cell).getDoubleValue());
+    }
+
+    private final class InNode extends Node {
+        private final int m_column;
+
+        private final InSet m_values;
+
+        private InNode(final int column, final InSet values) {
+            m_column = column;
+            m_values = values;
+        }
+
+        @Override
+        void evaluate(final int[] selection, final int n) {
+            for (int i = 0; i < n; i++) {
+                final int r = selection[i];
+                m_out[r] = m_values.contains(m_rows[r].getCell(m_column)) ? TRUE : FALSE;
+            }
+        }
+    }
+
+    private static final class MatchNode extends Node {
+        private final Column m_column;
+
+        private final Pattern m_pattern;
+
+        private MatchNode(final Column column, final Pattern pattern) {
+            m_column = column;
+            m_pattern = pattern;
+        }
+
+        @Override
+        void evaluate(final int[] selection, final int n) {
+            final boolean[] missing = m_column.m_missing;
+            final String[] values = m_column.m_strings;
+            for (int i = 0; i < n; i++) {
+                final int r = selection[i];
+                m_out[r] = !missing[r] && m_pattern.matcher(values[r]).matches() ? TRUE : FALSE;
+            }
+        }
+    }
+}
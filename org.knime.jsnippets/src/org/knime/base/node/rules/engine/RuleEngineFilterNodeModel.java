@@ -51,7 +51,6 @@
 import java.util.Arrays;
 import java.util.List;
 
-import org.knime.base.node.rules.engine.Condition.MatchOutcome.MatchState;
 import org.knime.core.data.BooleanValue;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
@@ -159,6 +158,7 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
     private void execute(final RowInput inData, final RowOutput[] outputs, final long rowCount,
         final ExecutionContext exec) throws ParseException, CanceledExecutionException, InterruptedException {
         final List<Rule> rules = parseRules(inData.getDataTableSpec(), RuleNodeSettings.RuleFilter);
+        final RuleMatcher matcher = RuleMatcher.create(rules, isCompileRules());
         final int matchIndex = m_includeOnMatch.getBooleanValue() ? 0 : 1;
         final int otherIndex = 1 - matchIndex;
 
@@ -193,14 +193,15 @@ public long getRowIndexLong() {
                     return rowIdx[0];
                 }
             };
-            DataRow row;
-            while ((row = inData.poll()) != null) {
-                rowIdx[0]++;
-                exec.setProgress(rowIdx[0] / (double)rows, () -> "Adding row " + rowIdx[0] + " of " + rows);
-                exec.checkCanceled();
-                boolean wasMatch = false;
-                for (Rule r : rules) {
-                    if (r.getCondition().matches(row, provider).getOutcome() == MatchState.matchedAndStop) {
+            final RuleMatchIterator matches = new RuleMatchIterator(inData, matcher, provider);
+            try {
+                DataRow row;
+                while ((row = matches.next()) != null) {
+                    rowIdx[0]++;
+                    exec.setProgress(rowIdx[0] / (double)rows, () -> "Adding row " + rowIdx[0] + " of " + rows);
+                    exec.checkCanceled();
+                    final Rule r = matches.firstMatch();
+                    if (r != null) {
                         //                        r.getSideEffect().perform(row, provider);
                         DataValue value = r.getOutcome().getComputedResult(row, provider);
                         final int index;
@@ -213,15 +214,14 @@ public long getRowIndexLong() {
                         if (index < outputs.length) {
                             outputs[index].push(row);
                         }
-                        wasMatch = true;
-                        break;
-                    }
-                }
-                if (!wasMatch) {
-                    if (otherIndex < outputs.length) {
-                        outputs[otherIndex].push(row);
+                    } else {
+                        if (otherIndex < outputs.length) {
+                            outputs[otherIndex].push(row);
+                        }
                     }
                 }
+            } finally {
+                matches.close();
             }
         } finally {
             outputs[0].close();
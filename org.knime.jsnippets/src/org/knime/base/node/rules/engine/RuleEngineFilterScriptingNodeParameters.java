@@ -123,4 +123,8 @@ static final class IncludeExcludePersistor extends EnumBooleanPersistor<IncludeE
     // Since this setting was introduced in KAP 3.2.
     @Migration(RuleEngineScriptingNodeParameters.LoadTrueForOldNodes.class)
     boolean m_disallowLongOutputForCompatibility = false;
+
+    // Hidden setting, introduced in 5.12, to evaluate the rule conditions without compiling them.
+    @Migration(RuleEngineScriptingNodeParameters.LoadTrueForOldNodes.class)
+    boolean m_compileRules = true;
 }
@@ -56,7 +56,6 @@
 import java.util.Map;
 import java.util.Set;
 
-import org.knime.base.node.rules.engine.Condition.MatchOutcome.MatchState;
 import org.knime.base.node.rules.engine.Rule.Outcome;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnDomainCreator;
@@ -154,6 +153,7 @@ protected List<Rule> parseRules(final DataTableSpec spec, final RuleNodeSettings
         RuleFactory factory = RuleFactory.getInstance(nodeType).cloned();
         factory.disableMissingComparisons();
         factory.disableNaNComparisons();
+        factory.disableMatchedObjects();
         int line = 0;
         for (String s : m_settings.rules()) {
             ++line;
@@ -170,6 +170,14 @@ protected List<Rule> parseRules(final DataTableSpec spec, final RuleNodeSettings
         return rules;
     }
 
+    /**
+     * @return whether the rule conditions should be compiled to byte code
+     * @since 5.12
+     */
+    protected boolean isCompileRules() {
+        return m_settings.isCompileRules();
+    }
+
     private ColumnRearranger createRearranger(final DataTableSpec inSpec, final List<Rule> rules, final long rowCount, final boolean updateColSpec)
             throws InvalidSettingsException {
         if (m_settings.isAppendColumn() && m_settings.getNewColName().isEmpty()) {
@@ -192,12 +200,19 @@ private ColumnRearranger createRearranger(final DataTableSpec inSpec, final List
         DataColumnSpec cs = colSpecCreator.createSpec();
 
         final boolean disallowLongOutputForCompatibility = m_settings.isDisallowLongOutputForCompatibility();
-        VariableProvider.SingleCellFactoryProto cellFactory = new VariableProvider.SingleCellFactoryProto(cs) {
+        // compilation only pays off when rows are processed
+        final RuleMatcher matcher = RuleMatcher.create(rules, !updateColSpec && isCompileRules());
+        // the rules are stateless, so the rows can be processed concurrently unless the row index is used
+        final boolean concurrent = !updateColSpec && StreamingUtil.areDistributableRules(rules);
+        VariableProvider.SingleCellFactoryProto cellFactory =
+            new VariableProvider.SingleCellFactoryProto(concurrent, cs) {
             private long m_rowIndex = -1L;
             @Override
             public DataCell getCell(final DataRow row) {
-                m_rowIndex++;
-                return getRulesOutcome(outType, row, rules, disallowLongOutputForCompatibility, this);
+                if (!concurrent) {
+                    m_rowIndex++;
+                }
+                return getRulesOutcome(outType, row, matcher, disallowLongOutputForCompatibility, this);
             }
 
             @Override
@@ -425,32 +440,49 @@ public static DataType computeOutputType(final List<Rule> rules, final DataType
      */
     public static final DataCell getRulesOutcome(final DataType outType, final DataRow row, final List<Rule> rules,
         final boolean isDisallowLongOutputForCompatibility, final VariableProvider variableProvider) {
-        for (Rule r : rules) {
-            if (r.getCondition().matches(row, variableProvider).getOutcome() == MatchState.matchedAndStop) {
-                Outcome outcome2 = r.getOutcome();
-                //                        r.getSideEffect().perform(row, this);
-                DataCell cell = (DataCell)outcome2.getComputedResult(row, variableProvider);
-                // in versions < 3.2 the output was never long ... so casting to int
-                // (instanceof check for LongCELL as this is what our code generates
-                // ... don't want Booleans (also implementing Long), for instance)
-                if (cell instanceof LongCell && isDisallowLongOutputForCompatibility) {
-                    long l = ((LongValue)cell).getLongValue();
-                    if (l > Integer.MAX_VALUE) {
-                        throw new RuntimeException("Values larger than " + Integer.MAX_VALUE
-                            + " not supported in old instances of the node -- recreate the node "
-                            + "(node was created using an KNIME version < 3.2");
-                    }
-                    cell = new IntCell((int)l);
-                }
-                if (outType.equals(StringCell.TYPE) && !cell.isMissing()
-                        && !cell.getType().equals(StringCell.TYPE)) {
-                    return new StringCell(cell.toString());
-                } else {
-                    return cell;
-                }
+        return getRulesOutcome(outType, row, RuleMatcher.interpreted(rules), isDisallowLongOutputForCompatibility,
+            variableProvider);
+    }
+
+    /**
+     * Computes the outcome of the first matching rule.
+     *
+     * @param outType The type of the output column.
+     * @param row The current row.
+     * @param matcher The {@link RuleMatcher} finding the first matching rule.
+     * @param isDisallowLongOutputForCompatibility Whether long outcomes are converted to int.
+     * @param variableProvider The {@link VariableProvider}.
+     * @return The outcome of the first matching rule, or a missing cell if no rule matches.
+     * @since 5.12
+     * @noreference This method is not intended to be referenced by clients.
+     */
+    public static final DataCell getRulesOutcome(final DataType outType, final DataRow row, final RuleMatcher matcher,
+        final boolean isDisallowLongOutputForCompatibility, final VariableProvider variableProvider) {
+        final Rule r = matcher.firstMatch(row, variableProvider);
+        if (r == null) {
+            return DataType.getMissingCell();
+        }
+        Outcome outcome2 = r.getOutcome();
+        //                        r.getSideEffect().perform(row, this);
+        DataCell cell = (DataCell)outcome2.getComputedResult(row, variableProvider);
+        // in versions < 3.2 the output was never long ... so casting to int
+        // (instanceof check for LongCELL as this is what our code generates
+        // ... don't want Booleans (also implementing Long), for instance)
+        if (cell instanceof LongCell && isDisallowLongOutputForCompatibility) {
+            long l = ((LongValue)cell).getLongValue();
+            if (l > Integer.MAX_VALUE) {
+                throw new RuntimeException("Values larger than " + Integer.MAX_VALUE
+                    + " not supported in old instances of the node -- recreate the node "
+                    + "(node was created using an KNIME version < 3.2");
             }
+            cell = new IntCell((int)l);
+        }
+        if (outType.equals(StringCell.TYPE) && !cell.isMissing()
+                && !cell.getType().equals(StringCell.TYPE)) {
+            return new StringCell(cell.toString());
+        } else {
+            return cell;
         }
-        return DataType.getMissingCell();
     }
 
     /** {@inheritDoc} */
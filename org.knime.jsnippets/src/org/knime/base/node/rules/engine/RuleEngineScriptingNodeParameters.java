@@ -212,6 +212,10 @@ public String[][] getConfigPaths() {
     @Migration(LoadTrueForOldNodes.class)
     boolean m_disallowLongOutputForCompatibility = false;
 
+    // Hidden setting, introduced in 5.12, to evaluate the rule conditions without compiling them.
+    @Migration(LoadTrueForOldNodes.class)
+    boolean m_compileRules = true;
+
     /**
      * Migration logic to support config keys that were introduced after a certain KNIME version.
      */
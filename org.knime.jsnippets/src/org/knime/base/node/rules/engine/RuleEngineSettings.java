@@ -69,6 +69,8 @@ public class RuleEngineSettings {
 
     public static final String RULES = "rules";
 
+    private static final String COMPILE_RULES = "compileRules";
+
     private final List<String> m_rules = new ArrayList<String>();
 
     private String m_newColName = RuleEngineNodeDialog.NEW_COL_NAME;
@@ -77,6 +79,8 @@ public class RuleEngineSettings {
     /** since 3.2 the node can produce long output ($$ROWINDEX$$) but old instances of that node in old workflows
      * will map that to int ... will force that using this (hidden) setting. */
     private boolean m_disallowLongOutputForCompatibility = false;
+    /** since 5.12 the rule conditions are compiled to byte code unless this (hidden) setting is false. */
+    private boolean m_compileRules = true;
 
     /**
      * Sets the name of the new column containing the matching rule's outcome.
@@ -104,6 +108,22 @@ public boolean isDisallowLongOutputForCompatibility() {
         return m_disallowLongOutputForCompatibility;
     }
 
+    /**
+     * @return whether the rule conditions are compiled to byte code
+     * @since 5.12
+     */
+    public boolean isCompileRules() {
+        return m_compileRules;
+    }
+
+    /**
+     * @param compileRules whether the rule conditions are compiled to byte code
+     * @since 5.12
+     */
+    public void setCompileRules(final boolean compileRules) {
+        m_compileRules = compileRules;
+    }
+
     /**
      * Adds a rule.
      *
@@ -178,6 +198,8 @@ public void loadSettings(final NodeSettingsRO settings) throws InvalidSettingsEx
         m_appendColumn = settings.getBoolean(APPEND_COLUMN, true);
         // added in 3.2
         m_disallowLongOutputForCompatibility = settings.getBoolean("disallowLongOutputForCompatibility", true);
+        // added in 5.12
+        m_compileRules = settings.getBoolean(COMPILE_RULES, true);
     }
 
     /**
@@ -197,6 +219,7 @@ public void loadSettingsForDialog(final NodeSettingsRO settings) {
         m_replaceColumn = settings.getString(REPLACE_COLUMN_NAME, "");
         m_appendColumn = settings.getBoolean(APPEND_COLUMN, true);
         m_disallowLongOutputForCompatibility = settings.getBoolean("disallowLongOutputForCompatibility", false);
+        m_compileRules = settings.getBoolean(COMPILE_RULES, true);
     }
 
     /**
@@ -210,5 +233,6 @@ public void saveSettings(final NodeSettingsWO settings) {
         settings.addString(REPLACE_COLUMN_NAME, m_replaceColumn);
         settings.addBoolean(APPEND_COLUMN, m_appendColumn);
         settings.addBoolean("disallowLongOutputForCompatibility", m_disallowLongOutputForCompatibility);
+        settings.addBoolean(COMPILE_RULES, m_compileRules);
     }
 }
@@ -54,7 +54,6 @@
 import java.util.List;
 import java.util.Map;
 
-import org.knime.base.node.rules.engine.Condition.MatchOutcome.MatchState;
 import org.knime.base.node.rules.engine.Rule.Outcome;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataTableSpec;
@@ -112,6 +111,7 @@ protected List<Rule> parseRules() throws ParseException {
         final Map<String, FlowVariable> availableFlowVariables = getAvailableFlowVariables();
         final RuleFactory factory = RuleFactory.getInstance(RuleNodeSettings.VariableRule).cloned();
         factory.disableNaNComparisons();
+        factory.disableMatchedObjects();
         final DataTableSpec spec = new DataTableSpec();
         int line = 0;
         for (String s : m_settings.rules()) {
@@ -169,7 +169,7 @@ public long getRowIndexLong() {
         };
         boolean wasMatch = false;
         for (Rule r : rules) {
-            if (r.getCondition().matches(null, provider).getOutcome() == MatchState.matchedAndStop) {
+            if (r.getCondition().isMatch(null, provider)) {
                 Outcome outcome2 = r.getOutcome();
                 //                        r.getSideEffect().perform(row, this);
                 final DataCell cell = (DataCell)outcome2.getComputedResult(null, provider);
@@ -106,6 +106,8 @@ public Rule parse(final String rule, final DataTableSpec spec,
 
     private boolean m_missingMatch = true, m_nanMatch = true;
 
+    private boolean m_matchedObjects = true;
+
     private RuleFactory(final Boolean booleanOutcome, final boolean allowTableReference, final Set<Operators> operators) {
         super();
         this.m_booleanOutcome = booleanOutcome;
@@ -161,6 +163,20 @@ public void disableNaNComparisons() {
         m_nanMatch = false;
     }
 
+    /**
+     * Disables capturing the groups of {@code LIKE} and {@code MATCHES} in the matched objects of the conditions, which
+     * saves allocations when no outcome uses them. Rules that cannot capture groups never allocate matched objects.
+     *
+     * Be careful with this method, as the instance of this class might be shared across different callers, so please
+     * consider {@link #cloned() cloning} before calling this method.
+     *
+     * @see #cloned()
+     * @since 5.12
+     */
+    public void disableMatchedObjects() {
+        m_matchedObjects = false;
+    }
+
     /**
      * Creates a new rule by parsing a rule string.
      *
@@ -180,6 +196,9 @@ public Rule parse(final String rule, final DataTableSpec spec, final Map<String,
         if (!m_nanMatch) {
             expFactory = expFactory.withNaNsDoNotMatch();
         }
+        if (!m_matchedObjects) {
+            expFactory = expFactory.withoutMatchedObjects();
+        }
         SimpleRuleParser parser = new SimpleRuleParser(spec, flowVariables, expFactory,
                 expFactory, m_allowTableReference, m_operators);
         if (!m_checkColumns) {
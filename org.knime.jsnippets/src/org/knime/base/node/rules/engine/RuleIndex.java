@@ -0,0 +1,315 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   16.10.2026 (KNIME AG): created
+ */
+package org.knime.base.node.rules.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.knime.base.node.rules.engine.Condition.GenericCondition;
+import org.knime.base.node.rules.engine.Expression.ASTType;
+import org.knime.base.node.rules.engine.ExpressionFactory.ColumnRefExpression;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataType;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.collection.CollectionDataValue;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Decision table index of a rule set. Runs of consecutive rules that compare the same string or integer column for
+ * equality with constants ({@code $col$ = "X"} or {@code $col$ IN ("X", "Y")}) are looked up by the value of the
+ * column. The first rule of a run with a given value wins, just like when evaluating the rules one after the other.
+ * The other rules are evaluated sequentially between the runs.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 5.12
+ */
+final class RuleIndex {
+    /** The minimal number of consecutive rules that are worth to be looked up. */
+    static final int MIN_KEYED_RULES = 8;
+
+    /** The runs and the rules between them in order. */
+    private final Segment[] m_segments;
+
+    private RuleIndex(final List<Segment> segments) {
+        m_segments = segments.toArray(new Segment[segments.size()]);
+    }
+
+    /**
+     * Part of the rules.
+     */
+    private interface Segment {
+        /**
+         * @param row The current {@link DataRow}.
+         * @param provider The {@link VariableProvider}.
+         * @return The first matching {@link Rule} of the segment, or {@code null}.
+         */
+        Rule firstMatch(DataRow row, VariableProvider provider);
+    }
+
+    /**
+     * The values of a rule that compares a column for equality with constants.
+     */
+    private static final class Keys {
+        private final int m_column;
+
+        private final DataType m_type;
+
+        /** {@link String}s or {@link Long}s. */
+        private final List<Object> m_values;
+
+        private Keys(final int column, final DataType type, final List<Object> values) {
+            m_column = column;
+            m_type = type;
+            m_values = values;
+        }
+    }
+
+    /**
+     * Segment of consecutive rules with {@link Keys} for the same column.
+     */
+    private static final class KeyedSegment implements Segment {
+        private final List<Rule> m_rules;
+
+        private final int m_column;
+
+        private final DataType m_type;
+
+        /** The first rule for the string values, {@code null} for integer columns. */
+        private final Map<String, Rule> m_strings;
+
+        /** The sorted integer values, {@code null} for string columns. */
+        private final long[] m_longs;
+
+        /** The first rule for the {@link #m_longs}. */
+        private final Rule[] m_longRules;
+
+        private KeyedSegment(final List<Rule> rules, final List<Keys> keys) {
+            m_rules = rules;
+            m_column = keys.get(0).m_column;
+            m_type = keys.get(0).m_type;
+            if (StringCell.TYPE.equals(m_type)) {
+                m_strings = new HashMap<>();
+                for (int i = 0; i < rules.size(); i++) {
+                    for (final Object value : keys.get(i).m_values) {
+                        m_strings.putIfAbsent((String)value, rules.get(i));
+                    }
+                }
+                m_longs = null;
+                m_longRules = null;
+            } else {
+                final TreeMap<Long, Rule> longs = new TreeMap<>();
+                for (int i = 0; i < rules.size(); i++) {
+                    for (final Object value : keys.get(i).m_values) {
+                        longs.putIfAbsent((Long)value, rules.get(i));
+                    }
+                }
+                m_strings = null;
+                m_longs = new long[longs.size()];
+                m_longRules = new Rule[longs.size()];
+                int i = 0;
+                for (final Map.Entry<Long, Rule> entry : longs.entrySet()) {
+                    m_longs[i] = entry.getKey().longValue();
+                    m_longRules[i++] = entry.getValue();
+                }
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Rule firstMatch(final DataRow row, final VariableProvider provider) {
+            final DataCell cell = row.getCell(m_column);
+            if (cell.isMissing()) {
+                // missing values are not equal to non-missing constants
+                return null;
+            }
+            if (!m_type.equals(cell.getType())) {
+                for (final Rule rule : m_rules) {
+                    if (rule.getCondition().isMatch(row, provider)) {
+                        return rule;
+                    }
+                }
+                return null;
+            }
+            if (m_strings != null) {
+                return m_strings.get(((StringValue)cell).getStringValue());
+            }
+            final int position = Arrays.binarySearch(m_longs, ((LongValue)cell).getLongValue());
+            return position < 0 ? null : m_longRules[position];
+        }
+    }
+
+    /**
+     * Creates the index if there are enough consecutive rules that can be looked up.
+     *
+     * @param rules The rules in the order they are checked.
+     * @param compile Whether to compile the conditions of the rules that are evaluated sequentially.
+     * @return The {@link RuleIndex}, or {@code null} if it would not help.
+     */
+    static RuleIndex create(final List<Rule> rules, final boolean compile) {
+        final int n = rules.size();
+        final Keys[] keys = new Keys[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = keys(rules.get(i));
+        }
+        final List<Segment> segments = new ArrayList<>();
+        int sequentialStart = 0;
+        for (int i = 0; i < n;) {
+            if (keys[i] == null) {
+                i++;
+                continue;
+            }
+            int end = i + 1;
+            while (end < n && keys[end] != null && keys[end].m_column == keys[i].m_column) {
+                end++;
+            }
+            if (end - i >= MIN_KEYED_RULES) {
+                if (sequentialStart < i) {
+                    segments.add(RuleMatcher.sequential(rules.subList(sequentialStart, i), compile)::firstMatch);
+                }
+                segments.add(new KeyedSegment(rules.subList(i, end), Arrays.asList(keys).subList(i, end)));
+                sequentialStart = end;
+            }
+            i = end;
+        }
+        if (segments.isEmpty()) {
+            return null;
+        }
+        if (sequentialStart < n) {
+            segments.add(RuleMatcher.sequential(rules.subList(sequentialStart, n), compile)::firstMatch);
+        }
+        return new RuleIndex(segments);
+    }
+
+    /**
+     * @param rule A {@link Rule}.
+     * @return The {@link Keys} of {@code rule}, or {@code null} if its condition cannot be looked up.
+     */
+    private static Keys keys(final Rule rule) {
+        if (!(rule.getCondition() instanceof GenericCondition)) {
+            return null;
+        }
+        final Expression expression = ((GenericCondition)rule.getCondition()).getExpression();
+        final ASTType type = RuleSetCompiler.treeType(expression);
+        if (type != ASTType.Equals && type != ASTType.In) {
+            return null;
+        }
+        Expression column = expression.getChildren().get(0);
+        Expression constant = expression.getChildren().get(1);
+        if (type == ASTType.Equals && column.isConstant()) {
+            column = constant;
+            constant = expression.getChildren().get(0);
+        }
+        if (!(column instanceof ColumnRefExpression) || !constant.isConstant()) {
+            return null;
+        }
+        final DataType columnType = column.getOutputType();
+        final DataCell value = constant.evaluate(null, null).getValue();
+        final Iterable<DataCell> values;
+        if (type == ASTType.Equals) {
+            values = Collections.singletonList(value);
+        } else if (value instanceof CollectionDataValue) {
+            values = (CollectionDataValue)value;
+        } else {
+            return null;
+        }
+        final List<Object> keys = new ArrayList<>();
+        for (final DataCell cell : values) {
+            final Object key = key(columnType, cell);
+            if (key == null) {
+                return null;
+            }
+            keys.add(key);
+        }
+        return new Keys(((ColumnRefExpression)column).getColumnIndex(), columnType, keys);
+    }
+
+    /**
+     * @param columnType The type of the column.
+     * @param cell A constant compared to the column.
+     * @return The key of {@code cell} if equality to it can be decided by the key, else {@code null}.
+     */
+    private static Object key(final DataType columnType, final DataCell cell) {
+        if (StringCell.TYPE.equals(columnType) && StringCell.TYPE.equals(cell.getType())) {
+            return ((StringValue)cell).getStringValue();
+        }
+        if (isIntegral(columnType) && isIntegral(cell.getType())) {
+            return Long.valueOf(((LongValue)cell).getLongValue());
+        }
+        return null;
+    }
+
+    private static boolean isIntegral(final DataType type) {
+        return IntCell.TYPE.equals(type) || LongCell.TYPE.equals(type);
+    }
+
+    /**
+     * @param row The current {@link DataRow}.
+     * @param provider The {@link VariableProvider}.
+     * @return The first {@link Rule} that matches {@code row}, or {@code null} if none matches.
+     */
+    Rule firstMatch(final DataRow row, final VariableProvider provider) {
+        for (final Segment segment : m_segments) {
+            final Rule rule = segment.firstMatch(row, provider);
+            if (rule != null) {
+                return rule;
+            }
+        }
+        return null;
+    }
+}
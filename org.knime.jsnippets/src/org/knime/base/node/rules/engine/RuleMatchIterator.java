@@ -0,0 +1,253 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   16.10.2026 (KNIME AG): created
+ */
+package org.knime.base.node.rules.engine;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.node.streamable.RowInput;
+
+/**
+ * Reads the rows of a {@link RowInput} and finds the first matching {@link Rule} for each of them. When all conditions
+ * can be evaluated with vectors, the rows are read in batches of {@value RuleBatch#SIZE} and evaluated by a
+ * {@link RuleBatch}; otherwise the {@link RuleMatcher} evaluates the current row when {@link #firstMatch()} is called,
+ * so the {@link VariableProvider} can refer to it.
+ * <p>
+ * When no rule refers to the row index, the chunks of rows are matched concurrently in the KNIME thread pool, while
+ * the rows (and their matches) are still returned in the order of the input. The first chunk is used as a sample to
+ * {@link RuleMatcher#adapt(DataRow[], int, VariableProvider) adapt} the order of the operands of the conditions.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 5.12
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class RuleMatchIterator {
+    private final RowInput m_input;
+
+    private RuleMatcher m_matcher;
+
+    private final VariableProvider m_provider;
+
+    private RuleBatch m_batch;
+
+    private final OrderedTaskQueue<Chunk> m_pending;
+
+    private final Queue<RuleBatch> m_batches = new ConcurrentLinkedQueue<>();
+
+    private boolean m_exhausted;
+
+    private boolean m_sampled;
+
+    private Chunk m_chunk;
+
+    private int m_position = -1;
+
+    private DataRow m_row;
+
+    /** Consecutive rows of the input with their first matching rules. */
+    private static final class Chunk {
+        private final DataRow[] m_rows = new DataRow[RuleBatch.SIZE];
+
+        private final Rule[] m_matches = new Rule[RuleBatch.SIZE];
+
+        private int m_size;
+    }
+
+    /**
+     * @param input The rows to match.
+     * @param matcher The {@link RuleMatcher} of the rules.
+     * @param provider The {@link VariableProvider}.
+     */
+    public RuleMatchIterator(final RowInput input, final RuleMatcher matcher, final VariableProvider provider) {
+        m_input = input;
+        m_matcher = matcher;
+        m_provider = provider;
+        m_batch = RuleBatch.create(matcher);
+        final int processors = Runtime.getRuntime().availableProcessors();
+        if (processors > 1 && matcher.isDistributable()) {
+            m_pending = new OrderedTaskQueue<>(2 * processors);
+            if (m_batch != null) {
+                m_batches.add(m_batch);
+            }
+        } else {
+            m_pending = null;
+            m_chunk = m_batch == null ? null : new Chunk();
+        }
+    }
+
+    /**
+     * @return The next row, or {@code null} if there are no more rows.
+     * @throws InterruptedException If reading the input was interrupted.
+     */
+    public DataRow next() throws InterruptedException {
+        if (m_pending == null && m_batch == null) {
+            m_row = m_input.poll();
+            return m_row;
+        }
+        m_position++;
+        if (m_chunk == null || m_position >= m_chunk.m_size) {
+            m_position = 0;
+            if (m_pending == null) {
+                if (!read(m_chunk)) {
+                    return null;
+                }
+                sample(m_chunk);
+                m_batch.firstMatches(m_chunk.m_rows, m_chunk.m_size, m_provider, m_chunk.m_matches);
+            } else {
+                m_chunk = null;
+                while (!m_exhausted && !m_pending.isFull()) {
+                    final Chunk chunk = new Chunk();
+                    if (read(chunk)) {
+                        sample(chunk);
+                        m_pending.submit(() -> match(chunk));
+                    } else {
+                        m_exhausted = true;
+                    }
+                }
+                m_chunk = m_pending.poll();
+                if (m_chunk == null) {
+                    return null;
+                }
+            }
+        }
+        return m_chunk.m_rows[m_position];
+    }
+
+    /**
+     * @return The first {@link Rule} matching the row returned by the last call of {@link #next()}, or {@code null}
+     *         if none matches.
+     */
+    public Rule firstMatch() {
+        return m_chunk == null ? m_matcher.firstMatch(m_row, m_provider) : m_chunk.m_matches[m_position];
+    }
+
+    /**
+     * @return whether the rows are evaluated in batches
+     */
+    public boolean isBatched() {
+        return m_batch != null;
+    }
+
+    /**
+     * @return whether the rows are evaluated concurrently
+     */
+    public boolean isParallel() {
+        return m_pending != null;
+    }
+
+    /**
+     * Cancels the chunks still being matched concurrently. Call it when the rows are not read to the end, e.g. when
+     * the execution is cancelled or a row cannot be processed.
+     */
+    public void close() {
+        if (m_pending != null) {
+            m_pending.close();
+        }
+    }
+
+    /**
+     * Fills the chunk with the next rows of the input.
+     *
+     * @return whether there was any row left
+     */
+    private boolean read(final Chunk chunk) throws InterruptedException {
+        chunk.m_size = 0;
+        DataRow row;
+        while (chunk.m_size < RuleBatch.SIZE && (row = m_input.poll()) != null) {
+            chunk.m_rows[chunk.m_size++] = row;
+        }
+        return chunk.m_size > 0;
+    }
+
+    /**
+     * Adapts the matcher to the first chunk of rows, before any row is matched. The evaluation mode is kept, so the
+     * matcher is only replaced when it can be evaluated the same way.
+     */
+    private void sample(final Chunk chunk) {
+        if (m_sampled) {
+            return;
+        }
+        m_sampled = true;
+        final RuleMatcher adapted = m_matcher.adapt(chunk.m_rows, chunk.m_size, m_provider);
+        if (adapted == m_matcher) {
+            return;
+        }
+        final RuleBatch batch = m_batch == null ? null : RuleBatch.create(adapted);
+        if (m_batch != null && batch == null) {
+            return;
+        }
+        m_matcher = adapted;
+        m_batch = batch;
+        m_batches.clear();
+        if (m_pending != null && batch != null) {
+            m_batches.add(batch);
+        }
+    }
+
+    /** Computes the matches of a chunk, executed in the thread pool. */
+    private Chunk match(final Chunk chunk) {
+        if (m_batch == null) {
+            for (int i = 0; i < chunk.m_size; i++) {
+                chunk.m_matches[i] = m_matcher.firstMatch(chunk.m_rows[i], m_provider);
+            }
+            return chunk;
+        }
+        // RuleBatch instances have their own buffers, so each task needs a separate one
+        RuleBatch batch = m_batches.poll();
+        if (batch == null) {
+            batch = RuleBatch.create(m_matcher);
+        }
+        try {
+            batch.firstMatches(chunk.m_rows, chunk.m_size, m_provider, chunk.m_matches);
+        } finally {
+            m_batches.add(batch);
+        }
+        return chunk;
+    }
+}
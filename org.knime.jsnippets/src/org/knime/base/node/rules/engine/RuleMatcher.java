@@ -0,0 +1,215 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   16.10.2026 (KNIME AG): created
+ */
+package org.knime.base.node.rules.engine;
+
+import java.util.List;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.node.NodeLogger;
+import org.knime.ext.sun.nodes.script.compile.CompilationFailedException;
+
+/**
+ * Finds the first {@link Rule} whose condition matches a row, either by evaluating the conditions one after the other
+ * or with an {@link AbstractCompiledRuleSet} generated by the {@link RuleSetCompiler}. Long runs of equality rules on
+ * the same column are looked up in a {@link RuleIndex}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 5.12
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class RuleMatcher {
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(RuleMatcher.class);
+
+    private final List<Rule> m_rules;
+
+    private final AbstractCompiledRuleSet m_compiled;
+
+    private final RuleIndex m_index;
+
+    /** Whether the operands of the conditions can be reordered by {@link #adapt(DataRow[], int, VariableProvider)}. */
+    private final boolean m_reorder;
+
+    /** Whether the parsed rules can be evaluated concurrently, see {@link #isDistributable()}. */
+    private final boolean m_distributable;
+
+    private RuleMatcher(final List<Rule> rules, final AbstractCompiledRuleSet compiled, final RuleIndex index,
+        final boolean reorder, final boolean distributable) {
+        m_rules = rules;
+        m_compiled = compiled;
+        m_index = index;
+        m_reorder = reorder;
+        m_distributable = distributable;
+    }
+
+    /**
+     * @param rules The rules in the order they are checked.
+     * @return A {@link RuleMatcher} evaluating the conditions of {@code rules} one after the other.
+     */
+    public static RuleMatcher interpreted(final List<Rule> rules) {
+        return new RuleMatcher(rules, null, null, false, StreamingUtil.areDistributableRules(rules));
+    }
+
+    /**
+     * Creates a {@link RuleMatcher}, simplifying the rules with the {@link RuleOptimizer}, indexing the runs of
+     * equality rules and compiling the other conditions if requested. When the compilation fails, the conditions are
+     * interpreted. The returned {@link Rule}s might differ from the ones in {@code parsedRules}, but have the same
+     * {@link Rule#getOutcome() outcomes}. When compiling, the operands of {@code AND} and {@code OR} are also ordered
+     * by their estimated cost and the matcher can be {@link #adapt(DataRow[], int, VariableProvider) adapted} to
+     * sample rows.
+     *
+     * @param parsedRules The rules in the order they are checked.
+     * @param compile Whether to compile the conditions.
+     * @return The {@link RuleMatcher} for {@code parsedRules}.
+     */
+    public static RuleMatcher create(final List<Rule> parsedRules, final boolean compile) {
+        final List<Rule> rules = RuleOptimizer.optimize(parsedRules);
+        // the optimized rules are no generic rules any more, so the row index usage is checked on the parsed ones
+        return build(compile ? RuleOptimizer.reorder(rules, null, 0, null) : rules, compile,
+            StreamingUtil.areDistributableRules(parsedRules));
+    }
+
+    private static RuleMatcher build(final List<Rule> rules, final boolean compile, final boolean distributable) {
+        final RuleIndex index = RuleIndex.create(rules, compile);
+        if (index != null) {
+            return new RuleMatcher(rules, null, index, compile, distributable);
+        }
+        return new RuleMatcher(rules, sequential(rules, compile).m_compiled, null, compile, distributable);
+    }
+
+    /**
+     * Reorders the operands of the {@code AND} and {@code OR} operators according to how often they decide the result
+     * for the sample rows, if this matcher was {@link #create(List, boolean) created} with compilation. The results
+     * do not depend on the order of the operands.
+     *
+     * @param sample The sample rows, for example the first rows of the table.
+     * @param size The number of rows in {@code sample}.
+     * @param provider The {@link VariableProvider}.
+     * @return The {@link RuleMatcher} with reordered conditions, or {@code this} when no order changes.
+     */
+    public RuleMatcher adapt(final DataRow[] sample, final int size, final VariableProvider provider) {
+        if (!m_reorder || size == 0) {
+            return this;
+        }
+        final List<Rule> rules = RuleOptimizer.reorder(m_rules, sample, size, provider);
+        return rules == m_rules ? this : build(rules, true, m_distributable);
+    }
+
+    /**
+     * Creates a {@link RuleMatcher} checking the rules one after the other, compiling the conditions if requested.
+     * A compilation failure is logged as a warning and the conditions are interpreted. Code that failed once is not
+     * compiled again, so {@link #create(List, boolean)} and {@link #adapt(DataRow[], int, VariableProvider)} do not
+     * repeat the failure.
+     *
+     * @param rules The rules in the order they are checked.
+     * @param compile Whether to compile the conditions.
+     * @return The {@link RuleMatcher} for {@code rules}.
+     */
+    static RuleMatcher sequential(final List<Rule> rules, final boolean compile) {
+        if (!compile || rules.isEmpty()) {
+            return interpreted(rules);
+        }
+        try {
+            final AbstractCompiledRuleSet compiled = RuleSetCompiler.compile(rules);
+            // null when the same code failed before, that failure was already reported
+            return compiled == null ? interpreted(rules) : new RuleMatcher(rules, compiled, null, false,
+                StreamingUtil.areDistributableRules(rules));
+        } catch (CompilationFailedException | RuntimeException | LinkageError e) {
+            LOGGER.warn("Could not compile rules, falling back to the interpreter: " + e.getMessage(), e);
+            return interpreted(rules);
+        }
+    }
+
+    /**
+     * @param row The current {@link DataRow}.
+     * @param provider The {@link VariableProvider}.
+     * @return The first {@link Rule} that matches {@code row}, or {@code null} if none matches.
+     */
+    public Rule firstMatch(final DataRow row, final VariableProvider provider) {
+        if (m_index != null) {
+            return m_index.firstMatch(row, provider);
+        }
+        if (m_compiled != null) {
+            final int index = m_compiled.firstMatch(row, provider);
+            return index < 0 ? null : m_rules.get(index);
+        }
+        for (final Rule rule : m_rules) {
+            if (rule.getCondition().isMatch(row, provider)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the rules in the order they are checked
+     */
+    public List<Rule> getRules() {
+        return m_rules;
+    }
+
+    /**
+     * @return whether none of the parsed rules refers to the row index, so the rows can be matched concurrently
+     */
+    public boolean isDistributable() {
+        return m_distributable;
+    }
+
+    /**
+     * @return whether the conditions are evaluated by generated code
+     */
+    public boolean isCompiled() {
+        return m_compiled != null;
+    }
+
+    /**
+     * @return whether some of the rules are looked up in a {@link RuleIndex}
+     */
+    public boolean isIndexed() {
+        return m_index != null;
+    }
+}
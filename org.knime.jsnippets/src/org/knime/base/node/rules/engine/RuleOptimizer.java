@@ -0,0 +1,471 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   16.10.2026 (KNIME AG): created
+ */
+package org.knime.base.node.rules.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.knime.base.node.rules.engine.Condition.GenericCondition;
+import org.knime.base.node.rules.engine.Expression.ASTType;
+import org.knime.core.data.BooleanValue;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.StringValue;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Simplifies parsed rules before they are evaluated: constant sub-expressions are evaluated once, nested {@code AND}
+ * and {@code OR} operators are flattened, neutral operands are dropped, rules that can never match are removed, and
+ * so are the rules after the first one that always matches.
+ * <p>
+ * The operands of {@code AND} and {@code OR} can also be reordered, so the cheap ones and the ones that decide the
+ * result most often for a sample of rows are evaluated first. As missing values propagate the same way in any order,
+ * this does not change the result of the operators. The operators are evaluated with short-circuiting, so a reordered
+ * operand can be evaluated for rows it was not evaluated before: the operands are only reordered when none of them can
+ * throw an exception (non-constant patterns, patterns for non-string values and unknown expressions might).
+ * <p>
+ * The result matches the same rows with the same outcomes according to {@link Condition#isMatch}, but the matched
+ * objects of the simplified conditions may differ, so it is only used by the {@link RuleMatcher}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class RuleOptimizer {
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(RuleOptimizer.class);
+
+    private static final ExpressionFactory FACTORY = ExpressionFactory.getInstance();
+
+    /** The cost of {@link Expression}s not created by the {@link ExpressionFactory}. */
+    private static final double UNKNOWN_COST = 8;
+
+    /** Lower bound of the probabilities, so operands that never decided the result in the sample are ordered too. */
+    private static final double MIN_PROBABILITY = .01;
+
+    private RuleOptimizer() {
+        // no instances
+    }
+
+    /**
+     * @param rules The parsed rules in the order they are checked.
+     * @return The simplified rules, or {@code rules} itself when there was nothing to simplify.
+     */
+    static List<Rule> optimize(final List<Rule> rules) {
+        final List<Rule> result = new ArrayList<>(rules.size());
+        final List<String> report = new ArrayList<>();
+        for (int i = 0; i < rules.size(); i++) {
+            final Rule rule = rules.get(i);
+            final Rule optimized = optimize(rule);
+            final Condition condition = optimized.getCondition();
+            if (condition.isConstantFalse() || isNeverMatching(condition)) {
+                report.add("removed, never matches: " + rule.getCondition().getLine());
+                continue;
+            }
+            if (optimized != rule) {
+                report.add("simplified to " + condition + ": " + rule.getCondition().getLine());
+            }
+            result.add(optimized);
+            if (condition.isCatchAll() && i + 1 < rules.size()) {
+                report.add("removed " + (rules.size() - i - 1) + " unreachable rule(s) after: "
+                    + rule.getCondition().getLine());
+                break;
+            }
+        }
+        if (report.isEmpty()) {
+            return rules;
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Optimized rules:\n  " + String.join("\n  ", report));
+        }
+        return result;
+    }
+
+    /**
+     * @param rule A {@link Rule}.
+     * @return {@code rule} with simplified condition, or {@code rule} itself.
+     */
+    private static Rule optimize(final Rule rule) {
+        if (!(rule.getCondition() instanceof GenericCondition)) {
+            return rule;
+        }
+        final Expression expression = ((GenericCondition)rule.getCondition()).getExpression();
+        return replace(rule, expression, fold(expression));
+    }
+
+    /**
+     * Reorders the operands of the {@code AND} and {@code OR} operators, so the ones with the lowest cost per decided
+     * result come first. The cost is estimated from the kind of the operand (pattern matching is more expensive than
+     * {@code IN}, which is more expensive than comparisons and missing checks). Without a sample every operand is
+     * assumed to decide the result with the same probability. The operands keep their order when any of them
+     * {@link #canThrow(Expression) can throw an exception}.
+     *
+     * @param rules The rules in the order they are checked.
+     * @param sample Sample rows to estimate how often the operands decide the result, can be {@code null}.
+     * @param size The number of rows in {@code sample}.
+     * @param provider The {@link VariableProvider} for the sample rows, can be {@code null} without sample.
+     * @return The rules with reordered operands, or {@code rules} itself when no order changed.
+     */
+    static List<Rule> reorder(final List<Rule> rules, final DataRow[] sample, final int size,
+        final VariableProvider provider) {
+        final List<Rule> result = new ArrayList<>(rules.size());
+        final List<String> report = new ArrayList<>();
+        for (final Rule rule : rules) {
+            Rule reordered = rule;
+            if (rule.getCondition() instanceof GenericCondition) {
+                final Expression expression = ((GenericCondition)rule.getCondition()).getExpression();
+                reordered = replace(rule, expression, reorder(expression, sample, size, provider));
+            }
+            if (reordered != rule) {
+                report.add("reordered to " + reordered.getCondition() + ": " + rule.getCondition().getLine());
+            }
+            result.add(reordered);
+        }
+        if (report.isEmpty()) {
+            return rules;
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Reordered rule conditions" + (sample == null ? "" : " using " + size + " rows")
+                + ":\n  " + String.join("\n  ", report));
+        }
+        return result;
+    }
+
+    /**
+     * @return {@code rule} if {@code replacement} is {@code expression}, else a {@link Rule} with the condition
+     *         evaluating {@code replacement}.
+     */
+    private static Rule replace(final Rule rule, final Expression expression, final Expression replacement) {
+        if (replacement == expression) {
+            return rule;
+        }
+        final Condition condition = rule.getCondition();
+        final Rule original = rule instanceof OptimizedRule ? ((OptimizedRule)rule).m_rule : rule;
+        return new OptimizedRule(original,
+            new GenericCondition(condition.getLine(), condition.getText(), condition.isEnabled(), replacement));
+    }
+
+    /**
+     * @param condition A (simplified) {@link Condition}.
+     * @return Whether the condition is a constant that is not {@code TRUE}, like a missing value.
+     */
+    private static boolean isNeverMatching(final Condition condition) {
+        if (!(condition instanceof GenericCondition)) {
+            return false;
+        }
+        final Expression expression = ((GenericCondition)condition).getExpression();
+        return RuleSetCompiler.treeType(expression) == ASTType.Constant && !condition.isCatchAll();
+    }
+
+    /**
+     * @param expression An {@link Expression}.
+     * @return The simplified {@link Expression}, or {@code expression} itself when it cannot be simplified.
+     */
+    static Expression fold(final Expression expression) {
+        final ASTType type = RuleSetCompiler.treeType(expression);
+        if (type == null || type == ASTType.Constant) {
+            return expression;
+        }
+        if (expression.isConstant()) {
+            try {
+                return FACTORY.constant(expression.evaluate(null, null));
+            } catch (RuntimeException e) {
+                // the evaluation of the rows should report the problem
+                return expression;
+            }
+        }
+        switch (type) {
+            case And:
+            case Or:
+                return junction(expression, type);
+            case Not: {
+                final Expression operand = expression.getChildren().get(0);
+                final Expression folded = fold(operand);
+                return folded == operand ? expression : FACTORY.not(folded);
+            }
+            case Xor: {
+                final List<Expression> operands = new ArrayList<>();
+                boolean changed = false;
+                for (final Expression operand : expression.getChildren()) {
+                    final Expression folded = fold(operand);
+                    changed |= folded != operand;
+                    operands.add(folded);
+                }
+                return changed ? FACTORY.xor(operands) : expression;
+            }
+            default:
+                return expression;
+        }
+    }
+
+    /**
+     * Flattens nested operators of the same kind and drops the neutral constants. An absorbing constant ({@code FALSE}
+     * for {@code AND}, {@code TRUE} for {@code OR}) makes the whole operator constant. Missing constants are kept as
+     * they change the result of the other operands.
+     */
+    private static Expression junction(final Expression expression, final ASTType type) {
+        final boolean and = type == ASTType.And;
+        final List<Expression> operands = new ArrayList<>();
+        boolean changed = false;
+        for (final Expression operand : expression.getChildren()) {
+            final Expression folded = fold(operand);
+            changed |= folded != operand;
+            if (RuleSetCompiler.treeType(folded) == type) {
+                operands.addAll(folded.getChildren());
+                changed = true;
+                continue;
+            }
+            final Boolean value = booleanConstant(folded);
+            if (value == null) {
+                operands.add(folded);
+            } else if (value.booleanValue() == and) {
+                changed = true;
+            } else {
+                return and ? FACTORY.falseValue() : FACTORY.trueValue();
+            }
+        }
+        if (!changed) {
+            return expression;
+        }
+        switch (operands.size()) {
+            case 0:
+                return and ? FACTORY.trueValue() : FACTORY.falseValue();
+            case 1:
+                return operands.get(0);
+            default:
+                return and ? FACTORY.and(operands) : FACTORY.or(operands);
+        }
+    }
+
+    private static Expression reorder(final Expression expression, final DataRow[] sample, final int size,
+        final VariableProvider provider) {
+        final ASTType type = RuleSetCompiler.treeType(expression);
+        if (type != ASTType.And && type != ASTType.Or && type != ASTType.Not && type != ASTType.Xor) {
+            return expression;
+        }
+        final List<Expression> operands = new ArrayList<>();
+        boolean changed = false;
+        for (final Expression operand : expression.getChildren()) {
+            final Expression reordered = reorder(operand, sample, size, provider);
+            changed |= reordered != operand;
+            operands.add(reordered);
+        }
+        if ((type == ASTType.And || type == ASTType.Or) && operands.stream().noneMatch(RuleOptimizer::canThrow)) {
+            final Boolean decisive = Boolean.valueOf(type == ASTType.Or);
+            final double[] ranks = new double[operands.size()];
+            final Integer[] order = new Integer[operands.size()];
+            for (int i = 0; i < ranks.length; i++) {
+                final Expression operand = operands.get(i);
+                ranks[i] = cost(operand) / Math.max(MIN_PROBABILITY, probability(operand, decisive, sample, size,
+                    provider));
+                order[i] = i;
+            }
+            // stable, so equally ranked operands keep their order
+            Arrays.sort(order, Comparator.comparingDouble(i -> ranks[i]));
+            final List<Expression> sorted = new ArrayList<>(operands.size());
+            for (int i = 0; i < order.length; i++) {
+                changed |= order[i].intValue() != i;
+                sorted.add(operands.get(order[i].intValue()));
+            }
+            if (changed) {
+                return type == ASTType.And ? FACTORY.and(sorted) : FACTORY.or(sorted);
+            }
+            return expression;
+        }
+        if (!changed) {
+            return expression;
+        }
+        switch (type) {
+            case And:
+                return FACTORY.and(operands);
+            case Or:
+                return FACTORY.or(operands);
+            case Not:
+                return FACTORY.not(operands.get(0));
+            default:
+                return FACTORY.xor(operands);
+        }
+    }
+
+    /**
+     * @return Whether evaluating {@code expression} might throw an exception for some rows, so it must not be
+     *         evaluated for rows it was not evaluated for in the original order of the operands.
+     */
+    static boolean canThrow(final Expression expression) {
+        final ASTType type = RuleSetCompiler.treeType(expression);
+        if (type == null) {
+            return true;
+        }
+        switch (type) {
+            case Like:
+            case Matches:
+                // invalid patterns are only detected when evaluated, non-string values are not matched
+                final List<Expression> children = expression.getChildren();
+                if (!children.get(1).isConstant()
+                    || !children.get(0).getOutputType().isCompatible(StringValue.class)) {
+                    return true;
+                }
+                break;
+            default:
+                break;
+        }
+        for (final Expression operand : expression.getChildren()) {
+            if (canThrow(operand)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The estimated relative cost of evaluating {@code expression} for a row.
+     */
+    static double cost(final Expression expression) {
+        final ASTType type = RuleSetCompiler.treeType(expression);
+        if (type == null) {
+            return UNKNOWN_COST;
+        }
+        switch (type) {
+            case Constant:
+                return 0;
+            case ColRef:
+            case FlowVarRef:
+            case TableRef:
+            case Missing:
+                return 1;
+            case Less:
+            case Equals:
+            case Greater:
+            case LessOrEquals:
+            case GreaterOrEquals:
+                return 2;
+            case List:
+            case In:
+                return 4;
+            case Like:
+            case Matches:
+                // the pattern has to be compiled for each row (or looked up in a cache) unless it is a constant
+                return expression.getChildren().get(1).isConstant() ? 8 : 12;
+            default:
+                double cost = 0;
+                for (final Expression operand : expression.getChildren()) {
+                    cost += cost(operand);
+                }
+                return Math.max(1, cost);
+        }
+    }
+
+    /**
+     * @return The fraction of the sample rows where {@code expression} evaluates to {@code decisive}, {@code 0.5}
+     *         without a sample.
+     */
+    private static double probability(final Expression expression, final Boolean decisive, final DataRow[] sample,
+        final int size, final VariableProvider provider) {
+        if (sample == null || size == 0) {
+            return .5;
+        }
+        int count = 0;
+        try {
+            for (int i = 0; i < size; i++) {
+                if (decisive.equals(expression.evaluateBoolean(sample[i], provider))) {
+                    count++;
+                }
+            }
+        } catch (RuntimeException e) {
+            // the evaluation of the rows should report the problem
+            return .5;
+        }
+        return count / (double)size;
+    }
+
+    /**
+     * @return The value of a constant non-missing boolean {@link Expression}, else {@code null}.
+     */
+    private static Boolean booleanConstant(final Expression expression) {
+        if (RuleSetCompiler.treeType(expression) != ASTType.Constant) {
+            return null;
+        }
+        final DataCell cell = expression.evaluate(null, null).getValue();
+        return cell instanceof BooleanValue ? Boolean.valueOf(((BooleanValue)cell).getBooleanValue()) : null;
+    }
+
+    /** A {@link Rule} with simplified {@link Condition} and the {@link Outcome} of the original rule. */
+    private static final class OptimizedRule implements Rule {
+        private final Rule m_rule;
+
+        private final Condition m_condition;
+
+        private OptimizedRule(final Rule rule, final Condition condition) {
+            m_rule = rule;
+            m_condition = condition;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Condition getCondition() {
+            return m_condition;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Outcome getOutcome() {
+            return m_rule.getOutcome();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return m_condition + " => " + getOutcome() + "\nOriginal: " + m_rule;
+        }
+    }
+}
@@ -0,0 +1,559 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   16.10.2026 (KNIME AG): created
+ */
+package org.knime.base.node.rules.engine;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.knime.base.node.jsnippet.JavaSnippet;
+import org.knime.base.node.rules.engine.Condition.GenericCondition;
+import org.knime.base.node.rules.engine.Expression.ASTType;
+import org.knime.base.node.rules.engine.ExpressionFactory.ColumnRefExpression;
+import org.knime.base.util.WildcardMatcher;
+import org.knime.core.data.BooleanValue;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.collection.CollectionDataValue;
+import org.knime.core.data.def.BooleanCell;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.ext.sun.nodes.script.calculator.FlowVariableProvider;
+import org.knime.ext.sun.nodes.script.compile.ByteCodeClassLoader;
+import org.knime.ext.sun.nodes.script.compile.CompilationFailedException;
+import org.knime.ext.sun.nodes.script.compile.CompiledClassCache;
+import org.knime.ext.sun.nodes.script.compile.JavaCodeCompiler;
+import org.knime.ext.sun.nodes.script.compile.JavaCodeCompiler.JavaVersion;
+import org.knime.ext.sun.nodes.script.compile.StringSourceFileObject;
+
+/**
+ * Generates and compiles a subclass of {@link AbstractCompiledRuleSet} for the conditions of a list of {@link Rule}s.
+ * <p>
+ * Only the {@link Expression}s created by the {@link ExpressionFactory} are translated to Java code: logical
+ * operators with short-circuit evaluation, {@code MISSING}, boolean columns, {@code IN} with constant lists,
+ * {@code LIKE}/{@code MATCHES} with constant patterns and comparisons, which use primitive comparisons for int, long
+ * and double operands. Constant sub-expressions are evaluated during generation. Everything else, including
+ * comparisons with missing or {@link Double#NaN} operands, is delegated to the interpreted {@link Expression}, so the
+ * result is the same as that of {@link Condition#matches(DataRow, VariableProvider)}.
+ * <p>
+ * Column indices and int, long and double constants are inlined into the generated source, the other constants (cells,
+ * patterns and sets) are passed to the constructor of the generated class. So the class depends on the structure of
+ * the rules, the column indices and the numeric constants, and is shared via the {@link CompiledClassCache} only
+ * between rule sets that agree on all of them.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class RuleSetCompiler {
+    /** The name of the generated class, which is used for the key in the {@link CompiledClassCache}. */
+    private static final String CLASS_NAME_PLACEHOLDER = "RuleSet";
+
+    /** Number of rules checked by a single generated method, keeps the methods below the JIT limits. */
+    private static final int RULES_PER_METHOD = 256;
+
+    /** Types whose bundles form the class path of the generated code. */
+    private static final Class<?>[] CLASS_PATH_TYPES =
+        {AbstractCompiledRuleSet.class, VariableProvider.class, FlowVariableProvider.class, DataRow.class};
+
+    /** Hashes of the generated code that failed to compile, these rule sets are not compiled again. */
+    private static final Set<String> FAILED_BODIES = ConcurrentHashMap.newKeySet();
+
+    private final Rule[] m_rules;
+
+    private final List<Expression> m_expressions = new ArrayList<>();
+
+    private final List<Object> m_constants = new ArrayList<>();
+
+    private final StringBuilder m_fields = new StringBuilder();
+
+    private final StringBuilder m_assignments = new StringBuilder();
+
+    private final StringBuilder m_methods = new StringBuilder();
+
+    private RuleSetCompiler(final List<Rule> rules) {
+        m_rules = rules.toArray(new Rule[rules.size()]);
+    }
+
+    /**
+     * Compiles the conditions of {@code rules}.
+     *
+     * @param rules The rules in the order they are checked.
+     * @return The compiled rule set, or {@code null} if the same code already failed to compile before.
+     * @throws CompilationFailedException If the class could not be generated, compiled or instantiated.
+     */
+    static AbstractCompiledRuleSet compile(final List<Rule> rules) throws CompilationFailedException {
+        final RuleSetCompiler compiler = new RuleSetCompiler(rules);
+        final String body = compiler.generateBody();
+        final String bodyKey = CompiledClassCache.createKey(body);
+        if (FAILED_BODIES.contains(bodyKey)) {
+            return null;
+        }
+        try {
+            return compiler.instantiate(body);
+        } catch (CompilationFailedException | RuntimeException | LinkageError e) {
+            FAILED_BODIES.add(bodyKey);
+            throw e;
+        }
+    }
+
+    private AbstractCompiledRuleSet instantiate(final String body) throws CompilationFailedException {
+        final File[] classPath = classPath();
+        final String[] keyParts = new String[classPath.length + 3];
+        keyParts[0] = generateSource(CLASS_NAME_PLACEHOLDER, body);
+        keyParts[1] = JavaVersion.JAVA_11.name();
+        keyParts[2] = CompiledClassCache.describeCompiler();
+        for (int i = 0; i < classPath.length; i++) {
+            keyParts[i + 3] = CompiledClassCache.describe(classPath[i]);
+        }
+        final String cacheKey = CompiledClassCache.createKey(keyParts);
+        final String name = CLASS_NAME_PLACEHOLDER + cacheKey.substring(0, 16);
+        Map<String, byte[]> classes = CompiledClassCache.get(cacheKey).orElse(null);
+        if (classes == null) {
+            final JavaCodeCompiler compiler = JavaCodeCompiler.createInMemoryCompiler(JavaVersion.JAVA_11);
+            compiler.setClasspaths(classPath);
+            compiler.setSources(new StringSourceFileObject(name, generateSource(name, body)));
+            compiler.compile();
+            classes = compiler.getCompiledClasses();
+            CompiledClassCache.put(cacheKey, classes);
+        }
+        final ClassLoader loader =
+            new ByteCodeClassLoader(classes, new URL[0], AbstractCompiledRuleSet.class.getClassLoader());
+        try {
+            final Class<? extends AbstractCompiledRuleSet> ruleSetClass =
+                loader.loadClass(name).asSubclass(AbstractCompiledRuleSet.class);
+            return ruleSetClass.getConstructor(Rule[].class, Expression[].class, Object[].class).newInstance(
+                m_rules, m_expressions.toArray(new Expression[m_expressions.size()]), m_constants.toArray());
+        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException
+                | InvocationTargetException | NoSuchMethodException e) {
+            throw new CompilationFailedException("Could not load generated rule set class", e);
+        }
+    }
+
+    private static File[] classPath() throws CompilationFailedException {
+        final Set<File> result = new LinkedHashSet<>();
+        for (final Class<?> type : CLASS_PATH_TYPES) {
+            final Set<File> files = JavaSnippet.resolveBuildPathForJavaType(type);
+            if (files == null) {
+                throw new CompilationFailedException("Class path for \"" + type.getName() + "\" not available");
+            }
+            result.addAll(files);
+        }
+        return result.toArray(new File[result.size()]);
+    }
+
+    private static String generateSource(final String name, final String body) {
+        return "import org.knime.core.data.DataCell;\n" //
+            + "import org.knime.core.data.DataRow;\n" //
+            + "import org.knime.core.data.DataValueComparator;\n" //
+            + "import org.knime.core.data.DoubleValue;\n" //
+            + "import org.knime.core.data.IntValue;\n" //
+            + "import org.knime.core.data.LongValue;\n" //
+            + "import java.util.regex.Pattern;\n" //
+            + "import org.knime.base.node.rules.engine.AbstractCompiledRuleSet;\n" //
+            + "import org.knime.base.node.rules.engine.Expression;\n" //
+            + "import org.knime.base.node.rules.engine.InSet;\n" //
+            + "import org.knime.base.node.rules.engine.Rule;\n" //
+            + "import org.knime.base.node.rules.engine.VariableProvider;\n\n" //
+            + "public final class " + name + " extends AbstractCompiledRuleSet {\n" //
+            + body.replace("$NAME$", name) //
+            + "}\n";
+    }
+
+    /** @return the members of the generated class, the constructor name is {@code $NAME$}. */
+    private String generateBody() {
+        final StringBuilder dispatch = new StringBuilder();
+        dispatch.append("    @Override\n");
+        dispatch.append("    public int firstMatch(final DataRow row, final VariableProvider provider) {\n");
+        dispatch.append("        int m;\n");
+        for (int start = 0; start < m_rules.length; start += RULES_PER_METHOD) {
+            final int method = start / RULES_PER_METHOD;
+            final StringBuilder matches = new StringBuilder();
+            for (int i = start; i < Math.min(start + RULES_PER_METHOD, m_rules.length); i++) {
+                matches.append("        if (").append(ruleCondition(i)).append(") {\n");
+                matches.append("            return ").append(i).append(";\n");
+                matches.append("        }\n");
+            }
+            m_methods.append("    private int match").append(method)
+                .append("(final DataRow row, final VariableProvider provider) {\n");
+            m_methods.append(matches);
+            m_methods.append("        return -1;\n");
+            m_methods.append("    }\n\n");
+            dispatch.append("        if ((m = match").append(method).append("(row, provider)) >= 0) {\n");
+            dispatch.append("            return m;\n");
+            dispatch.append("        }\n");
+        }
+        dispatch.append("        return -1;\n");
+        dispatch.append("    }\n\n");
+
+        final StringBuilder body = new StringBuilder();
+        body.append(m_fields).append('\n');
+        body.append("    public $NAME$(final Rule[] rules, final Expression[] expressions,")
+            .append(" final Object[] constants) {\n");
+        body.append("        super(rules, expressions);\n");
+        body.append(m_assignments);
+        body.append("    }\n\n");
+        body.append(dispatch);
+        body.append(m_methods);
+        return body.toString();
+    }
+
+    /**
+     * @param rule Index of the rule.
+     * @return Java code of a boolean expression whether the rule matches.
+     */
+    private String ruleCondition(final int rule) {
+        final Condition condition = m_rules[rule].getCondition();
+        if (condition instanceof GenericCondition) {
+            final Expression expression = ((GenericCondition)condition).getExpression();
+            if (treeType(expression) != null && isBoolean(expression)) {
+                return bool(expression) + " == TRUE";
+            }
+        }
+        return "matches(" + rule + ", row, provider)";
+    }
+
+    /**
+     * @param expression An {@link Expression}.
+     * @return The {@link ASTType} of {@code expression} if it was created by the {@link ExpressionFactory}, else
+     *         {@code null}.
+     */
+    static ASTType treeType(final Expression expression) {
+        if (expression.getClass().getEnclosingClass() != ExpressionFactory.class) {
+            return null;
+        }
+        try {
+            return expression.getTreeType();
+        } catch (RuntimeException e) {
+            // contains has no tree type
+            return null;
+        }
+    }
+
+    private static boolean isBoolean(final Expression expression) {
+        return BooleanCell.TYPE.isASuperTypeOf(expression.getOutputType());
+    }
+
+    /**
+     * @param expression A boolean {@link Expression}.
+     * @return Java code of an int expression evaluating to {@code TRUE}, {@code FALSE} or {@code MISSING}.
+     */
+    private String bool(final Expression expression) {
+        final ASTType type = treeType(expression);
+        if (type == null) {
+            return "interpret(" + register(expression) + ", row, provider)";
+        }
+        if (expression.isConstant()) {
+            final DataCell cell = expression.evaluate(null, null).getValue();
+            if (cell.isMissing()) {
+                return "MISSING";
+            }
+            if (cell instanceof BooleanValue) {
+                return ((BooleanValue)cell).getBooleanValue() ? "TRUE" : "FALSE";
+            }
+        }
+        final int id = register(expression);
+        final List<Expression> children = expression.getChildren();
+        final StringBuilder code = new StringBuilder();
+        switch (type) {
+            case Not:
+                code.append("        final int v = ").append(bool(children.get(0))).append(";\n");
+                code.append("        return v == MISSING ? MISSING : TRUE - v;\n");
+                break;
+            case And:
+                junction(code, children, "FALSE", "TRUE");
+                break;
+            case Or:
+                junction(code, children, "TRUE", "FALSE");
+                break;
+            case Xor:
+                code.append("        int ret = ").append(bool(children.get(0))).append(";\n");
+                code.append("        if (ret == MISSING) {\n");
+                code.append("            return MISSING;\n");
+                code.append("        }\n");
+                code.append("        int v;\n");
+                for (final Expression child : children.subList(1, children.size())) {
+                    code.append("        if ((v = ").append(bool(child)).append(") == MISSING) {\n");
+                    code.append("            return MISSING;\n");
+                    code.append("        }\n");
+                    code.append("        ret ^= v;\n");
+                }
+                code.append("        return ret;\n");
+                break;
+            case Missing:
+                code.append("        return ").append(cell(children.get(0))).append(".isMissing() ? TRUE : FALSE;\n");
+                break;
+            case ColRef:
+                code.append("        return truth(").append(cell(expression)).append(");\n");
+                break;
+            case In:
+                if (!in(code, children.get(0), children.get(1))) {
+                    return "interpret(" + id + ", row, provider)";
+                }
+                break;
+            case Like:
+            case Matches:
+                if (!match(code, children.get(0), children.get(1), type == ASTType.Like)) {
+                    return "interpret(" + id + ", row, provider)";
+                }
+                break;
+            case Less:
+                compare(code, id, children.get(0), children.get(1), "<");
+                break;
+            case LessOrEquals:
+                compare(code, id, children.get(0), children.get(1), "<=");
+                break;
+            case Greater:
+                compare(code, id, children.get(0), children.get(1), ">");
+                break;
+            case GreaterOrEquals:
+                compare(code, id, children.get(0), children.get(1), ">=");
+                break;
+            case Equals:
+                compare(code, id, children.get(0), children.get(1), "==");
+                break;
+            default:
+                return "interpret(" + id + ", row, provider)";
+        }
+        m_methods.append("    private int b").append(id)
+            .append("(final DataRow row, final VariableProvider provider) {\n");
+        m_methods.append(code);
+        m_methods.append("    }\n\n");
+        return "b" + id + "(row, provider)";
+    }
+
+    /**
+     * Generates AND ({@code stop = FALSE}) or OR ({@code stop = TRUE}), a missing operand makes the result missing
+     * unless a later operand stops the evaluation.
+     */
+    private void junction(final StringBuilder code, final List<Expression> children, final String stop,
+        final String otherwise) {
+        code.append("        int ret = ").append(otherwise).append(";\n");
+        code.append("        int v;\n");
+        for (final Expression child : children) {
+            code.append("        if ((v = ").append(bool(child)).append(") == ").append(stop).append(") {\n");
+            code.append("            return ").append(stop).append(";\n");
+            code.append("        }\n");
+            code.append("        if (v == MISSING) {\n");
+            code.append("            ret = MISSING;\n");
+            code.append("        }\n");
+        }
+        code.append("        return ret;\n");
+    }
+
+    private boolean in(final StringBuilder code, final Expression left, final Expression right) {
+        if (!right.isConstant()) {
+            return false;
+        }
+        final DataCell list = right.evaluate(null, null).getValue();
+        if (list.isMissing()) {
+            code.append("        return MISSING;\n");
+            return true;
+        }
+        if (!(list instanceof CollectionDataValue)) {
+            return false;
+        }
+        final String field = constant(new InSet(left.getOutputType(), (CollectionDataValue)list), "InSet");
+        code.append("        return ").append(field).append(".contains(").append(cell(left))
+            .append(") ? TRUE : FALSE;\n");
+        return true;
+    }
+
+    private boolean match(final StringBuilder code, final Expression left, final Expression right,
+        final boolean like) {
+        if (!right.isConstant()) {
+            return false;
+        }
+        final DataCell patternCell = right.evaluate(null, null).getValue();
+        if (!(patternCell instanceof StringValue)) {
+            return false;
+        }
+        final String text = ((StringValue)patternCell).getStringValue();
+        final Pattern pattern = like
+            ? Pattern.compile(WildcardMatcher.wildcardToRegex(text), Pattern.DOTALL | Pattern.MULTILINE)
+            : Pattern.compile(text);
+        code.append("        return matches(").append(constant(pattern, "Pattern")).append(", ")
+            .append(cell(left)).append(");\n");
+        return true;
+    }
+
+    private void compare(final StringBuilder code, final int id, final Expression left, final Expression right,
+        final String op) {
+        final DataType common = DataType.getCommonSuperType(left.getOutputType(), right.getOutputType());
+        final String primitive = primitiveType(common, left, right);
+        if (primitive != null) {
+            final String l = primitive(code, "l", left, primitive, id);
+            final String r = primitive(code, "r", right, primitive, id);
+            if (l != null && r != null) {
+                final String boxed = "int".equals(primitive) ? "Integer" : "long".equals(primitive) ? "Long" : "Double";
+                code.append("        return ").append(boxed).append(".compare(").append(l).append(", ").append(r)
+                    .append(") ").append(op).append(" 0 ? TRUE : FALSE;\n");
+                return;
+            }
+            code.setLength(0);
+        }
+        final String comparator = constant(common.getComparator(), "DataValueComparator");
+        code.append("        final DataCell l = ").append(cell(left)).append(";\n");
+        code.append("        final DataCell r = ").append(cell(right)).append(";\n");
+        code.append("        if (l.isMissing() || r.isMissing() || isNaN(l) || isNaN(r)) {\n");
+        code.append("            return interpret(").append(id).append(", row, provider);\n");
+        code.append("        }\n");
+        code.append("        return compare(").append(comparator).append(", l, r) ").append(op)
+            .append(" 0 ? TRUE : FALSE;\n");
+    }
+
+    /**
+     * @return The primitive Java type the comparison can be done with, or {@code null} if the cells have to be
+     *         compared.
+     */
+    private static String primitiveType(final DataType common, final Expression left, final Expression right) {
+        if (!isNumber(left.getOutputType()) || !isNumber(right.getOutputType())) {
+            return null;
+        }
+        if (IntCell.TYPE.equals(common)) {
+            return "int";
+        }
+        if (LongCell.TYPE.equals(common)) {
+            return "long";
+        }
+        if (DoubleCell.TYPE.equals(common)) {
+            return "double";
+        }
+        return null;
+    }
+
+    private static boolean isNumber(final DataType type) {
+        return IntCell.TYPE.equals(type) || LongCell.TYPE.equals(type) || DoubleCell.TYPE.equals(type);
+    }
+
+    /**
+     * Declares the value of an operand as a primitive local variable.
+     *
+     * @return The Java code of the primitive value, or {@code null} if the constant operand is missing or NaN.
+     */
+    private String primitive(final StringBuilder code, final String name, final Expression operand,
+        final String primitive, final int id) {
+        if (operand.isConstant()) {
+            final DataCell cell = operand.evaluate(null, null).getValue();
+            if (cell.isMissing()) {
+                return null;
+            }
+            switch (primitive) {
+                case "int":
+                    return Integer.toString(((IntValue)cell).getIntValue());
+                case "long":
+                    return ((LongValue)cell).getLongValue() + "L";
+                default:
+                    final double d = ((DoubleValue)cell).getDoubleValue();
+                    if (Double.isNaN(d)) {
+                        return null;
+                    }
+                    return Double.isInfinite(d)
+                        ? (d > 0 ? "Double.POSITIVE_INFINITY" : "Double.NEGATIVE_INFINITY") : Double.toString(d);
+            }
+        }
+        final boolean mayBeNaN = DoubleCell.TYPE.equals(operand.getOutputType());
+        code.append("        final DataCell ").append(name).append(" = ").append(cell(operand)).append(";\n");
+        code.append("        if (").append(name).append(".isMissing()")
+            .append(mayBeNaN ? " || isNaN(" + name + ")" : "").append(") {\n");
+        code.append("            return interpret(").append(id).append(", row, provider);\n");
+        code.append("        }\n");
+        switch (primitive) {
+            case "int":
+                return "((IntValue)" + name + ").getIntValue()";
+            case "long":
+                return "((LongValue)" + name + ").getLongValue()";
+            default:
+                return "((DoubleValue)" + name + ").getDoubleValue()";
+        }
+    }
+
+    /**
+     * @param expression An {@link Expression}.
+     * @return Java code of a {@link DataCell} expression with the value of {@code expression}.
+     */
+    private String cell(final Expression expression) {
+        if (expression instanceof ColumnRefExpression) {
+            final ColumnRefExpression ref = (ColumnRefExpression)expression;
+            final String cell = "row.getCell(" + ref.getColumnIndex() + ")";
+            return ref.isMissingAsFalse() ? "missingAsFalse(" + cell + ")" : cell;
+        }
+        if (treeType(expression) != null && expression.isConstant()) {
+            return constant(expression.evaluate(null, null).getValue(), "DataCell");
+        }
+        return "value(" + register(expression) + ", row, provider)";
+    }
+
+    /** @return The id of {@code expression} in the generated code. */
+    private int register(final Expression expression) {
+        m_expressions.add(expression);
+        return m_expressions.size() - 1;
+    }
+
+    /** @return The name of the field holding {@code value}. */
+    private String constant(final Object value, final String javaType) {
+        final int index = m_constants.size();
+        m_constants.add(value);
+        final String field = "m_k" + index;
+        m_fields.append("    private final ").append(javaType).append(' ').append(field).append(";\n");
+        m_assignments.append("        ").append(field).append(" = (").append(javaType).append(")constants[")
+            .append(index).append("];\n");
+        return field;
+    }
+}
@@ -127,6 +127,22 @@ public static boolean isDistributableRule(final Rule rule) {
         return checkExpressions(rule, StreamingUtil::isDistributableExpression);
     }
 
+    /**
+     * Checks whether the rows can be processed concurrently, that is none of the rules refers to the row index.
+     *
+     * @param rules The parsed rules.
+     * @return All of the rules are distributable or not.
+     * @since 5.12
+     */
+    public static boolean areDistributableRules(final Iterable<Rule> rules) {
+        for (final Rule rule : rules) {
+            if (!isDistributableRule(rule)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static boolean checkExpressions(final Rule rule, final Predicate<Expression> check) {
         if (!rule.getCondition().isEnabled()) {
             //comment
@@ -0,0 +1,169 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   16.10.2026 (KNIME AG): created
+ */
+package org.knime.base.node.rules.engine.pmml;
+
+import org.knime.base.node.rules.engine.OrderedTaskQueue;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.container.AbstractCellFactory;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.streamable.StreamableFunction;
+
+/**
+ * Scores the rows of a {@link RowInput} in chunks. The new cells of a chunk are computed concurrently by a cell factory
+ * created with {@code processConcurrently}, while the output rows are assembled by the {@link StreamableFunction} of
+ * the {@link org.knime.core.data.container.ColumnRearranger} and pushed in the order of the input on the calling
+ * thread. The rearranger has to contain the factory returned by {@link #wrap(AbstractCellFactory)}, which hands out
+ * the already computed cells.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class PMMLParallelScorer {
+    /** The number of rows scored by a single task. */
+    static final int CHUNK_SIZE = 1024;
+
+    private AbstractCellFactory m_factory;
+
+    /** The cells of the row currently assembled by the function. */
+    private DataCell[] m_cells;
+
+    /** Consecutive rows of the input with their new cells. */
+    private static final class Chunk {
+        private final DataRow[] m_rows = new DataRow[CHUNK_SIZE];
+
+        private final DataCell[][] m_cells = new DataCell[CHUNK_SIZE][];
+
+        private int m_size;
+    }
+
+    /**
+     * @param factory A cell factory that can be called concurrently.
+     * @return The factory to add to the rearranger instead of {@code factory}.
+     */
+    AbstractCellFactory wrap(final AbstractCellFactory factory) {
+        m_factory = factory;
+        return new AbstractCellFactory(factory.getColumnSpecs()) {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public DataCell[] getCells(final DataRow row) {
+                return m_cells;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void afterProcessing() {
+                super.afterProcessing();
+                factory.afterProcessing();
+            }
+        };
+    }
+
+    /**
+     * Scores all rows of the {@code input} and closes the {@code output}.
+     *
+     * @param function The function of the rearranger containing the {@link #wrap(AbstractCellFactory) wrapped}
+     *            factory.
+     * @param input The input rows.
+     * @param output The output rows.
+     * @param exec The {@link ExecutionContext}.
+     * @throws Exception Problem computing the results or the execution was canceled.
+     */
+    void run(final StreamableFunction function, final RowInput input, final RowOutput output,
+        final ExecutionContext exec) throws Exception {
+        function.init(exec);
+        try (OrderedTaskQueue<Chunk> pending =
+            new OrderedTaskQueue<>(2 * Runtime.getRuntime().availableProcessors())) {
+            boolean exhausted = false;
+            long index = 0;
+            while (true) {
+                while (!exhausted && !pending.isFull()) {
+                    final Chunk chunk = new Chunk();
+                    DataRow row;
+                    while (chunk.m_size < CHUNK_SIZE && (row = input.poll()) != null) {
+                        chunk.m_rows[chunk.m_size++] = row;
+                    }
+                    if (chunk.m_size > 0) {
+                        pending.submit(() -> compute(chunk));
+                    } else {
+                        exhausted = true;
+                    }
+                }
+                final Chunk chunk = pending.poll();
+                if (chunk == null) {
+                    break;
+                }
+                for (int i = 0; i < chunk.m_size; i++) {
+                    m_cells = chunk.m_cells[i];
+                    output.push(function.compute(chunk.m_rows[i]));
+                }
+                index += chunk.m_size;
+                exec.setMessage("Row " + index);
+                exec.checkCanceled();
+            }
+            input.close();
+            output.close();
+        } finally {
+            m_cells = null;
+            function.finish();
+        }
+    }
+
+    /** Computes the new cells of the chunk, executed in the thread pool. */
+    private Chunk compute(final Chunk chunk) {
+        for (int i = 0; i < chunk.m_size; i++) {
+            chunk.m_cells[i] = m_factory.getCells(chunk.m_rows[i]);
+        }
+        return chunk;
+    }
+}
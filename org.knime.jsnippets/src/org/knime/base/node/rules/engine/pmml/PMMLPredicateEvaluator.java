@@ -0,0 +1,390 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   16.10.2026 (KNIME AG): created
+ */
+package org.knime.base.node.rules.engine.pmml;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.knime.base.node.mine.decisiontree2.PMMLArrayType;
+import org.knime.base.node.mine.decisiontree2.PMMLCompoundPredicate;
+import org.knime.base.node.mine.decisiontree2.PMMLFalsePredicate;
+import org.knime.base.node.mine.decisiontree2.PMMLOperator;
+import org.knime.base.node.mine.decisiontree2.PMMLPredicate;
+import org.knime.base.node.mine.decisiontree2.PMMLSetOperator;
+import org.knime.base.node.mine.decisiontree2.PMMLSimplePredicate;
+import org.knime.base.node.mine.decisiontree2.PMMLSimpleSetPredicate;
+import org.knime.base.node.mine.decisiontree2.PMMLTruePredicate;
+import org.knime.core.data.BooleanValue;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * A {@link PMMLPredicate} bound to a {@link DataTableSpec}: the columns are resolved to indices, the numeric thresholds
+ * are parsed and the values of the string {@link PMMLSimpleSetPredicate}s are put to hash sets once, instead of for
+ * each row. The result is {@code null} when it is unknown, like for {@link PMMLPredicate#evaluate(DataRow,
+ * DataTableSpec)}.
+ * <p>
+ * Only the common cases are handled this way, for the others (missing cells for comparisons, {@code NaN} values,
+ * surrogate predicates, ...) the original {@link PMMLPredicate} is evaluated. The instances are immutable, so they can
+ * be used from multiple threads.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+abstract class PMMLPredicateEvaluator {
+    /**
+     * @param row A {@link DataRow} of the table with the bound spec.
+     * @return The value of the predicate, {@code null} if unknown.
+     */
+    abstract Boolean evaluate(DataRow row);
+
+    /**
+     * @param predicate A {@link PMMLPredicate}.
+     * @param spec The {@link DataTableSpec} of the rows to evaluate.
+     * @return The {@link PMMLPredicateEvaluator} for {@code predicate}.
+     */
+    static PMMLPredicateEvaluator bind(final PMMLPredicate predicate, final DataTableSpec spec) {
+        if (predicate instanceof PMMLTruePredicate) {
+            return new Constant(Boolean.TRUE);
+        }
+        if (predicate instanceof PMMLFalsePredicate) {
+            return new Constant(Boolean.FALSE);
+        }
+        final Generic generic = new Generic(predicate, spec);
+        if (predicate instanceof PMMLSimplePredicate) {
+            return simple((PMMLSimplePredicate)predicate, spec, generic);
+        }
+        if (predicate instanceof PMMLSimpleSetPredicate) {
+            return set((PMMLSimpleSetPredicate)predicate, spec, generic);
+        }
+        if (predicate instanceof PMMLCompoundPredicate) {
+            final PMMLCompoundPredicate compound = (PMMLCompoundPredicate)predicate;
+            final List<PMMLPredicate> predicates = compound.getPredicates();
+            final PMMLPredicateEvaluator[] operands = new PMMLPredicateEvaluator[predicates.size()];
+            for (int i = 0; i < operands.length; i++) {
+                operands[i] = bind(predicates.get(i), spec);
+            }
+            switch (compound.getBooleanOperator()) {
+                case AND:
+                    return new And(operands);
+                case OR:
+                    return new Or(operands);
+                case XOR:
+                    return new Xor(operands);
+                default:
+                    return generic;
+            }
+        }
+        return generic;
+    }
+
+    private static PMMLPredicateEvaluator simple(final PMMLSimplePredicate predicate, final DataTableSpec spec,
+        final Generic generic) {
+        final int index = spec.findColumnIndex(predicate.getSplitAttribute());
+        final PMMLOperator operator = predicate.getOperator();
+        if (index < 0 || operator == null) {
+            return generic;
+        }
+        if (operator == PMMLOperator.IS_MISSING || operator == PMMLOperator.IS_NOT_MISSING) {
+            return new MissingCheck(index, operator == PMMLOperator.IS_MISSING);
+        }
+        final String threshold = predicate.getThreshold();
+        final DataType type = spec.getColumnSpec(index).getType();
+        if (threshold == null || type.isCompatible(BooleanValue.class)) {
+            return generic;
+        }
+        final boolean numeric = type.isCompatible(DoubleValue.class);
+        if (numeric && !type.isCompatible(StringValue.class)) {
+            final double value;
+            try {
+                value = Double.parseDouble(threshold);
+            } catch (NumberFormatException e) {
+                return generic;
+            }
+            return Double.isNaN(value) ? generic : new NumericComparison(index, operator, value, generic);
+        }
+        if (!numeric && type.isCompatible(StringValue.class)
+            && (operator == PMMLOperator.EQUAL || operator == PMMLOperator.NOT_EQUAL)) {
+            return new StringEquals(index, operator == PMMLOperator.EQUAL, threshold, generic);
+        }
+        return generic;
+    }
+
+    private static PMMLPredicateEvaluator set(final PMMLSimpleSetPredicate predicate, final DataTableSpec spec,
+        final Generic generic) {
+        final int index = spec.findColumnIndex(predicate.getSplitAttribute());
+        final DataType type = index < 0 ? null : spec.getColumnSpec(index).getType();
+        if (type == null || predicate.getArrayType() != PMMLArrayType.STRING
+            || type.isCompatible(DoubleValue.class) || !type.isCompatible(StringValue.class)) {
+            return generic;
+        }
+        final PMMLSetOperator operator = predicate.getSetOperator();
+        if (operator != PMMLSetOperator.IS_IN && operator != PMMLSetOperator.IS_NOT_IN) {
+            return generic;
+        }
+        return new StringSet(index, operator == PMMLSetOperator.IS_IN, new HashSet<>(predicate.getValues()),
+            generic);
+    }
+
+    /** Evaluates the original {@link PMMLPredicate}. */
+    private static final class Generic extends PMMLPredicateEvaluator {
+        private final PMMLPredicate m_predicate;
+
+        private final DataTableSpec m_spec;
+
+        private Generic(final PMMLPredicate predicate, final DataTableSpec spec) {
+            m_predicate = predicate;
+            m_spec = spec;
+        }
+
+        @Override
+        Boolean evaluate(final DataRow row) {
+            return m_predicate.evaluate(row, m_spec);
+        }
+    }
+
+    private static final class Constant extends PMMLPredicateEvaluator {
+        private final Boolean m_value;
+
+        private Constant(final Boolean value) {
+            m_value = value;
+        }
+
+        @Override
+        Boolean evaluate(final DataRow row) {
+            return m_value;
+        }
+    }
+
+    private static final class MissingCheck extends PMMLPredicateEvaluator {
+        private final int m_index;
+
+        private final boolean m_missing;
+
+        private MissingCheck(final int index, final boolean missing) {
+            m_index = index;
+            m_missing = missing;
+        }
+
+        @Override
+        Boolean evaluate(final DataRow row) {
+            return Boolean.valueOf(row.getCell(m_index).isMissing() == m_missing);
+        }
+    }
+
+    private static final class NumericComparison extends PMMLPredicateEvaluator {
+        private final int m_index;
+
+        private final PMMLOperator m_operator;
+
+        private final double m_threshold;
+
+        private final Generic m_generic;
+
+        private NumericComparison(final int index, final PMMLOperator operator, final double threshold,
+            final Generic generic) {
+            m_index = index;
+            m_operator = operator;
+            m_threshold = threshold;
+            m_generic = generic;
+        }
+
+        @Override
+        Boolean evaluate(final DataRow row) {
+            final DataCell cell = row.getCell(m_index);
+            if (cell.isMissing() || !(cell instanceof DoubleValue)) {
+                return m_generic.evaluate(row);
+            }
+            final double value = ((DoubleValue)cell).getDoubleValue();
+            if (Double.isNaN(value)) {
+                return m_generic.evaluate(row);
+            }
+            switch (m_operator) {
+                case EQUAL:
+                    return Boolean.valueOf(value == m_threshold);
+                case NOT_EQUAL:
+                    return Boolean.valueOf(value != m_threshold);
+                case LESS_THAN:
+                    return Boolean.valueOf(value < m_threshold);
+                case LESS_OR_EQUAL:
+                    return Boolean.valueOf(value <= m_threshold);
+                case GREATER_THAN:
+                    return Boolean.valueOf(value > m_threshold);
+                case GREATER_OR_EQUAL:
+                    return Boolean.valueOf(value >= m_threshold);
+                default:
+                    return m_generic.evaluate(row);
+            }
+        }
+    }
+
+    private static final class StringEquals extends PMMLPredicateEvaluator {
+        private final int m_index;
+
+        private final boolean m_equal;
+
+        private final String m_value;
+
+        private final Generic m_generic;
+
+        private StringEquals(final int index, final boolean equal, final String value, final Generic generic) {
+            m_index = index;
+            m_equal = equal;
+            m_value = value;
+            m_generic = generic;
+        }
+
+        @Override
+        Boolean evaluate(final DataRow row) {
+            final DataCell cell = row.getCell(m_index);
+            if (cell.getClass() != StringCell.class) {
+                return m_generic.evaluate(row);
+            }
+            return Boolean.valueOf(m_value.equals(((StringCell)cell).getStringValue()) == m_equal);
+        }
+    }
+
+    private static final class StringSet extends PMMLPredicateEvaluator {
+        private final int m_index;
+
+        private final boolean m_in;
+
+        private final Set<String> m_values;
+
+        private final Generic m_generic;
+
+        private StringSet(final int index, final boolean in, final Set<String> values, final Generic generic) {
+            m_index = index;
+            m_in = in;
+            m_values = values;
+            m_generic = generic;
+        }
+
+        @Override
+        Boolean evaluate(final DataRow row) {
+            final DataCell cell = row.getCell(m_index);
+            if (cell.getClass() != StringCell.class) {
+                return m_generic.evaluate(row);
+            }
+            return Boolean.valueOf(m_values.contains(((StringCell)cell).getStringValue()) == m_in);
+        }
+    }
+
+    /** Unknown if no operand is {@code false} and some are unknown. */
+    private static final class And extends PMMLPredicateEvaluator {
+        private final PMMLPredicateEvaluator[] m_operands;
+
+        private And(final PMMLPredicateEvaluator[] operands) {
+            m_operands = operands;
+        }
+
+        @Override
+        Boolean evaluate(final DataRow row) {
+            Boolean result = Boolean.TRUE;
+            for (final PMMLPredicateEvaluator operand : m_operands) {
+                final Boolean value = operand.evaluate(row);
+                if (value == null) {
+                    result = null;
+                } else if (!value.booleanValue()) {
+                    return Boolean.FALSE;
+                }
+            }
+            return result;
+        }
+    }
+
+    /** Unknown if no operand is {@code true} and some are unknown. */
+    private static final class Or extends PMMLPredicateEvaluator {
+        private final PMMLPredicateEvaluator[] m_operands;
+
+        private Or(final PMMLPredicateEvaluator[] operands) {
+            m_operands = operands;
+        }
+
+        @Override
+        Boolean evaluate(final DataRow row) {
+            Boolean result = Boolean.FALSE;
+            for (final PMMLPredicateEvaluator operand : m_operands) {
+                final Boolean value = operand.evaluate(row);
+                if (value == null) {
+                    result = null;
+                } else if (value.booleanValue()) {
+                    return Boolean.TRUE;
+                }
+            }
+            return result;
+        }
+    }
+
+    /** Unknown if any operand is unknown. */
+    private static final class Xor extends PMMLPredicateEvaluator {
+        private final PMMLPredicateEvaluator[] m_operands;
+
+        private Xor(final PMMLPredicateEvaluator[] operands) {
+            m_operands = operands;
+        }
+
+        @Override
+        Boolean evaluate(final DataRow row) {
+            boolean result = false;
+            for (final PMMLPredicateEvaluator operand : m_operands) {
+                final Boolean value = operand.evaluate(row);
+                if (value == null) {
+                    return null;
+                }
+                result ^= value.booleanValue();
+            }
+            return Boolean.valueOf(result);
+        }
+    }
+}
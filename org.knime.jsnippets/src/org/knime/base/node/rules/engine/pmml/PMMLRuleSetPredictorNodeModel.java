@@ -49,12 +49,13 @@
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.UnaryOperator;
 
 import org.dmg.pmml.RuleSelectionMethodDocument.RuleSelectionMethod;
 import org.dmg.pmml.RuleSetModelDocument.RuleSetModel;
@@ -99,6 +100,8 @@
 import org.knime.core.node.streamable.PortInput;
 import org.knime.core.node.streamable.PortObjectInput;
 import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.RowOutput;
 import org.knime.core.node.streamable.StreamableFunction;
 import org.knime.core.node.streamable.StreamableOperator;
 import org.knime.core.pmml.PMMLModelType;
@@ -218,8 +221,7 @@ private ColumnRearranger createColumnRearranger(final PMMLPortObject obj, final
             m_doReplaceColumn.getBooleanValue() ? m_replaceColumn.getStringValue()
                 : DataTableSpec.getUniqueColumnName(spec, m_outputColumn.getStringValue()),
             m_addConfidence.getBooleanValue(), m_confidenceColumn.getStringValue(),
-            /*no validation column*/-1, /* no statistics computed, so concurrent processing is allowed*/
-            true);
+            /*no validation column*/-1);
     }
 
     /**
@@ -241,7 +243,7 @@ public static ColumnRearranger createRearranger(final PMMLPortObject obj, final
         final boolean replaceColumn, final String outputColumnName, final boolean addConfidence,
         final String confidenceColumnName, final int validationColumnIdx) throws InvalidSettingsException {
         return createRearranger(obj, spec, replaceColumn, outputColumnName, addConfidence, confidenceColumnName,
-            validationColumnIdx, /*might compute statistics*/false);
+            validationColumnIdx, UnaryOperator.identity());
     }
 
     /**
@@ -254,14 +256,14 @@ public static ColumnRearranger createRearranger(final PMMLPortObject obj, final
      * @param addConfidence Should add the confidence values to a column?
      * @param confidenceColumnName The name of the confidence column.
      * @param validationColumnIdx Index of the validation column, {@code -1} if not specified.
-     * @param processConcurrently Should be {@code false} when the statistics are to be computed.
+     * @param wrapper Creates the cell factory added to the rearranger from the one computing the new cells.
      * @return The {@link ColumnRearranger} computing the result.
      * @throws InvalidSettingsException Problem with rules.
      */
     private static ColumnRearranger createRearranger(final PMMLPortObject obj, final DataTableSpec spec,
         final boolean replaceColumn, final String outputColumnName, final boolean addConfidence,
-        final String confidenceColumnName, final int validationColumnIdx, final boolean processConcurrently)
-        throws InvalidSettingsException {
+        final String confidenceColumnName, final int validationColumnIdx,
+        final UnaryOperator<AbstractCellFactory> wrapper) throws InvalidSettingsException {
         List<Node> models = obj.getPMMLValue().getModels(PMMLModelType.RuleSetModel);
         if (models.size() != 1) {
             throw new InvalidSettingsException("Expected exactly on RuleSetModel, but got: " + models.size());
@@ -272,6 +274,11 @@ private static ColumnRearranger createRearranger(final PMMLPortObject obj, final
             throw new UnsupportedOperationException("The model is not scorable.");
         }
         final List<PMMLRuleTranslator.Rule> rules = translator.getRules();
+        // resolve the columns and parse the constants once, not for each row
+        final PMMLPredicateEvaluator[] conditions = new PMMLPredicateEvaluator[rules.size()];
+        for (int i = 0; i < conditions.length; i++) {
+            conditions[i] = PMMLPredicateEvaluator.bind(rules.get(i).getCondition(), spec);
+        }
         ColumnRearranger ret = new ColumnRearranger(spec);
         final List<DataColumnSpec> targetCols = obj.getSpec().getTargetCols();
         final DataType dataType = targetCols.isEmpty() ? StringCell.TYPE : targetCols.get(0).getType();
@@ -324,11 +331,52 @@ private static ColumnRearranger createRearranger(final PMMLPortObject obj, final
             specs = new DataColumnSpec[]{colSpec};
         }
         final int oldColumnIndex = replaceColumn ? ret.indexOf(outputColumnName) : -1;
-        ret.append(new AbstractCellFactory(processConcurrently, specs) {
-            private final List<String> m_values;
+        // the statistics are collected in thread-safe counters, so the rows can be processed concurrently
+        ret.append(wrapper.apply(new AbstractCellFactory(true, specs) {
+            /** The number of records and correct outcomes per rule. */
+            private final PMMLRuleStatistics m_statistics = new PMMLRuleStatistics(rules.size());
+
+            /** The distinct score values of the target in the data dictionary. */
+            private final String[] m_scores;
+
+            /** The results for {@link #m_scores}. */
+            private final DataCell[] m_scoreResults;
+
+            /** The index of the outcome of the rules within {@link #m_scores}, {@code -1} if not there. */
+            private final int[] m_scoreIndices;
+
+            /** The weights of the rules, {@code 0} when not specified. */
+            private final double[] m_weights;
+
+            /** The results of the rules. */
+            private final DataCell[] m_results;
+
+            private final DataCell m_defaultResult;
+
+            /** The sums of the weights for each score, reused for the rows processed by the same thread. */
+            private final ThreadLocal<double[]> m_sumWeights;
             {
                 Map<String, List<String>> dd = translator.getDataDictionary();
-                m_values = dd.get(targetCols.get(0).getName());
+                final List<String> values = dd.get(targetCols.get(0).getName());
+                m_scores = values == null ? new String[0] : new LinkedHashSet<>(values).toArray(new String[0]);
+                m_scoreResults = new DataCell[m_scores.length];
+                final Map<String, Integer> scoreIndices = new HashMap<>();
+                for (int i = 0; i < m_scores.length; i++) {
+                    m_scoreResults[i] = result(m_scores[i]);
+                    scoreIndices.put(m_scores[i], i);
+                }
+                m_scoreIndices = new int[rules.size()];
+                m_weights = new double[rules.size()];
+                m_results = new DataCell[rules.size()];
+                for (int i = 0; i < m_results.length; i++) {
+                    final PMMLRuleTranslator.Rule rule = rules.get(i);
+                    m_scoreIndices[i] = scoreIndices.getOrDefault(rule.getOutcome(), -1);
+                    final Double weight = rule.getWeight();
+                    m_weights[i] = weight == null ? 0.0 : weight.doubleValue();
+                    m_results[i] = result(rule.getOutcome());
+                }
+                m_defaultResult = result(defaultScore);
+                m_sumWeights = ThreadLocal.withInitial(() -> new double[m_scores.length]);
             }
 
             /**
@@ -378,37 +426,32 @@ private DataCell[] toCells(final Pair<DataCell, Double> resultAndConfidence) {
              * @return The result and the confidence.
              */
             private Pair<DataCell, Double> selectWeightedSum(final DataRow row) {
-                final Map<String, Double> scoreToSumWeight = new LinkedHashMap<String, Double>();
-                for (String val : m_values) {
-                    scoreToSumWeight.put(val, 0.0);
-                }
+                final double[] sumWeights = m_sumWeights.get();
+                Arrays.fill(sumWeights, 0.0);
                 int matchedRuleCount = 0;
-                for (final PMMLRuleTranslator.Rule rule : rules) {
-                    if (rule.getCondition().evaluate(row, spec) == Boolean.TRUE) {
+                for (int i = 0; i < conditions.length; i++) {
+                    if (conditions[i].evaluate(row) == Boolean.TRUE) {
                         ++matchedRuleCount;
-                        Double sumWeight = scoreToSumWeight.get(rule.getOutcome());
-                        if (sumWeight == null) {
+                        final int scoreIndex = m_scoreIndices[i];
+                        if (scoreIndex < 0) {
                             throw new IllegalStateException(
-                                "The score value: " + rule.getOutcome() + " is not in the data dictionary.");
+                                "The score value: " + rules.get(i).getOutcome() + " is not in the data dictionary.");
                         }
-                        final Double wRaw = rule.getWeight();
-                        final double w = wRaw == null ? 0.0 : wRaw.doubleValue();
-                        scoreToSumWeight.put(rule.getOutcome(), sumWeight + w);
+                        sumWeights[scoreIndex] += m_weights[i];
                     }
                 }
                 double maxSumWeight = Double.NEGATIVE_INFINITY;
-                String bestScore = null;
-                for (Entry<String, Double> entry : scoreToSumWeight.entrySet()) {
-                    final double d = entry.getValue().doubleValue();
-                    if (d > maxSumWeight) {
-                        maxSumWeight = d;
-                        bestScore = entry.getKey();
+                int bestScore = -1;
+                for (int i = 0; i < sumWeights.length; i++) {
+                    if (sumWeights[i] > maxSumWeight) {
+                        maxSumWeight = sumWeights[i];
+                        bestScore = i;
                     }
                 }
-                if (bestScore == null || matchedRuleCount == 0) {
-                    return pair(result(defaultScore), defaultConfidence);
+                if (bestScore < 0 || matchedRuleCount == 0) {
+                    return pair(m_defaultResult, defaultConfidence);
                 }
-                return pair(result(bestScore), maxSumWeight / matchedRuleCount);
+                return pair(m_scoreResults[bestScore], maxSumWeight / matchedRuleCount);
             }
 
             /**
@@ -431,39 +474,27 @@ private <F, S> Pair<F, S> pair(final F f, final S s) {
             private Pair<DataCell, Double> selectWeightedMax(final DataRow row) {
                 double maxWeight = Double.NEGATIVE_INFINITY;
                 PMMLRuleTranslator.Rule bestRule = null;
-                for (final PMMLRuleTranslator.Rule rule : rules) {
-                    if (rule.getCondition().evaluate(row, spec) == Boolean.TRUE) {
+                int bestIndex = -1;
+                for (int i = 0; i < conditions.length; i++) {
+                    if (conditions[i].evaluate(row) == Boolean.TRUE) {
+                        final PMMLRuleTranslator.Rule rule = rules.get(i);
                         if (rule.getWeight() > maxWeight) {
                             maxWeight = rule.getWeight();
                             bestRule = rule;
+                            bestIndex = i;
                         }
                     }
                 }
                 if (bestRule == null) {
-                    return pair(result(defaultScore), defaultConfidence);
-                }
-                bestRule.setRecordCount(bestRule.getRecordCount() + 1);
-                DataCell result = result(bestRule);
-                if (validationColumnIdx >= 0) {
-                    if (row.getCell(validationColumnIdx).equals(result)) {
-                        bestRule.setNbCorrect(bestRule.getNbCorrect() + 1);
-                    }
+                    return pair(m_defaultResult, defaultConfidence);
                 }
+                DataCell result = m_results[bestIndex];
+                m_statistics.record(bestIndex,
+                    validationColumnIdx >= 0 && row.getCell(validationColumnIdx).equals(result));
                 Double confidence = bestRule.getConfidence();
                 return pair(result, confidence == null ? defaultConfidence : confidence);
             }
 
-            /**
-             * Selects the outcome of the rule and converts it to the proper outcome type.
-             *
-             * @param rule A {@link Rule}.
-             * @return The {@link DataCell} representing the result. (May be missing.)
-             */
-            private DataCell result(final PMMLRuleTranslator.Rule rule) {
-                String outcome = rule.getOutcome();
-                return result(outcome);
-            }
-
             /**
              * Constructs the {@link DataCell} from its {@link String} representation ({@code outcome}) and its type.
              *
@@ -501,21 +532,17 @@ private DataCell result(final String outcome) {
              * @return The result and the confidence.
              */
             private Pair<DataCell, Double> selectFirstHit(final DataRow row) {
-                for (final PMMLRuleTranslator.Rule rule : rules) {
-                    Boolean eval = rule.getCondition().evaluate(row, spec);
-                    if (eval == Boolean.TRUE) {
-                        rule.setRecordCount(rule.getRecordCount() + 1);
-                        DataCell result = result(rule);
-                        if (validationColumnIdx >= 0) {
-                            if (row.getCell(validationColumnIdx).equals(result)) {
-                                rule.setNbCorrect(rule.getNbCorrect() + 1);
-                            }
-                        }
+                for (int i = 0; i < conditions.length; i++) {
+                    if (conditions[i].evaluate(row) == Boolean.TRUE) {
+                        final PMMLRuleTranslator.Rule rule = rules.get(i);
+                        DataCell result = m_results[i];
+                        m_statistics.record(i,
+                            validationColumnIdx >= 0 && row.getCell(validationColumnIdx).equals(result));
                         Double confidence = rule.getConfidence();
                         return pair(result, confidence == null ? defaultConfidence : confidence);
                     }
                 }
-                return pair(result(defaultScore), defaultConfidence);
+                return pair(m_defaultResult, defaultConfidence);
             }
 
             /**
@@ -531,6 +558,8 @@ public void afterProcessing() {
                 if (ruleSet.getRuleSet().getSimpleRuleList().size() == rules.size()) {
                     for (int i = 0; i < rules.size(); ++i) {
                         Rule rule = rules.get(i);
+                        rule.setRecordCount(rule.getRecordCount() + m_statistics.getRecordCount(i));
+                        rule.setNbCorrect(rule.getNbCorrect() + m_statistics.getNbCorrect(i));
                         final SimpleRule simpleRuleArray = ruleSet.getRuleSet().getSimpleRuleArray(i);
                         synchronized (simpleRuleArray) /*synchronized fixes AP-6766 */ {
                             simpleRuleArray.setRecordCount(rule.getRecordCount());
@@ -543,7 +572,7 @@ public void afterProcessing() {
                     }
                 }
             }
-        });
+        }));
         if (replaceColumn) {
             ret.remove(outputColumnName);
             ret.move(ret.getColumnCount() - 1 - (addConfidence ? 1 : 0), oldColumnIndex);
@@ -733,13 +762,15 @@ public StreamableOperator createStreamableOperator(final PartitionInfo partition
             public void runFinal(final PortInput[] inputs, final PortOutput[] outputs, final ExecutionContext exec)
                 throws Exception {
                 final PortObjectInput modelPort = (PortObjectInput)inputs[MODEL_INDEX];
+                // the cell factory is concurrent, so chunks of the partition can be scored in parallel
+                final PMMLParallelScorer scorer =
+                    Runtime.getRuntime().availableProcessors() > 1 ? new PMMLParallelScorer() : null;
                 final ColumnRearranger rearranger = createRearranger((PMMLPortObject)modelPort.getPortObject(), preSpec,
                     m_doReplaceColumn.getBooleanValue(),
                     m_doReplaceColumn.getBooleanValue() ? m_replaceColumn.getStringValue()
                         : DataTableSpec.getUniqueColumnName(preSpec, m_outputColumn.getStringValue()),
                     m_addConfidence.getBooleanValue(), m_confidenceColumn.getStringValue(),
-                    /*no validation column*/-1, /* no statistics computed, so concurrent processing is allowed*/
-                    true);
+                    /*no validation column*/-1, scorer == null ? UnaryOperator.identity() : scorer::wrap);
                 final DataTableSpec tableSpec = rearranger.createSpec();
                 if (m_doReplaceColumn.getBooleanValue()) {
                     DataColumnSpec[] columns = new DataColumnSpec[preSpec.getNumColumns()];
@@ -755,7 +786,11 @@ public void runFinal(final PortInput[] inputs, final PortOutput[] outputs, final
                     }
                 }
                 final StreamableFunction function = rearranger.createStreamableFunction(DATA_INDEX, 0);
-                function.runFinal(inputs, outputs, exec);
+                if (scorer != null) {
+                    scorer.run(function, (RowInput)inputs[DATA_INDEX], (RowOutput)outputs[0], exec);
+                } else {
+                    function.runFinal(inputs, outputs, exec);
+                }
             }
         };
     }
@@ -0,0 +1,103 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ *
+ * History
+ *   16.10.2026 (KNIME AG): created
+ */
+package org.knime.base.node.rules.engine.pmml;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how many records were assigned to the rules of a rule set and how many of them were correct. The counts can
+ * be updated concurrently from multiple threads.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class PMMLRuleStatistics {
+    private final LongAdder[] m_recordCounts;
+
+    private final LongAdder[] m_nbCorrects;
+
+    /**
+     * @param ruleCount The number of rules.
+     */
+    PMMLRuleStatistics(final int ruleCount) {
+        m_recordCounts = new LongAdder[ruleCount];
+        m_nbCorrects = new LongAdder[ruleCount];
+        for (int i = 0; i < ruleCount; i++) {
+            m_recordCounts[i] = new LongAdder();
+            m_nbCorrects[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records that a record was assigned to a rule.
+     *
+     * @param rule The index of the rule.
+     * @param correct Whether the outcome of the rule was the expected value.
+     */
+    void record(final int rule, final boolean correct) {
+        m_recordCounts[rule].increment();
+        if (correct) {
+            m_nbCorrects[rule].increment();
+        }
+    }
+
+    /**
+     * @param rule The index of the rule.
+     * @return The number of records assigned to the rule.
+     */
+    long getRecordCount(final int rule) {
+        return m_recordCounts[rule].sum();
+    }
+
+    /**
+     * @param rule The index of the rule.
+     * @return The number of records assigned to the rule with correct outcome.
+     */
+    long getNbCorrect(final int rule) {
+        return m_nbCorrects[rule].sum();
+    }
+}
@@ -58,17 +58,27 @@
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
 
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.apache.xmlbeans.SchemaType;
 import org.apache.xmlbeans.XmlCursor;
+import org.apache.xmlbeans.XmlException;
 import org.apache.xmlbeans.XmlObject;
+import org.apache.xmlbeans.XmlOptions;
 import org.dmg.pmml.CompoundPredicateDocument.CompoundPredicate;
 import org.dmg.pmml.CompoundRuleDocument;
 import org.dmg.pmml.CompoundRuleDocument.CompoundRule;
 import org.dmg.pmml.DataDictionaryDocument.DataDictionary;
+import org.dmg.pmml.DataFieldDocument;
 import org.dmg.pmml.DataFieldDocument.DataField;
+import org.dmg.pmml.DerivedFieldDocument.DerivedField;
+import org.dmg.pmml.LocalTransformationsDocument;
 import org.dmg.pmml.MININGFUNCTION;
 import org.dmg.pmml.PMMLDocument;
 import org.dmg.pmml.PMMLDocument.PMML;
+import org.dmg.pmml.RuleSelectionMethodDocument;
 import org.dmg.pmml.RuleSelectionMethodDocument.RuleSelectionMethod;
 import org.dmg.pmml.RuleSelectionMethodDocument.RuleSelectionMethod.Criterion;
 import org.dmg.pmml.RuleSetDocument.RuleSet;
@@ -79,6 +89,8 @@
 import org.dmg.pmml.SimpleRuleDocument;
 import org.dmg.pmml.SimpleRuleDocument.SimpleRule;
 import org.dmg.pmml.SimpleSetPredicateDocument.SimpleSetPredicate;
+import org.dmg.pmml.TransformationDictionaryDocument;
+import org.dmg.pmml.TransformationDictionaryDocument.TransformationDictionary;
 import org.dmg.pmml.ValueDocument.Value;
 import org.knime.base.node.mine.decisiontree2.PMMLBooleanOperator;
 import org.knime.base.node.mine.decisiontree2.PMMLCompoundPredicate;
@@ -345,6 +357,167 @@ public void initializeFrom(final PMMLDocument pmmlDoc) {
         m_nbCorrect = ruleSet.isSetNbCorrect() ? ruleSet.getNbCorrect() : Double.NaN;
     }
 
+    /**
+     * Initializes the translator from a PMML document read by a StAX {@code reader}, without loading the whole
+     * document. Only a single rule, data field or transformation element is materialized at a time and converted to
+     * the same representation as by {@link #initializeFrom(PMMLDocument)}, so the memory used is proportional to the
+     * number of rules instead of the size of the document. The {@link #getOriginalRuleSetModel() original model} is
+     * not available afterwards, so no statistics can be written back to it.
+     * <p>
+     * The nodes of this bundle receive {@link org.knime.core.node.port.pmml.PMMLPortObject}s that are already
+     * materialized by the framework, so they use {@link #initializeFrom(PMMLDocument)}. This method is meant for
+     * clients reading exported rule sets from a file or stream directly, where parsing the document first would
+     * dominate the memory used.
+     *
+     * @param reader A reader positioned before the {@code PMML} element, it is not closed.
+     * @throws XMLStreamException Problem reading the document.
+     * @throws XmlException The content of an element is not valid.
+     * @throws IllegalArgumentException The document contains no RuleSetModel.
+     * @since 5.12
+     */
+    public void initializeFrom(final XMLStreamReader reader) throws XMLStreamException, XmlException {
+        final XmlOptions options = new XmlOptions();
+        final PMMLDocument derivedFields = PMMLDocument.Factory.newInstance();
+        final Map<String, List<String>> dataDictionary = new LinkedHashMap<String, List<String>>();
+        m_originalRuleModel = null;
+        m_rules = new ArrayList<Rule>();
+        m_selectionMethodList = new ArrayList<RuleSelectionMethod>();
+        boolean root = true;
+        boolean found = false;
+        int event = reader.getEventType();
+        while (!found && event != XMLStreamConstants.END_DOCUMENT) {
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                event = reader.next();
+                continue;
+            }
+            final String name = reader.getLocalName();
+            if (root) {
+                root = false;
+                // older PMML versions are read as the current one, like PMMLPortObject does
+                final String namespace = PMMLDocument.type.getDocumentElementName().getNamespaceURI();
+                if (reader.getNamespaceURI() != null && !namespace.equals(reader.getNamespaceURI())) {
+                    options.setLoadSubstituteNamespaces(Collections.singletonMap(reader.getNamespaceURI(), namespace));
+                }
+                derivedFields.addNewPMML();
+                event = reader.next();
+            } else if ("DataField".equals(name)) {
+                final DataField df = DataFieldDocument.Factory.parse(reader, options).getDataField();
+                final List<String> list = new ArrayList<String>(df.sizeOfValueArray());
+                for (Value val : df.getValueList()) {
+                    list.add(val.getValue());
+                }
+                dataDictionary.put(df.getName(), Collections.unmodifiableList(list));
+                event = afterFragment(reader, name);
+            } else if ("TransformationDictionary".equals(name)) {
+                addDerivedFields(derivedFields, TransformationDictionaryDocument.Factory.parse(reader, options)
+                    .getTransformationDictionary().getDerivedFieldList());
+                event = afterFragment(reader, name);
+            } else if ("RuleSetModel".equals(name)) {
+                found = true;
+                readRuleSetModel(reader, options, derivedFields);
+            } else {
+                event = reader.next();
+            }
+        }
+        if (!found) {
+            throw new IllegalArgumentException("No RuleSetModel provided.");
+        }
+        m_dataDictionary = Collections.unmodifiableMap(dataDictionary);
+    }
+
+    /**
+     * Reads the attributes and the rules of the {@code RuleSetModel} element the {@code reader} is positioned at.
+     *
+     * @param reader The StAX reader at the start of the {@code RuleSetModel}, after return at its end.
+     * @param options The options to parse the materialized elements.
+     * @param derivedFields The document collecting the derived fields.
+     * @throws XMLStreamException Problem reading the document.
+     * @throws XmlException The content of an element is not valid.
+     */
+    private void readRuleSetModel(final XMLStreamReader reader, final XmlOptions options,
+        final PMMLDocument derivedFields) throws XMLStreamException, XmlException {
+        assert "classification".equals(reader.getAttributeValue(null, "functionName"))
+            : reader.getAttributeValue(null, "functionName");
+        final String isScorable = reader.getAttributeValue(null, "isScorable");
+        m_isScorable = isScorable == null || "true".equals(isScorable) || "1".equals(isScorable);
+        int depth = 1;
+        int event = reader.next();
+        while (depth > 0) {
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                final String name = reader.getLocalName();
+                if ("SimpleRule".equals(name)) {
+                    m_rules.add(createRule(SimpleRuleDocument.Factory.parse(reader, options).getSimpleRule()));
+                } else if ("CompoundRule".equals(name)) {
+                    m_rules.add(createRule(CompoundRuleDocument.Factory.parse(reader, options).getCompoundRule()));
+                } else if ("RuleSelectionMethod".equals(name)) {
+                    m_selectionMethodList
+                        .add(RuleSelectionMethodDocument.Factory.parse(reader, options).getRuleSelectionMethod());
+                } else if ("LocalTransformations".equals(name)) {
+                    addDerivedFields(derivedFields, LocalTransformationsDocument.Factory.parse(reader, options)
+                        .getLocalTransformations().getDerivedFieldList());
+                } else {
+                    if ("RuleSet".equals(name)) {
+                        // the transformations precede the RuleSet, so the field names can be resolved from now on
+                        m_nameMapper = new DerivedFieldMapper(derivedFields);
+                        m_defaultScore = reader.getAttributeValue(null, "defaultScore");
+                        m_defaultConfidence = parseDouble(reader.getAttributeValue(null, "defaultConfidence"));
+                        m_recordCount = parseDouble(reader.getAttributeValue(null, "recordCount"));
+                        m_nbCorrect = parseDouble(reader.getAttributeValue(null, "nbCorrect"));
+                    }
+                    depth++;
+                    event = reader.next();
+                    continue;
+                }
+                event = afterFragment(reader, name);
+                continue;
+            }
+            if (depth > 0) {
+                event = reader.next();
+            }
+        }
+    }
+
+    /**
+     * Moves the {@code reader} after an element materialized by XMLBeans.
+     *
+     * @param reader The StAX reader.
+     * @param name The local name of the materialized element.
+     * @return The type of the event the reader is positioned at, the first one after the element.
+     * @throws XMLStreamException Problem reading the document.
+     */
+    static int afterFragment(final XMLStreamReader reader, final String name) throws XMLStreamException {
+        // depending on the XMLBeans version the reader is left at the end of the element or after it
+        if (reader.getEventType() == XMLStreamConstants.END_ELEMENT && name.equals(reader.getLocalName())) {
+            return reader.next();
+        }
+        return reader.getEventType();
+    }
+
+    /**
+     * Adds copies of the {@code fields} to the transformation dictionary of {@code doc}.
+     *
+     * @param doc The document collecting the derived fields.
+     * @param fields Some {@link DerivedField}s.
+     */
+    private static void addDerivedFields(final PMMLDocument doc, final List<DerivedField> fields) {
+        final PMML pmml = doc.getPMML();
+        final TransformationDictionary dictionary = pmml.getTransformationDictionary() == null
+            ? pmml.addNewTransformationDictionary() : pmml.getTransformationDictionary();
+        for (DerivedField field : fields) {
+            dictionary.addNewDerivedField().set(field);
+        }
+    }
+
+    /**
+     * @param value The value of an optional attribute, can be {@code null}.
+     * @return The parsed value, {@link Double#NaN} for {@code null}.
+     */
+    private static double parseDouble(final String value) {
+        return value == null ? Double.NaN : Double.parseDouble(value);
+    }
+
     /**
      * Inits {@link #m_dataDictionary} based on the {@code pmmlDoc} document.
      *
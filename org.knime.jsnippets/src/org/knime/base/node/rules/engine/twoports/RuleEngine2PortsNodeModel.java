@@ -30,8 +30,10 @@
 import org.knime.base.node.rules.engine.Rule;
 import org.knime.base.node.rules.engine.RuleEngineNodeModel;
 import org.knime.base.node.rules.engine.RuleFactory;
+import org.knime.base.node.rules.engine.RuleMatcher;
 import org.knime.base.node.rules.engine.RuleNodeSettings;
 import org.knime.base.node.rules.engine.RuleSupport;
+import org.knime.base.node.rules.engine.StreamingUtil;
 import org.knime.base.node.rules.engine.Util;
 import org.knime.base.node.rules.engine.VariableProvider;
 import org.knime.base.node.rules.engine.pmml.PMMLRuleParser;
@@ -297,6 +299,7 @@ private Pair<ColumnRearranger, PortObject> computeRearrangerWithoutPMML(final Da
         ret = new ColumnRearranger(spec);
         factory.disableMissingComparisons();
         factory.disableNaNComparisons();
+        factory.disableMatchedObjects();
         final List<Rule> ruleList = new ArrayList<>();
         int lineNo = 0;
         DataRow ruleRow;
@@ -340,13 +343,18 @@ private Pair<ColumnRearranger, PortObject> computeRearrangerWithoutPMML(final Da
         final MutableLong rowIndex = new MutableLong();
         final ExecutionMonitor exec = new ExecutionMonitor();
         final boolean disallowLongOutputForCompatibility = m_settings.isDisallowLongOutputForCompatibility();
-        VariableProvider.SingleCellFactoryProto fac = new VariableProvider.SingleCellFactoryProto(
+        final RuleMatcher matcher = RuleMatcher.create(ruleList, m_settings.isCompileRules());
+        // the rules are stateless, so the rows can be processed concurrently unless the row index is used
+        final boolean concurrent = StreamingUtil.areDistributableRules(ruleList);
+        VariableProvider.SingleCellFactoryProto fac = new VariableProvider.SingleCellFactoryProto(concurrent,
             new DataColumnSpecCreator(outputColumnName, outType).createSpec()) {
             @Override
             public DataCell getCell(final DataRow row) {
-                setProgress(rowIndex.longValue(), m_rowCount, row.getKey(), exec);
-                rowIndex.increment();
-                return RuleEngineNodeModel.getRulesOutcome(outType, row, ruleList,
+                if (!concurrent) {
+                    setProgress(rowIndex.longValue(), m_rowCount, row.getKey(), exec);
+                    rowIndex.increment();
+                }
+                return RuleEngineNodeModel.getRulesOutcome(outType, row, matcher,
                     disallowLongOutputForCompatibility, this);
             }
 
@@ -75,6 +75,8 @@ class RuleEngine2PortsSimpleSettings {
     protected static final String OUTCOMES_COLUMN = "outcomes.column";
     /** Config key for whether we need to force int compatibility at the output. */
     private static final String DISALLOW_LONG_OUTPUT_FOR_COMPATIBILITY = "disallowLongOutputForCompatibility";
+    /** Config key for whether the rule conditions are compiled. */
+    private static final String COMPILE_RULES = "compileRules";
     protected static final String TREAT_OUTCOMES_WITH_DOLLAR_AS_REFEENCES = "treat.outcomes.with.dollar.as.references";
     /** By default in a separate column the outcomes starting with {@code $} should be treated as references */
     protected static final boolean DEFAULT_TREAT_OUTCOMES_WITH_DOLLAR_AS_REFERENCES = true;
@@ -88,6 +90,8 @@ class RuleEngine2PortsSimpleSettings {
      * will map that to int ... will force that using this (hidden) setting. */
     private boolean m_disallowLongOutputForCompatibility = false;
     protected boolean m_treatOutcomesAsReferences = DEFAULT_TREAT_OUTCOMES_WITH_DOLLAR_AS_REFERENCES;
+    /** since 5.12 the rule conditions are compiled to byte code unless this (hidden) setting is false. */
+    private boolean m_compileRules = true;
 
     /**
      * Constructs the simple settings.
@@ -118,6 +122,14 @@ protected final boolean isDisallowLongOutputForCompatibility() {
         return m_disallowLongOutputForCompatibility;
     }
 
+    /**
+     * @return whether the rule conditions are compiled to byte code
+     * @since 5.12
+     */
+    protected final boolean isCompileRules() {
+        return m_compileRules;
+    }
+
     /**
      * @param outcomeColumn the outcomeColumn to set
      */
@@ -180,6 +192,8 @@ protected void loadSettingsDialog(final NodeSettingsRO settings, final DataTable
         m_disallowLongOutputForCompatibility = settings.getBoolean(DISALLOW_LONG_OUTPUT_FOR_COMPATIBILITY, false);
         //New in 3.2
         m_treatOutcomesAsReferences = settings.getBoolean(TREAT_OUTCOMES_WITH_DOLLAR_AS_REFEENCES, DEFAULT_TREAT_OUTCOMES_WITH_DOLLAR_AS_REFERENCES);
+        //New in 5.12
+        m_compileRules = settings.getBoolean(COMPILE_RULES, true);
     }
 
     /**
@@ -221,6 +235,8 @@ protected void loadSettingsModel(final NodeSettingsRO settings) throws InvalidSe
         // added in 3.2; default true because if the key is absent, the workflow predates 3.2 and must retain
         // int-compatible output. For new workflows (written by NodeParameters), the key is always present.
         m_disallowLongOutputForCompatibility = settings.getBoolean(DISALLOW_LONG_OUTPUT_FOR_COMPATIBILITY, true);
+        // added in 5.12, hidden
+        m_compileRules = settings.getBoolean(COMPILE_RULES, true);
     }
 
     /**
@@ -235,6 +251,8 @@ protected void saveSettings(final NodeSettingsWO settings) {
 
         //New in 3.2
         settings.addBoolean(TREAT_OUTCOMES_WITH_DOLLAR_AS_REFEENCES, m_treatOutcomesAsReferences);
+        //New in 5.12
+        settings.addBoolean(COMPILE_RULES, m_compileRules);
     }
 
     //Helper methods
@@ -55,11 +55,12 @@
 import java.util.Map;
 
 import org.apache.commons.lang3.mutable.MutableLong;
-import org.knime.base.node.rules.engine.Condition.MatchOutcome.MatchState;
 import org.knime.base.node.rules.engine.RowAppenderRowOutput;
 import org.knime.base.node.rules.engine.Rule;
 import org.knime.base.node.rules.engine.RuleEngineNodeModel;
 import org.knime.base.node.rules.engine.RuleFactory;
+import org.knime.base.node.rules.engine.RuleMatchIterator;
+import org.knime.base.node.rules.engine.RuleMatcher;
 import org.knime.base.node.rules.engine.RuleNodeSettings;
 import org.knime.base.node.rules.engine.Util;
 import org.knime.base.node.rules.engine.VariableProvider;
@@ -285,6 +286,7 @@ protected List<Rule> parseRules(final DataTableSpec spec, final RuleNodeSettings
         RuleFactory factory = RuleFactory.getInstance(nodeType).cloned();
         factory.disableMissingComparisons();
         factory.disableNaNComparisons();
+        factory.disableMatchedObjects();
         int line = 0;
         for (String s : rules()) {
             ++line;
@@ -308,6 +310,14 @@ protected List<String> rules() {
         return m_rulesList;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isCompileRules() {
+        return m_settings.isCompileRules();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -468,6 +478,7 @@ public void runFinal(final PortInput[] inputs, final PortOutput[] outputs, final
                 }
                 final RowInput inputPartitions = (RowInput)inputs[DATA_PORT];
                 final List<Rule> rules = parseRules(inputPartitions.getDataTableSpec(), RuleNodeSettings.RuleFilter);
+                final RuleMatcher matcher = RuleMatcher.create(rules, isCompileRules());
                 final RowOutput first = (RowOutput)outputs[0];
                 final int nrOutPorts = getNrOutPorts();
                 final RowOutput second = nrOutPorts > 1 ? (RowOutput)outputs[1] : new RowOutput() {
@@ -516,19 +527,20 @@ public long getRowIndexLong() {
                             return rowIdx.longValue();
                         }
                     };
-                    DataRow row;
-                    while ((row = inputPartitions.poll()) != null) {
-                        rowIdx.increment();
-                        if (rows > 0) {
-                            exec.setProgress(rowIdx.longValue() / (double)rows,
-                                () -> "Adding row " + rowIdx.longValue() + " of " + rows);
-                        } else {
-                            exec.setMessage(() -> "Adding row " + rowIdx.longValue() + " of " + rows);
-                        }
-                        exec.checkCanceled();
-                        boolean wasMatch = false;
-                        for (Rule r : rules) {
-                            if (r.getCondition().matches(row, provider).getOutcome() == MatchState.matchedAndStop) {
+                    final RuleMatchIterator matches = new RuleMatchIterator(inputPartitions, matcher, provider);
+                    try {
+                        DataRow row;
+                        while ((row = matches.next()) != null) {
+                            rowIdx.increment();
+                            if (rows > 0) {
+                                exec.setProgress(rowIdx.longValue() / (double)rows,
+                                    () -> "Adding row " + rowIdx.longValue() + " of " + rows);
+                            } else {
+                                exec.setMessage(() -> "Adding row " + rowIdx.longValue() + " of " + rows);
+                            }
+                            exec.checkCanceled();
+                            final Rule r = matches.firstMatch();
+                            if (r != null) {
                                 //                        r.getSideEffect().perform(row, provider);
                                 DataValue value = r.getOutcome().getComputedResult(row, provider);
                                 if (value instanceof BooleanValue) {
@@ -537,13 +549,12 @@ public long getRowIndexLong() {
                                 } else {
                                     containers[matchIndex].push(row);
                                 }
-                                wasMatch = true;
-                                break;
+                            } else {
+                                containers[otherIndex].push(row);
                             }
                         }
-                        if (!wasMatch) {
-                            containers[otherIndex].push(row);
-                        }
+                    } finally {
+                        matches.close();
                     }
                 } finally {
                     try {
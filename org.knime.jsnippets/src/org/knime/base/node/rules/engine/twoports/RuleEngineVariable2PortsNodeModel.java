@@ -54,7 +54,6 @@
 import java.util.List;
 import java.util.Map;
 
-import org.knime.base.node.rules.engine.Condition.MatchOutcome.MatchState;
 import org.knime.base.node.rules.engine.Rule;
 import org.knime.base.node.rules.engine.Rule.Outcome;
 import org.knime.base.node.rules.engine.RuleFactory;
@@ -129,6 +128,7 @@ protected List<Rule> parseRules(final BufferedDataTable rulesTable) throws Parse
         final Map<String, FlowVariable> availableFlowVariables = getAvailableFlowVariables();
         final RuleFactory factory = RuleFactory.getInstance(RuleNodeSettings.VariableRule).cloned();
         factory.disableNaNComparisons();
+        factory.disableMatchedObjects();
         final DataTableSpec spec = new DataTableSpec();
         int line = 0;
         for (String s : rules(rulesTable, m_settings, RuleNodeSettings.VariableRule)) {
@@ -254,7 +254,7 @@ public long getRowIndexLong() {
         };
         boolean wasMatch = false;
         for (Rule r : rules) {
-            if (r.getCondition().matches(null, provider).getOutcome() == MatchState.matchedAndStop) {
+            if (r.getCondition().isMatch(null, provider)) {
                 Outcome outcome2 = r.getOutcome();
                 //                        r.getSideEffect().perform(row, this);
                 final DataCell cell = (DataCell)outcome2.getComputedResult(null, provider);